@@ -0,0 +1,76 @@
+package org.uiflow.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.uiflow.propertyeditor.model.bean.Property;
+import org.uiflow.propertyeditor.model.bean.PropertyDirection;
+import org.uiflow.propertyeditor.model.bean.dynamic.DoubleProperty;
+import org.uiflow.propertyeditor.model.bean.dynamic.DynamicBean;
+import org.uiflow.propertyeditor.ui.editors.bean.BeanEditor;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Updating the property UIs of a bean editor when the properties of the edited bean change, using the headless backend.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BeanEditorBenchmark {
+
+    /**
+     * Number of properties in the edited bean.
+     */
+    @Param({"10", "100", "1000"})
+    public int propertyCount;
+
+    private HeadlessUi headlessUi;
+    private BeanEditor beanEditor;
+    private DynamicBean bean;
+    private DynamicBean otherBean;
+    private Property extraProperty;
+
+    @Setup public void setup() {
+        headlessUi = new HeadlessUi();
+
+        bean = createBean("Bean");
+        otherBean = createBean("Other bean");
+        extraProperty = new DoubleProperty("Extra", null, 1, PropertyDirection.INOUT);
+
+        beanEditor = new BeanEditor();
+        beanEditor.setValue(bean);
+        beanEditor.getUi(headlessUi.getUiContext());
+    }
+
+    @TearDown public void tearDown() {
+        beanEditor.dispose();
+        headlessUi.dispose();
+    }
+
+    /**
+     * Adding and removing a property each update the property UIs of the editor.
+     */
+    @Benchmark public void addAndRemoveProperty() {
+        bean.addProperty(extraProperty);
+        bean.removeProperty(extraProperty);
+    }
+
+    /**
+     * Switching the edited bean replaces all property UIs of the editor.
+     */
+    @Benchmark public void switchBean() {
+        beanEditor.setValue(otherBean);
+        beanEditor.setValue(bean);
+    }
+
+    private DynamicBean createBean(String name) {
+        final DynamicBean bean = new DynamicBean(name);
+        for (int i = 0; i < propertyCount; i++) {
+            if (i % 2 == 0) bean.addDouble("Number " + i, i);
+            else bean.addString("Text " + i, "Text " + i);
+        }
+        return bean;
+    }
+}
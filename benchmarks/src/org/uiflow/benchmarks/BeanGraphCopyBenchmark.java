@@ -0,0 +1,39 @@
+package org.uiflow.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.uiflow.propertyeditor.model.bean.Bean;
+import org.uiflow.propertyeditor.model.beangraph.BeanGraphGenerator;
+import org.uiflow.propertyeditor.model.beangraph.DefaultBeanGraph;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Copying bean graphs of different sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BeanGraphCopyBenchmark {
+
+    private static final long SEED = 42;
+    private static final int DEPTH = 10;
+
+    /**
+     * Number of beans in the graph.
+     */
+    @Param({"100", "1000", "10000"})
+    public int nodeCount;
+
+    private DefaultBeanGraph beanGraph;
+
+    @Setup public void setup() {
+        beanGraph = new BeanGraphGenerator(SEED, nodeCount, DEPTH).generate();
+    }
+
+    @Benchmark public Bean createCopy() {
+        return beanGraph.createCopy();
+    }
+}
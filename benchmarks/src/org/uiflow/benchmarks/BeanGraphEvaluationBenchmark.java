@@ -0,0 +1,53 @@
+package org.uiflow.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.uiflow.propertyeditor.model.beangraph.BeanGraphGenerator;
+import org.uiflow.propertyeditor.model.beangraph.DefaultBeanGraph;
+import org.uiflow.propertyeditor.model.beangraph.EvaluationPlan;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generating, compiling and evaluating large generated bean graphs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BeanGraphEvaluationBenchmark {
+
+    private static final long SEED = 42;
+    private static final int DEPTH = 20;
+
+    /**
+     * Number of beans in the graph.
+     */
+    @Param({"1000", "10000", "100000"})
+    public int nodeCount;
+
+    private BeanGraphGenerator generator;
+    private DefaultBeanGraph beanGraph;
+    private EvaluationPlan evaluationPlan;
+    private Object[] values;
+
+    @Setup public void setup() {
+        generator = new BeanGraphGenerator(SEED, nodeCount, DEPTH);
+        beanGraph = generator.generate();
+        evaluationPlan = beanGraph.getEvaluationPlan();
+        values = new Object[evaluationPlan.getPropertyCount()];
+    }
+
+    @Benchmark public DefaultBeanGraph generate() {
+        return generator.generate();
+    }
+
+    @Benchmark public EvaluationPlan compileEvaluationPlan() {
+        return EvaluationPlan.compile(beanGraph.getBeans());
+    }
+
+    @Benchmark public Object[] evaluate() {
+        return evaluationPlan.evaluate(values);
+    }
+}
@@ -0,0 +1,72 @@
+package org.uiflow.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.uiflow.propertyeditor.model.bean.Bean;
+import org.uiflow.propertyeditor.model.bean.Property;
+import org.uiflow.propertyeditor.model.beangraph.BeanGraphGenerator;
+import org.uiflow.propertyeditor.model.beangraph.DefaultBeanGraph;
+import org.uiflow.propertyeditor.model.io.BeanGraphJournal;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Autosaving edits to a large bean graph with the journal, including the periodic compactions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BeanGraphJournalBenchmark {
+
+    private static final long SEED = 42;
+    private static final int DEPTH = 10;
+    private static final int PROPERTIES_PER_BEAN = 4;
+    private static final int PROPERTY_COUNT = 100000;
+
+    /**
+     * Number of property values edited between flushes.
+     */
+    @Param({"1", "100"})
+    public int editCount;
+
+    private File directory;
+    private BeanGraphJournal journal;
+    private final List<Property> doubleProperties = new ArrayList<Property>();
+    private int editIndex;
+
+    @Setup public void setup() throws IOException {
+        final DefaultBeanGraph beanGraph = new BeanGraphGenerator(SEED, PROPERTY_COUNT / PROPERTIES_PER_BEAN, DEPTH).generate();
+        for (Bean bean : beanGraph.getBeans()) {
+            for (Property property : bean.getProperties()) {
+                if (property.getType() == Double.class && property.getSource() == null) doubleProperties.add(property);
+            }
+        }
+
+        directory = File.createTempFile("uiflow-journal", "");
+        if (!directory.delete() || !directory.mkdir()) throw new IOException("Could not create " + directory);
+        journal = BeanGraphJournal.create(directory, beanGraph);
+    }
+
+    @TearDown public void tearDown() throws IOException {
+        journal.close();
+        for (File file : directory.listFiles()) {
+            file.delete();
+        }
+        directory.delete();
+    }
+
+    @Benchmark public long editAndFlush() throws IOException {
+        for (int i = 0; i < editCount; i++) {
+            final Property property = doubleProperties.get(editIndex++ % doubleProperties.size());
+            property.setValue((double) editIndex);
+        }
+        journal.flush();
+        return journal.getJournalSize();
+    }
+}
@@ -0,0 +1,72 @@
+package org.uiflow.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.uiflow.propertyeditor.model.Rectangle;
+import org.uiflow.propertyeditor.model.bean.Bean;
+import org.uiflow.propertyeditor.model.beangraph.BeanGraphGenerator;
+import org.uiflow.propertyeditor.model.beangraph.DefaultBeanGraph;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Area and nearest bean queries, and moving beans, in large generated bean graphs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BeanPositionQueryBenchmark {
+
+    private static final long SEED = 42;
+    private static final int DEPTH = 20;
+
+    // About the area shown by a bean graph editor at the default zoom, with margins
+    private static final float VIEW_SIZE = 4;
+
+    /**
+     * Number of beans in the graph.
+     */
+    @Param({"1000", "10000", "100000"})
+    public int nodeCount;
+
+    private DefaultBeanGraph beanGraph;
+    private Bean movedBean;
+    private final Rectangle area = new Rectangle();
+    private final List<Bean> beansInArea = new ArrayList<Bean>();
+    private float graphSize;
+    private int step;
+
+    @Setup public void setup() {
+        beanGraph = new BeanGraphGenerator(SEED, nodeCount, DEPTH).generate();
+        movedBean = beanGraph.getBeans().iterator().next();
+        graphSize = (float) Math.sqrt(nodeCount);
+    }
+
+    @Benchmark public List<Bean> getBeansInView() {
+        area.set(nextCoordinate(), nextCoordinate(), VIEW_SIZE, VIEW_SIZE);
+        beansInArea.clear();
+        beanGraph.getBeansIn(area, beansInArea);
+        return beansInArea;
+    }
+
+    @Benchmark public Bean getNearestBean() {
+        return beanGraph.getNearestBean(nextCoordinate(), nextCoordinate());
+    }
+
+    @Benchmark public Bean moveBean() {
+        beanGraph.setBeanPosition(movedBean, nextCoordinate(), nextCoordinate());
+        return movedBean;
+    }
+
+    /**
+     * @return deterministic coordinates spread over the generated graph.
+     */
+    private float nextCoordinate() {
+        step = (step + 7919) % 10007;
+        return (step / 10007f - 0.5f) * graphSize;
+    }
+}
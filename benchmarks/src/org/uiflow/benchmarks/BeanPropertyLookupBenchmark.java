@@ -0,0 +1,54 @@
+package org.uiflow.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.uiflow.propertyeditor.model.bean.Property;
+import org.uiflow.propertyeditor.model.bean.dynamic.DynamicBean;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Looking up properties by name in beans with different numbers of properties.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BeanPropertyLookupBenchmark {
+
+    /**
+     * Number of properties in the bean.
+     */
+    @Param({"4", "16", "64", "256"})
+    public int beanWidth;
+
+    private DynamicBean bean;
+    private String firstName;
+    private String lastName;
+    private String missingName;
+
+    @Setup public void setup() {
+        bean = new DynamicBean("Wide");
+        for (int i = 0; i < beanWidth; i++) {
+            bean.addDouble("Property " + i, i);
+        }
+
+        // Use new string instances, so that lookups can not succeed on identity alone
+        firstName = new String("Property " + 0);
+        lastName = new String("Property " + (beanWidth - 1));
+        missingName = "Missing property";
+    }
+
+    @Benchmark public Property getFirstProperty() {
+        return bean.getProperty(firstName);
+    }
+
+    @Benchmark public Property getLastProperty() {
+        return bean.getProperty(lastName);
+    }
+
+    @Benchmark public Property getMissingProperty() {
+        return bean.getProperty(missingName);
+    }
+}
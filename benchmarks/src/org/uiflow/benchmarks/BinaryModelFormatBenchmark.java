@@ -0,0 +1,61 @@
+package org.uiflow.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.uiflow.propertyeditor.model.beangraph.BeanGraphGenerator;
+import org.uiflow.propertyeditor.model.category.DefaultCategory;
+import org.uiflow.propertyeditor.model.io.BinaryModelReader;
+import org.uiflow.propertyeditor.model.io.BinaryModelWriter;
+import org.uiflow.propertyeditor.model.project.DefaultProject;
+import org.uiflow.propertyeditor.model.project.Project;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saving and loading projects with the binary model format.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BinaryModelFormatBenchmark {
+
+    private static final long SEED = 42;
+    private static final int DEPTH = 10;
+    private static final int PROPERTIES_PER_BEAN = 4;
+
+    /**
+     * Number of properties in the project.
+     */
+    @Param({"1000", "100000"})
+    public int propertyCount;
+
+    private DefaultProject project;
+    private byte[] savedProject;
+    private final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+    @Setup public void setup() throws IOException {
+        final DefaultCategory rootCategory = new DefaultCategory("Root");
+        rootCategory.addBean(new BeanGraphGenerator(SEED, propertyCount / PROPERTIES_PER_BEAN, DEPTH).generate());
+        project = new DefaultProject();
+        project.setRootCategory(rootCategory);
+
+        saveProject();
+        savedProject = outputStream.toByteArray();
+        System.out.println("\nSaved project size: " + savedProject.length + " bytes");
+    }
+
+    @Benchmark public int saveProject() throws IOException {
+        outputStream.reset();
+        new BinaryModelWriter(outputStream).writeProject(project);
+        return outputStream.size();
+    }
+
+    @Benchmark public Project loadProject() throws IOException {
+        return new BinaryModelReader(new ByteArrayInputStream(savedProject)).readProject();
+    }
+}
@@ -0,0 +1,61 @@
+package org.uiflow.benchmarks;
+
+import com.badlogic.gdx.graphics.Color;
+import org.openjdk.jmh.annotations.*;
+import org.uiflow.utils.colorfunction.ColorGradient;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Looking up colors from a color gradient.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ColorGradientBenchmark {
+
+    private static final int VALUE_COUNT = 1024;
+    private static final long SEED = 42;
+
+    /**
+     * Number of entries in the lookup table of the gradient, zero for no lookup table.
+     */
+    @Param({"0", "1024"})
+    public int lookupTableSize;
+
+    private final ColorGradient gradient = new ColorGradient(Color.BLACK, Color.BLUE, Color.GREEN, Color.YELLOW, Color.ORANGE, Color.RED);
+    private final Color colorOut = new Color();
+    private final float[] rgbaOut = new float[VALUE_COUNT * 4];
+    private double[] values;
+
+    @Setup public void setup() {
+        gradient.setLookupTableSize(lookupTableSize);
+
+        // Values over the whole gradient, and a bit outside it
+        final Random random = new Random(SEED);
+        values = new double[VALUE_COUNT];
+        for (int i = 0; i < VALUE_COUNT; i++) {
+            values[i] = random.nextDouble() * 2.4 - 1.2;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUE_COUNT)
+    public Color getColor() {
+        for (int i = 0; i < VALUE_COUNT; i++) {
+            gradient.getColor(values[i], colorOut);
+        }
+        return colorOut;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUE_COUNT)
+    public float[] getColors() {
+        gradient.getColors(values, rgbaOut);
+        return rgbaOut;
+    }
+}
@@ -0,0 +1,60 @@
+package org.uiflow.benchmarks;
+
+import com.badlogic.gdx.graphics.g2d.Batch;
+import org.openjdk.jmh.annotations.*;
+import org.uiflow.propertyeditor.model.bean.Property;
+import org.uiflow.propertyeditor.model.bean.PropertyDirection;
+import org.uiflow.propertyeditor.model.bean.dynamic.DynamicBean;
+import org.uiflow.propertyeditor.ui.editors.bean.BeanEditor;
+import org.uiflow.propertyeditor.ui.editors.bean.LabelLocation;
+import org.uiflow.propertyeditor.ui.editors.beangraph.Connection;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drawing a connection curve to a batch that does nothing, for connections that stay still and that move every frame.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConnectionDrawBenchmark {
+
+    private HeadlessUi headlessUi;
+    private Batch batch;
+    private Connection connection;
+    private float endX;
+
+    @Setup public void setup() {
+        headlessUi = new HeadlessUi();
+        batch = HeadlessUi.createNoOpBatch();
+
+        // Connection dragged out from an output of a bean
+        final DynamicBean bean = new DynamicBean("Source");
+        final Property output = bean.addDouble("Output", 1.0, PropertyDirection.OUT);
+        final BeanEditor beanEditor = new BeanEditor(LabelLocation.LEFT, true, false, null, true);
+        beanEditor.setValue(bean);
+        beanEditor.getUi(headlessUi.getUiContext());
+
+        connection = new Connection(headlessUi.getUiContext(), beanEditor.getPropertyUi(output), null);
+        connection.setEndPos(600, 400);
+    }
+
+    @TearDown public void tearDown() {
+        headlessUi.dispose();
+    }
+
+    @Benchmark public Connection drawStatic() {
+        connection.draw(batch, 1f);
+        return connection;
+    }
+
+    @Benchmark public Connection drawMoving() {
+        endX = endX >= 800 ? 400 : endX + 1;
+        connection.setEndPos(endX, 400);
+        connection.draw(batch, 1f);
+        return connection;
+    }
+}
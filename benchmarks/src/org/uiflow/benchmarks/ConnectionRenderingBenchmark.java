@@ -0,0 +1,126 @@
+package org.uiflow.benchmarks;
+
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import org.openjdk.jmh.annotations.*;
+import org.uiflow.propertyeditor.model.bean.Property;
+import org.uiflow.propertyeditor.model.bean.PropertyDirection;
+import org.uiflow.propertyeditor.model.bean.dynamic.DynamicBean;
+import org.uiflow.propertyeditor.ui.editors.bean.BeanEditor;
+import org.uiflow.propertyeditor.ui.editors.bean.LabelLocation;
+import org.uiflow.propertyeditor.ui.editors.bean.PropertyUi;
+import org.uiflow.propertyeditor.ui.editors.beangraph.Connection;
+import org.uiflow.propertyeditor.ui.editors.beangraph.ConnectionMesh;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Frame time of drawing many connections with the dot sprite renderer and with the single mesh renderer,
+ * for connections that stay still and that move every frame.
+ * OpenGL calls do nothing, so this measures the CPU side of the rendering.
+ * The vertex counts of both renderers are printed during setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConnectionRenderingBenchmark {
+
+    /**
+     * Number of connections drawn each frame.
+     */
+    @Param({"100", "500"})
+    public int connectionCount;
+
+    private HeadlessUi headlessUi;
+    private SpriteBatch batch;
+    private final List<Connection> spriteConnections = new ArrayList<Connection>();
+    private final List<Connection> meshConnections = new ArrayList<Connection>();
+    private ConnectionMesh connectionMesh;
+    private int frame;
+
+    @Setup public void setup() {
+        headlessUi = new HeadlessUi();
+        batch = new SpriteBatch();
+
+        // Connections dragged out from an output of a bean
+        final DynamicBean bean = new DynamicBean("Source");
+        final Property output = bean.addDouble("Output", 1.0, PropertyDirection.OUT);
+        final BeanEditor beanEditor = new BeanEditor(LabelLocation.LEFT, true, false, null, true);
+        beanEditor.setValue(bean);
+        beanEditor.getUi(headlessUi.getUiContext());
+        final PropertyUi source = beanEditor.getPropertyUi(output);
+
+        for (int i = 0; i < connectionCount; i++) {
+            spriteConnections.add(new Connection(headlessUi.getUiContext(), source, null));
+
+            final Connection meshConnection = new Connection(headlessUi.getUiContext(), source, null);
+            meshConnection.setCurveDrawn(false);
+            meshConnections.add(meshConnection);
+        }
+        moveEnds();
+
+        connectionMesh = new ConnectionMesh(meshConnections);
+        drawSpritesStatic();
+        drawMeshStatic();
+
+        int spriteVertices = 0;
+        for (Connection connection : spriteConnections) {
+            spriteVertices += 4 * connection.getSegmentCount();
+        }
+        System.out.println();
+        System.out.println("Connections: " + connectionCount +
+                           ", sprite renderer vertices: " + spriteVertices +
+                           ", mesh renderer vertices: " + connectionMesh.getVertexCount());
+    }
+
+    @TearDown public void tearDown() {
+        connectionMesh.dispose();
+        batch.dispose();
+        headlessUi.dispose();
+    }
+
+    @Benchmark public SpriteBatch drawSpritesStatic() {
+        return drawFrame(spriteConnections, null);
+    }
+
+    @Benchmark public SpriteBatch drawMeshStatic() {
+        return drawFrame(meshConnections, connectionMesh);
+    }
+
+    @Benchmark public SpriteBatch drawSpritesMoving() {
+        frame++;
+        moveEnds();
+        return drawFrame(spriteConnections, null);
+    }
+
+    @Benchmark public SpriteBatch drawMeshMoving() {
+        frame++;
+        moveEnds();
+        return drawFrame(meshConnections, connectionMesh);
+    }
+
+    private SpriteBatch drawFrame(List<Connection> connections, ConnectionMesh mesh) {
+        batch.begin();
+        for (int i = 0; i < connections.size(); i++) {
+            connections.get(i).draw(batch, 1f);
+        }
+        if (mesh != null) {
+            mesh.draw(batch, 1f);
+        }
+        batch.end();
+        return batch;
+    }
+
+    private void moveEnds() {
+        for (int i = 0; i < connectionCount; i++) {
+            final float x = 200 + (i * 37 + frame) % 600;
+            final float y = (i * 53) % 800;
+            spriteConnections.get(i).setEndPos(x, y);
+            meshConnections.get(i).setEndPos(x, y);
+        }
+    }
+}
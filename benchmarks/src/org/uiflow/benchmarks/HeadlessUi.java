@@ -0,0 +1,92 @@
+package org.uiflow.benchmarks;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import org.uiflow.DefaultUiContext;
+import org.uiflow.UiContext;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.IntBuffer;
+
+/**
+ * Starts libGDX with the headless backend, so that UI code can be benchmarked without a display.
+ *
+ * The headless backend does not provide OpenGL, so a GL20 that does nothing is installed.
+ * Textures, fonts, shaders and sprite batches can then be created, but nothing is rendered.
+ * The assets are loaded relative to the working directory, which should be the core assets directory.
+ */
+public final class HeadlessUi {
+
+    private static final int FONT_HEIGHT_PIXELS = 16;
+
+    private final HeadlessApplication application;
+    private final UiContext uiContext;
+
+    public HeadlessUi() {
+        final HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+        application = new HeadlessApplication(new ApplicationAdapter() {}, config);
+
+        final GL20 gl = createNoOpGl();
+        Gdx.gl = gl;
+        Gdx.gl20 = gl;
+
+        uiContext = new DefaultUiContext(null, null, FONT_HEIGHT_PIXELS, null);
+    }
+
+    /**
+     * @return ui context with the default skin.  It has no stage.
+     */
+    public UiContext getUiContext() {
+        return uiContext;
+    }
+
+    /**
+     * Disposes the ui context and stops the headless application.
+     */
+    public void dispose() {
+        uiContext.dispose();
+        application.exit();
+    }
+
+    /**
+     * @return a batch that does nothing, so that drawing code can be benchmarked without OpenGL.
+     *         Its getColor returns a new white color.
+     */
+    public static Batch createNoOpBatch() {
+        return createNoOp(Batch.class);
+    }
+
+    private static GL20 createNoOpGl() {
+        return createNoOp(GL20.class);
+    }
+
+    private static <T> T createNoOp(Class<T> type) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class[]{type}, new InvocationHandler() {
+            @Override public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                // Report shaders as compiled and linked, so that sprite batches and shaders can be created
+                if (method.getName().equals("glGetShaderiv") || method.getName().equals("glGetProgramiv")) {
+                    ((IntBuffer) args[2]).put(0, 1);
+                    return null;
+                }
+                if (method.getName().startsWith("glCreate")) {
+                    return 1;
+                }
+
+                final Class<?> returnType = method.getReturnType();
+                if (returnType == Boolean.TYPE) return false;
+                else if (returnType == Integer.TYPE) return 0;
+                else if (returnType == Float.TYPE) return 0f;
+                else if (returnType == String.class) return "";
+                else if (returnType == Color.class) return new Color(Color.WHITE);
+                else return null;
+            }
+        }));
+    }
+}
@@ -0,0 +1,51 @@
+package org.uiflow.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.uiflow.propertyeditor.model.bean.NumberProperty;
+import org.uiflow.propertyeditor.model.bean.Property;
+import org.uiflow.propertyeditor.model.bean.dynamic.DynamicBean;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading the value of a property through a chain of source properties.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PropertyChainBenchmark {
+
+    /**
+     * Number of sources between the read property and the property holding the value.
+     */
+    @Param({"1", "10", "100"})
+    public int chainLength;
+
+    private Property property;
+    private NumberProperty numberProperty;
+
+    @Setup public void setup() {
+        final DynamicBean bean = new DynamicBean("Chain");
+
+        Property source = bean.addDouble("Value", 42);
+        for (int i = 1; i <= chainLength; i++) {
+            final Property link = bean.addDouble("Link " + i);
+            link.setSource(source);
+            source = link;
+        }
+
+        property = source;
+        numberProperty = (NumberProperty) source;
+    }
+
+    @Benchmark public Object get() {
+        return property.get();
+    }
+
+    @Benchmark public double getDouble() {
+        return numberProperty.getDouble();
+    }
+}
@@ -0,0 +1,91 @@
+package org.uiflow.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.uiflow.UiChangeCollector;
+import org.uiflow.propertyeditor.model.bean.NumberProperty;
+import org.uiflow.propertyeditor.model.bean.Property;
+import org.uiflow.propertyeditor.model.bean.dynamic.DynamicBean;
+import org.uiflow.propertyeditor.ui.editors.bean.BeanEditor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One frame of a source property that drives properties shown in many bean editors, and changes several times per frame,
+ * with the UI updates coalesced until the end of the frame, or done immediately on each change.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PropertyChangeCoalescingBenchmark {
+
+    /**
+     * Number of edited beans with a property that uses the changed property as source.
+     */
+    @Param({"10", "100"})
+    public int dependentCount;
+
+    /**
+     * Number of times the source property changes in a frame.
+     */
+    @Param({"1", "10"})
+    public int changesPerFrame;
+
+    /**
+     * True to update the UIs once per frame, false to update them on each change.
+     */
+    @Param({"true", "false"})
+    public boolean coalescing;
+
+    private HeadlessUi headlessUi;
+    private UiChangeCollector changeCollector;
+    private NumberProperty source;
+    private final List<BeanEditor> beanEditors = new ArrayList<BeanEditor>();
+    private double value;
+
+    @Setup public void setup() {
+        headlessUi = new HeadlessUi();
+        changeCollector = headlessUi.getUiContext().getChangeCollector();
+        changeCollector.setCoalescing(coalescing);
+
+        final DynamicBean sourceBean = new DynamicBean("Source");
+        source = (NumberProperty) sourceBean.addDouble("Value", 0);
+
+        for (int i = 0; i < dependentCount; i++) {
+            final DynamicBean bean = new DynamicBean("Dependent " + i);
+            final Property input = bean.addDouble("Input", 0);
+            input.setSource(source);
+            bean.addDouble("Other", i);
+
+            final BeanEditor beanEditor = new BeanEditor();
+            beanEditor.setValue(bean);
+            beanEditor.getUi(headlessUi.getUiContext());
+            beanEditors.add(beanEditor);
+        }
+
+        changeCollector.flush();
+        changeCollector.resetCounters();
+    }
+
+    @TearDown public void tearDown() {
+        System.out.println();
+        System.out.println(changeCollector);
+
+        for (BeanEditor beanEditor : beanEditors) {
+            beanEditor.dispose();
+        }
+        beanEditors.clear();
+        headlessUi.dispose();
+    }
+
+    @Benchmark public int frame() {
+        for (int i = 0; i < changesPerFrame; i++) {
+            source.setDouble(value++);
+        }
+        return changeCollector.flush();
+    }
+}
@@ -1,6 +1,7 @@
 package org.uiflow;
 
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
@@ -9,6 +10,8 @@ import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.ui.Skin;
 import com.badlogic.gdx.scenes.scene2d.utils.Drawable;
 import com.badlogic.gdx.scenes.scene2d.utils.TextureRegionDrawable;
+import org.uiflow.propertyeditor.ui.editors.EditorPool;
+import org.uiflow.utils.Check;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -23,26 +26,29 @@ public class DefaultUiContext implements UiContext {
     public static final String DIALOG_LARGE_FONT_NAME = "title-font";
 
 
-    private static final String FONT_DIR = "uiflow/fonts/";
-    private static final String UIFLOW_SKIN_BASE_NAME = "uiflow/skin/uiflow";
-    private static final String DIALOG_FONT_FILE = "135atom_sans";
+    static final String FONT_DIR = "uiflow/fonts/";
+    static final String UIFLOW_SKIN_BASE_NAME = "uiflow/skin/uiflow";
+    static final String DIALOG_FONT_FILE = "135atom_sans";
     //private static final String DIALOG_FONT_FILE = "newscycle-bold";
     private static final String FIXED_WIDTH_FONT_FILE = "Cousine-Regular-Latin";
 
-    private static final int DIALOG_FONT_HEIGHT_ON_PC = 32; //20
-    private static final int MIN_DIALOG_FONT_HEIGHT_PIXELS = 16;
-    private static final double LARGE_FONT_SCALE_FACTOR = 1.6;
+    static final int DIALOG_FONT_HEIGHT_ON_PC = 32; //20
+    static final int MIN_DIALOG_FONT_HEIGHT_PIXELS = 16;
+    static final double LARGE_FONT_SCALE_FACTOR = 1.6;
     private static final float PC_DPI = 76;
 
-    private static final float GAP_PIXELS_ON_PC = 8;
+    static final float GAP_PIXELS_ON_PC = 8;
     private static final float SMALL_GAP_FACTOR = 0.3f;
     private static final float LARGE_GAP_FACTOR = 3f;
-    private static final int MIN_GAP_SIZE = 2;
+    static final int MIN_GAP_SIZE = 2;
 
     private final Skin skin;
     private final TextureAtlas textureAtlas;
     private final float gapSize;
     private final Stage stage;
+    private final UiChangeCollector changeCollector = new UiChangeCollector();
+    private final EditorPool editorPool = new EditorPool();
+    private final AssetManager assetManager;
 
     private Map<Class, Color> typeColors = new HashMap<Class, Color>();
     private Random random = new Random(42);
@@ -94,14 +100,25 @@ public class DefaultUiContext implements UiContext {
      * @param gapSize size of the default medium gap to use in UI, in screeen pixels.
      */
     public DefaultUiContext(Stage stage, TextureAtlas textureAtlas, int fontHeightAbsolutePixels, Skin skin, float gapSize) {
-        if (skin == null) {
-            skin = loadDefaultSkin(fontHeightAbsolutePixels);
-        }
+        this(stage, textureAtlas, skin != null ? skin : loadDefaultSkin(fontHeightAbsolutePixels), gapSize, null);
+    }
+
+    /**
+     * @param stage the stage that handles the UI.
+     * @param textureAtlas texture atlas used to load icons and such for the UI.  Can be null if no custom UI graphics is accessed through UiContext.
+     * @param skin the skin to use for the ui.
+     * @param gapSize size of the default medium gap to use in UI, in screeen pixels.
+     * @param assetManager asset manager that loaded the skin, disposed instead of the skin when this context is disposed.
+     *                     If null, the skin is disposed directly.
+     */
+    public DefaultUiContext(Stage stage, TextureAtlas textureAtlas, Skin skin, float gapSize, AssetManager assetManager) {
+        Check.notNull(skin, "skin");
 
         this.stage = stage;
         this.gapSize = gapSize;
         this.skin = skin;
         this.textureAtlas = textureAtlas;
+        this.assetManager = assetManager;
 
         setupDefaultTypeColors();
     }
@@ -159,7 +176,9 @@ public class DefaultUiContext implements UiContext {
     }
 
     @Override public void dispose() {
-        if (skin != null) skin.dispose();
+        editorPool.clear();
+        if (assetManager != null) assetManager.dispose();
+        else skin.dispose();
         if (textureAtlas != null) textureAtlas.dispose();
     }
 
@@ -167,6 +186,14 @@ public class DefaultUiContext implements UiContext {
         return stage;
     }
 
+    @Override public UiChangeCollector getChangeCollector() {
+        return changeCollector;
+    }
+
+    @Override public EditorPool getEditorPool() {
+        return editorPool;
+    }
+
     @Override public Drawable getDrawable(String id) {
         Drawable drawable = skin.getDrawable(id);
 
@@ -180,6 +207,14 @@ public class DefaultUiContext implements UiContext {
 
 
     public static Skin loadDefaultSkin(int fontHeightPixels) {
+        return loadDefaultSkin(fontHeightPixels, new FontCache());
+    }
+
+    /**
+     * @param fontHeightPixels height of the default font in pixels.
+     * @param fontCache cache to load the generated fonts from, or null to always generate the fonts.
+     */
+    public static Skin loadDefaultSkin(int fontHeightPixels, FontCache fontCache) {
         // Load skin with custom sized font
 
         // Create skin object, initialize texture atlas
@@ -187,8 +222,8 @@ public class DefaultUiContext implements UiContext {
 
         // Create bitmap fonts from true type fonts and add them to the style
         final String dialogFontFileLocation = FONT_DIR + DIALOG_FONT_FILE + ".ttf";
-        addFontToSkin(skin, DIALOG_FONT_NAME, dialogFontFileLocation, fontHeightPixels);
-        addFontToSkin(skin, DIALOG_LARGE_FONT_NAME, dialogFontFileLocation, (int) (fontHeightPixels * LARGE_FONT_SCALE_FACTOR));
+        addFontToSkin(skin, DIALOG_FONT_NAME, dialogFontFileLocation, fontHeightPixels, fontCache);
+        addFontToSkin(skin, DIALOG_LARGE_FONT_NAME, dialogFontFileLocation, (int) (fontHeightPixels * LARGE_FONT_SCALE_FACTOR), fontCache);
 
         // Load json file with style settings
         skin.load(Gdx.files.internal(UIFLOW_SKIN_BASE_NAME + ".json"));
@@ -200,11 +235,30 @@ public class DefaultUiContext implements UiContext {
                                      final String fontName,
                                      final String pathToFontFile,
                                      final int fontSize_pixels) {
-        final BitmapFont font = createFont(pathToFontFile, fontSize_pixels);
+        addFontToSkin(skin, fontName, pathToFontFile, fontSize_pixels, new FontCache());
+    }
+
+    public static void addFontToSkin(Skin skin,
+                                     final String fontName,
+                                     final String pathToFontFile,
+                                     final int fontSize_pixels,
+                                     final FontCache fontCache) {
+        final BitmapFont font = createFont(pathToFontFile, fontSize_pixels, fontCache);
         skin.add(fontName, font, BitmapFont.class);
     }
 
     public static BitmapFont createFont(final String pathToFontFile, int fontSize_pixels) {
+        return createFont(pathToFontFile, fontSize_pixels, new FontCache());
+    }
+
+    /**
+     * @param fontCache cache to load the generated font from, or null to always generate the font.
+     */
+    public static BitmapFont createFont(final String pathToFontFile, int fontSize_pixels, FontCache fontCache) {
+        if (fontCache != null) {
+            return fontCache.getFont(Gdx.files.internal(pathToFontFile), fontSize_pixels);
+        }
+
         FreeTypeFontGenerator generator = new FreeTypeFontGenerator(Gdx.files.internal(pathToFontFile));
         FreeTypeFontGenerator.FreeTypeFontParameter parameter = new FreeTypeFontGenerator.FreeTypeFontParameter();
 
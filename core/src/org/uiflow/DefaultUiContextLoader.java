@@ -0,0 +1,210 @@
+package org.uiflow;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.SkinLoader;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
+import com.badlogic.gdx.scenes.scene2d.Stage;
+import com.badlogic.gdx.scenes.scene2d.ui.Skin;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import com.badlogic.gdx.utils.async.AsyncTask;
+import org.uiflow.utils.Check;
+
+import static org.uiflow.DefaultUiContext.*;
+
+/**
+ * Creates a DefaultUiContext with the default skin without blocking the render thread, so that the application can
+ * show a loading screen while the skin loads.
+ *
+ * The skin atlas and json are loaded with an AssetManager, and the fonts are rasterized, or loaded from the font cache,
+ * on a background executor.  Only the texture uploads and the final skin setup run on the render thread.
+ *
+ * update should be called on the render thread once per frame until it returns true, after which the ui context is
+ * available from getUiContext.
+ */
+public final class DefaultUiContextLoader implements Disposable {
+
+    private static final String LOG_TAG = "DefaultUiContextLoader";
+
+    private static final String SKIN_ATLAS_FILE = UIFLOW_SKIN_BASE_NAME + ".atlas";
+    private static final String SKIN_FILE = UIFLOW_SKIN_BASE_NAME + ".json";
+
+    /**
+     * Number of fonts that are rasterized in parallel.
+     */
+    private static final int FONT_THREAD_COUNT = 2;
+
+    /**
+     * Loading steps used for the progress: the two fonts, the skin atlas, and the skin.
+     */
+    private static final int STEP_COUNT = 4;
+
+    private final Stage stage;
+    private final TextureAtlas textureAtlas;
+    private final float gapSize;
+    private final long startTime = System.nanoTime();
+
+    private final AssetManager assetManager = new AssetManager();
+    private final AsyncExecutor fontExecutor = new AsyncExecutor(FONT_THREAD_COUNT);
+    private final AsyncResult<FontCache.PreparedFont> dialogFont;
+    private final AsyncResult<FontCache.PreparedFont> largeFont;
+
+    private final ObjectMap<String, Object> fonts = new ObjectMap<String, Object>();
+    private boolean skinQueued;
+    private DefaultUiContext uiContext;
+    private long loadTimeNanos;
+    private boolean disposed;
+
+    /**
+     * Uses a font height depending on the height of the screen, no custom textureAtlas, and the default font cache.
+     * @param stage the stage that handles the UI.
+     */
+    public DefaultUiContextLoader(Stage stage) {
+        this(stage, null, calculatePixelSize(DIALOG_FONT_HEIGHT_ON_PC, MIN_DIALOG_FONT_HEIGHT_PIXELS), new FontCache());
+    }
+
+    /**
+     * Starts loading the default skin.
+     *
+     * @param stage the stage that handles the UI.
+     * @param textureAtlas texture atlas used to load icons and such for the UI.  Can be null if no custom UI graphics is accessed through UiContext.
+     * @param fontHeightAbsolutePixels height of the default font in absolute pixels on the current device.
+     * @param fontCache cache to load the fonts from, or null to always generate the fonts.
+     */
+    public DefaultUiContextLoader(Stage stage, TextureAtlas textureAtlas, int fontHeightAbsolutePixels, FontCache fontCache) {
+        Check.positive(fontHeightAbsolutePixels, "fontHeightAbsolutePixels");
+
+        this.stage = stage;
+        this.textureAtlas = textureAtlas;
+        gapSize = calculatePixelSize(GAP_PIXELS_ON_PC, MIN_GAP_SIZE);
+
+        // Start with the fonts, as they take the longest, and load the atlas meanwhile
+        final String fontFile = FONT_DIR + DIALOG_FONT_FILE + ".ttf";
+        dialogFont = fontExecutor.submit(createFontTask(fontCache, fontFile, fontHeightAbsolutePixels));
+        largeFont = fontExecutor.submit(createFontTask(fontCache, fontFile, (int) (fontHeightAbsolutePixels * LARGE_FONT_SCALE_FACTOR)));
+
+        assetManager.load(SKIN_ATLAS_FILE, TextureAtlas.class);
+    }
+
+    /**
+     * Continues loading.  Should be called on the render thread once per frame.
+     * @return true when the ui context has been created.
+     */
+    public boolean update() {
+        if (disposed) throw new IllegalStateException("The loader has been disposed");
+        if (uiContext != null) return true;
+
+        final boolean assetsLoaded = assetManager.update();
+
+        if (!skinQueued) {
+            if (dialogFont.isDone() && largeFont.isDone()) {
+                // Upload the font textures, and load the skin once the atlas is available
+                fonts.put(DIALOG_FONT_NAME, dialogFont.get().createFont());
+                fonts.put(DIALOG_LARGE_FONT_NAME, largeFont.get().createFont());
+                assetManager.load(SKIN_FILE, Skin.class, new SkinLoader.SkinParameter(SKIN_ATLAS_FILE, fonts));
+                skinQueued = true;
+            }
+        }
+        else if (assetsLoaded) {
+            final Skin skin = assetManager.get(SKIN_FILE, Skin.class);
+
+            // The atlas is kept loaded as a dependency of the skin
+            assetManager.unload(SKIN_ATLAS_FILE);
+
+            uiContext = new DefaultUiContext(stage, textureAtlas, skin, gapSize, assetManager);
+            fontExecutor.dispose();
+
+            loadTimeNanos = System.nanoTime() - startTime;
+            Gdx.app.log(LOG_TAG, "Loaded ui context in " + getLoadTimeMillis() + " ms");
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * @return true if the ui context has been created.
+     */
+    public boolean isDone() {
+        return uiContext != null;
+    }
+
+    /**
+     * @return loading progress, from 0 to 1.
+     */
+    public float getProgress() {
+        if (uiContext != null) return 1;
+
+        int doneSteps = 0;
+        if (dialogFont.isDone()) doneSteps++;
+        if (largeFont.isDone()) doneSteps++;
+        if (assetManager.isLoaded(SKIN_ATLAS_FILE)) doneSteps++;
+        return (float) doneSteps / STEP_COUNT;
+    }
+
+    /**
+     * @return the created ui context, or null if it is not yet done.  The ui context should be disposed by the caller.
+     */
+    public DefaultUiContext getUiContext() {
+        return uiContext;
+    }
+
+    /**
+     * @return milliseconds from creating the loader to creating the ui context, or zero if not yet done.
+     */
+    public long getLoadTimeMillis() {
+        return loadTimeNanos / 1000000;
+    }
+
+    /**
+     * Stops loading, and releases the loaded resources if the ui context was not yet created.
+     * A created ui context is not disposed.
+     */
+    @Override public void dispose() {
+        if (disposed) return;
+        disposed = true;
+
+        if (uiContext == null) {
+            // Waits for the font tasks to finish
+            fontExecutor.dispose();
+            if (!skinQueued) {
+                disposePreparedFont(dialogFont);
+                disposePreparedFont(largeFont);
+            }
+            else if (!assetManager.isLoaded(SKIN_FILE)) {
+                // The fonts are only owned by the skin once it has been loaded
+                for (Object font : fonts.values()) {
+                    ((Disposable) font).dispose();
+                }
+            }
+            assetManager.dispose();
+        }
+    }
+
+    private static AsyncTask<FontCache.PreparedFont> createFontTask(final FontCache fontCache,
+                                                                   final String fontFile,
+                                                                   final int sizePixels) {
+        return new AsyncTask<FontCache.PreparedFont>() {
+            @Override public FontCache.PreparedFont call() throws Exception {
+                if (fontCache != null) {
+                    return fontCache.prepareFont(Gdx.files.internal(fontFile), sizePixels, FreeTypeFontGenerator.DEFAULT_CHARS);
+                }
+                else {
+                    return FontCache.generateFont(Gdx.files.internal(fontFile), sizePixels, FreeTypeFontGenerator.DEFAULT_CHARS);
+                }
+            }
+        };
+    }
+
+    private static void disposePreparedFont(AsyncResult<FontCache.PreparedFont> font) {
+        try {
+            font.get().dispose();
+        } catch (RuntimeException e) {
+            // The font failed to load, nothing to dispose
+        }
+    }
+}
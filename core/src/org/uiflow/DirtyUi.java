@@ -0,0 +1,22 @@
+package org.uiflow;
+
+/**
+ * A UI element that can be marked as changed in a UiChangeCollector, and brought up to date once before the next frame is drawn.
+ */
+public interface DirtyUi {
+
+    /**
+     * Brings the UI up to date with its model.  Called by UiChangeCollector.flush for each UI marked dirty since the last flush.
+     */
+    void updateDirtyUi();
+
+    /**
+     * @return true if the UI is waiting for an update in a UiChangeCollector.
+     */
+    boolean isMarkedDirty();
+
+    /**
+     * Used by UiChangeCollector to keep track of the UIs waiting for an update, without looking them up in a set.
+     */
+    void setMarkedDirty(boolean markedDirty);
+}
@@ -0,0 +1,488 @@
+package org.uiflow;
+
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.PixmapIO;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
+import com.badlogic.gdx.graphics.glutils.FileTextureData;
+import com.badlogic.gdx.graphics.glutils.PixmapTextureData;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import org.uiflow.utils.Check;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates bitmap fonts from true type fonts with FreeType, and keeps the generated glyph pages and metrics in a cache
+ * directory, so that later launches can load the font directly instead of rasterizing it again.
+ *
+ * Cached fonts are stored as AngelCode .fnt files with one .png per page.  The cache key is a hash of the font file
+ * contents, the pixel size and the generated characters, so changing any of them generates a new font.
+ * The exact metrics of the generated font are stored on an extra line of the .fnt file, as the standard fields
+ * only hold integers.
+ *
+ * Fonts can be prepared on a background thread with prepareFont, and created from the prepared glyph pages on the
+ * render thread, which only uploads the textures.
+ *
+ * Failures to read or write the cache are logged, and the font is generated instead.
+ */
+public final class FontCache {
+
+    /**
+     * Cache directory used on desktop, relative to the home directory of the user.
+     */
+    public static final String DEFAULT_DESKTOP_CACHE_DIR = ".uiflow/cache/fonts/";
+
+    /**
+     * Cache directory used on other platforms, relative to the local storage of the application.
+     */
+    public static final String DEFAULT_LOCAL_CACHE_DIR = "uiflow/cache/fonts/";
+
+    private static final String LOG_TAG = "FontCache";
+
+    /**
+     * Changed when the format of the cached files changes, to ignore entries written in an older format.
+     */
+    private static final int CACHE_FORMAT_VERSION = 1;
+
+    private static final String METRICS_LINE_START = "metrics ";
+    private static final String FONT_FILE_EXTENSION = ".fnt";
+    private static final String PAGE_FILE_EXTENSION = ".png";
+    private static final String TEMPORARY_FILE_EXTENSION = ".tmp";
+    private static final int PAGE_PADDING = 2;
+
+    private final FileHandle cacheDirectory;
+
+    private final AtomicInteger hitCount = new AtomicInteger();
+    private final AtomicInteger missCount = new AtomicInteger();
+
+    /**
+     * Uses the default cache directory for the platform.
+     */
+    public FontCache() {
+        this(getDefaultCacheDirectory());
+    }
+
+    /**
+     * @param cacheDirectory directory to store the generated fonts in.  Created when the first font is stored.
+     */
+    public FontCache(FileHandle cacheDirectory) {
+        Check.notNull(cacheDirectory, "cacheDirectory");
+        this.cacheDirectory = cacheDirectory;
+    }
+
+    /**
+     * @return the default cache directory, in the home directory of the user on desktop, and in the local storage elsewhere.
+     */
+    public static FileHandle getDefaultCacheDirectory() {
+        final Application.ApplicationType type = Gdx.app.getType();
+        final boolean desktop = type == Application.ApplicationType.Desktop || type == Application.ApplicationType.HeadlessDesktop;
+        if (desktop && Gdx.files.isExternalStorageAvailable()) {
+            return Gdx.files.external(DEFAULT_DESKTOP_CACHE_DIR);
+        }
+        else {
+            return Gdx.files.local(DEFAULT_LOCAL_CACHE_DIR);
+        }
+    }
+
+    public FileHandle getCacheDirectory() {
+        return cacheDirectory;
+    }
+
+    /**
+     * @return a font with the default FreeType characters, loaded from the cache if available, otherwise generated and stored in the cache.
+     */
+    public BitmapFont getFont(FileHandle fontFile, int sizePixels) {
+        return getFont(fontFile, sizePixels, FreeTypeFontGenerator.DEFAULT_CHARS);
+    }
+
+    /**
+     * @param fontFile true type font file to generate the font from.
+     * @param sizePixels size of the generated font, in pixels.
+     * @param characters characters to include in the font.
+     * @return a font loaded from the cache if available, otherwise generated and stored in the cache.
+     *         The font owns its textures, and should be disposed when no longer used.
+     */
+    public BitmapFont getFont(FileHandle fontFile, int sizePixels, String characters) {
+        return prepareFont(fontFile, sizePixels, characters).createFont();
+    }
+
+    /**
+     * Loads the glyph pages and metrics of a font from the cache, or generates them and stores them in the cache.
+     * No textures are created, so this can be called on a background thread.  The font is then created on the
+     * render thread with PreparedFont.createFont.
+     *
+     * @param fontFile true type font file to generate the font from.
+     * @param sizePixels size of the generated font, in pixels.
+     * @param characters characters to include in the font.
+     */
+    public PreparedFont prepareFont(FileHandle fontFile, int sizePixels, String characters) {
+        Check.notNull(fontFile, "fontFile");
+        Check.positive(sizePixels, "sizePixels");
+        Check.notNull(characters, "characters");
+
+        final long startTime = System.nanoTime();
+
+        final String entryName = getEntryName(fontFile, sizePixels, characters);
+        final FileHandle cachedFontFile = cacheDirectory.child(entryName + FONT_FILE_EXTENSION);
+
+        if (cachedFontFile.exists()) {
+            final PreparedFont font = loadFont(cachedFontFile);
+            if (font != null) {
+                hitCount.incrementAndGet();
+                log("Loaded cached font " + entryName, startTime);
+                return font;
+            }
+        }
+
+        missCount.incrementAndGet();
+        final PreparedFont font = generateFont(fontFile, sizePixels, characters);
+        try {
+            storeFont(font.data, font.pages, entryName);
+        } catch (GdxRuntimeException e) {
+            Gdx.app.error(LOG_TAG, "Could not store font " + entryName + " in the cache " + cacheDirectory, e);
+        }
+        log("Generated font " + entryName, startTime);
+        return font;
+    }
+
+    /**
+     * Generates the glyph pages and metrics of a font without using any cache.
+     * No textures are created, so this can be called on a background thread.  The font is then created on the
+     * render thread with PreparedFont.createFont.
+     *
+     * @param fontFile true type font file to generate the font from.
+     * @param sizePixels size of the generated font, in pixels.
+     * @param characters characters to include in the font.
+     */
+    public static PreparedFont generateFont(FileHandle fontFile, int sizePixels, String characters) {
+        Check.notNull(fontFile, "fontFile");
+        Check.positive(sizePixels, "sizePixels");
+        Check.notNull(characters, "characters");
+
+        final FreeTypeFontGenerator generator = new FreeTypeFontGenerator(fontFile);
+        final FreeTypeFontGenerator.FreeTypeFontParameter parameter = new FreeTypeFontGenerator.FreeTypeFontParameter();
+        parameter.size = sizePixels;
+        parameter.characters = characters;
+
+        // With our own packer the generator does not create textures, so that it can run outside the render thread
+        parameter.packer = createPacker(sizePixels, characters);
+
+        final FreeTypeFontGenerator.FreeTypeBitmapFontData data;
+        try {
+            data = generator.generateData(parameter);
+        } catch (RuntimeException e) {
+            parameter.packer.dispose();
+            throw e;
+        } finally {
+            generator.dispose();
+        }
+
+        // The page pixmaps are owned by the prepared font from now on, so the packer is not disposed
+        final Array<PixmapPacker.Page> packerPages = parameter.packer.getPages();
+        final Pixmap[] pages = new Pixmap[packerPages.size];
+        for (int i = 0; i < pages.length; i++) {
+            pages[i] = packerPages.get(i).getPixmap();
+        }
+
+        return new PreparedFont(data, pages, null);
+    }
+
+    /**
+     * @return number of fonts loaded from the cache.
+     */
+    public int getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * @return number of fonts that were not found in the cache and were generated.
+     */
+    public int getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Deletes all cached fonts.
+     */
+    public void clear() {
+        cacheDirectory.deleteDirectory();
+    }
+
+    @Override public String toString() {
+        return "FontCache{" +
+               "cacheDirectory=" + cacheDirectory +
+               ", hits=" + hitCount +
+               ", misses=" + missCount +
+               '}';
+    }
+
+    private PreparedFont loadFont(FileHandle cachedFontFile) {
+        final List<Pixmap> pages = new ArrayList<Pixmap>();
+        try {
+            final BitmapFont.BitmapFontData data = new BitmapFont.BitmapFontData(cachedFontFile, false);
+            readMetrics(cachedFontFile, data);
+
+            final String[] imagePaths = data.getImagePaths();
+            final FileHandle[] pageFiles = new FileHandle[imagePaths.length];
+            for (int i = 0; i < imagePaths.length; i++) {
+                pageFiles[i] = Gdx.files.getFileHandle(imagePaths[i], cachedFontFile.type());
+                pages.add(new Pixmap(pageFiles[i]));
+            }
+
+            return new PreparedFont(data, pages.toArray(new Pixmap[pages.size()]), pageFiles);
+        } catch (GdxRuntimeException e) {
+            Gdx.app.error(LOG_TAG, "Could not load cached font " + cachedFontFile + ", generating it again", e);
+            for (Pixmap page : pages) {
+                page.dispose();
+            }
+            cachedFontFile.delete();
+            return null;
+        }
+    }
+
+    private static PixmapPacker createPacker(int sizePixels, String characters) {
+        // Same page size as the generator uses, with the font size as an upper estimate of the line height
+        int pageSize = MathUtils.nextPowerOfTwo((int) Math.ceil(sizePixels * Math.sqrt(characters.length())));
+        final int maxTextureSize = FreeTypeFontGenerator.getMaxTextureSize();
+        if (maxTextureSize > 0) pageSize = Math.min(pageSize, maxTextureSize);
+
+        return new PixmapPacker(pageSize, pageSize, Pixmap.Format.RGBA8888, PAGE_PADDING, false);
+    }
+
+    private void storeFont(BitmapFont.BitmapFontData data, Pixmap[] pages, String entryName) {
+        // Write pages first, the entry is only used once the font file exists
+        for (int i = 0; i < pages.length; i++) {
+            PixmapIO.writePNG(cacheDirectory.child(getPageFileName(entryName, i)), pages[i]);
+        }
+
+        final StringBuilder s = new StringBuilder();
+        s.append("info face=\"").append(entryName).append("\"\n");
+        s.append("common lineHeight=").append(Math.round(data.lineHeight))
+         .append(" base=").append(Math.round(data.lineHeight + data.descent))
+         .append(" scaleW=").append(pages.length > 0 ? pages[0].getWidth() : 0)
+         .append(" scaleH=").append(pages.length > 0 ? pages[0].getHeight() : 0)
+         .append(" pages=").append(pages.length)
+         .append(" packed=0").append('\n');
+        for (int i = 0; i < pages.length; i++) {
+            s.append("page id=").append(i).append(" file=\"").append(getPageFileName(entryName, i)).append("\"\n");
+        }
+
+        // Exact metrics, not part of the AngelCode format, skipped by the BitmapFont loader
+        s.append(METRICS_LINE_START)
+         .append("lineHeight=").append(data.lineHeight)
+         .append(" ascent=").append(data.ascent)
+         .append(" descent=").append(data.descent)
+         .append(" down=").append(data.down)
+         .append(" capHeight=").append(data.capHeight)
+         .append(" xHeight=").append(data.xHeight)
+         .append(" spaceWidth=").append(data.spaceWidth).append('\n');
+
+        final StringBuilder kernings = new StringBuilder();
+        int kerningCount = 0;
+        for (BitmapFont.Glyph[] glyphPage : data.glyphs) {
+            if (glyphPage == null) continue;
+            for (BitmapFont.Glyph glyph : glyphPage) {
+                if (glyph == null) continue;
+
+                // The loader converts the y offset from the top of the line to the offset of the glyph bottom
+                s.append("char id=").append(glyph.id)
+                 .append(" x=").append(glyph.srcX)
+                 .append(" y=").append(glyph.srcY)
+                 .append(" width=").append(glyph.width)
+                 .append(" height=").append(glyph.height)
+                 .append(" xoffset=").append(glyph.xoffset)
+                 .append(" yoffset=").append(-(glyph.yoffset + glyph.height))
+                 .append(" xadvance=").append(glyph.xadvance)
+                 .append(" page=").append(glyph.page)
+                 .append(" chnl=0").append('\n');
+
+                kerningCount += appendKernings(kernings, glyph, data);
+            }
+        }
+
+        // The loader only reads kerning lines after the kernings line
+        if (kerningCount > 0) {
+            s.append("kernings count=").append(kerningCount).append('\n');
+            s.append(kernings);
+        }
+
+        // Write through a temporary file, so that an interrupted write does not leave a partial entry
+        final FileHandle temporaryFile = cacheDirectory.child(entryName + FONT_FILE_EXTENSION + TEMPORARY_FILE_EXTENSION);
+        temporaryFile.writeString(s.toString(), false, "UTF-8");
+        temporaryFile.moveTo(cacheDirectory.child(entryName + FONT_FILE_EXTENSION));
+    }
+
+    /**
+     * @return number of kerning lines appended.
+     */
+    private int appendKernings(StringBuilder kernings, BitmapFont.Glyph glyph, BitmapFont.BitmapFontData data) {
+        if (glyph.kerning == null) return 0;
+
+        int count = 0;
+        for (BitmapFont.Glyph[] glyphPage : data.glyphs) {
+            if (glyphPage == null) continue;
+            for (BitmapFont.Glyph second : glyphPage) {
+                if (second == null) continue;
+
+                final int amount = glyph.getKerning((char) second.id);
+                if (amount != 0) {
+                    kernings.append("kerning first=").append(glyph.id)
+                            .append(" second=").append(second.id)
+                            .append(" amount=").append(amount).append('\n');
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private void readMetrics(FileHandle cachedFontFile, BitmapFont.BitmapFontData data) {
+        final BufferedReader reader = cachedFontFile.reader(512, "UTF-8");
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(METRICS_LINE_START)) {
+                    for (String field : line.substring(METRICS_LINE_START.length()).split(" ")) {
+                        final int separator = field.indexOf('=');
+                        if (separator < 0) continue;
+                        setMetric(data, field.substring(0, separator), Float.parseFloat(field.substring(separator + 1)));
+                    }
+                    return;
+                }
+            }
+            throw new GdxRuntimeException("No metrics found in cached font " + cachedFontFile);
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Could not read metrics of cached font " + cachedFontFile, e);
+        } catch (NumberFormatException e) {
+            throw new GdxRuntimeException("Invalid metrics in cached font " + cachedFontFile, e);
+        } finally {
+            try {
+                reader.close();
+            } catch (IOException e) {
+                // Ignore
+            }
+        }
+    }
+
+    private static void setMetric(BitmapFont.BitmapFontData data, String name, float value) {
+        if ("lineHeight".equals(name)) data.lineHeight = value;
+        else if ("ascent".equals(name)) data.ascent = value;
+        else if ("descent".equals(name)) data.descent = value;
+        else if ("down".equals(name)) data.down = value;
+        else if ("capHeight".equals(name)) data.capHeight = value;
+        else if ("xHeight".equals(name)) data.xHeight = value;
+        else if ("spaceWidth".equals(name)) data.spaceWidth = value;
+    }
+
+    private static String getEntryName(FileHandle fontFile, int sizePixels, String characters) {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 is not available", e);
+        }
+
+        digest.update(fontFile.readBytes());
+        try {
+            digest.update((CACHE_FORMAT_VERSION + ":" + sizePixels + ":" + characters).getBytes("UTF-8"));
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException("UTF-8 is not supported", e);
+        }
+
+        final StringBuilder name = new StringBuilder(fontFile.nameWithoutExtension());
+        name.append('_').append(sizePixels).append('_');
+        for (byte b : digest.digest()) {
+            name.append(Character.forDigit((b >> 4) & 0xF, 16));
+            name.append(Character.forDigit(b & 0xF, 16));
+        }
+        return name.toString();
+    }
+
+    private static String getPageFileName(String entryName, int page) {
+        return entryName + "_" + page + PAGE_FILE_EXTENSION;
+    }
+
+    private static void log(String message, long startTimeNanos) {
+        Gdx.app.log(LOG_TAG, message + " in " + (System.nanoTime() - startTimeNanos) / 1000000 + " ms");
+    }
+
+    /**
+     * Glyph pages and metrics of a font, loaded or generated without creating any textures.
+     * Either createFont or dispose should be called on it, on the render thread.
+     */
+    public static final class PreparedFont implements Disposable {
+        private final BitmapFont.BitmapFontData data;
+        private final Pixmap[] pages;
+        private final FileHandle[] pageFiles;
+        private boolean consumed;
+
+        private PreparedFont(BitmapFont.BitmapFontData data, Pixmap[] pages, FileHandle[] pageFiles) {
+            this.data = data;
+            this.pages = pages;
+            this.pageFiles = pageFiles;
+        }
+
+        /**
+         * Uploads the glyph pages to textures and creates the font.  Must be called on the render thread, and only once.
+         * @return the font, which owns its textures and should be disposed when no longer used.
+         */
+        public BitmapFont createFont() {
+            if (consumed) throw new IllegalStateException("The font has already been created or disposed");
+            consumed = true;
+
+            final TextureRegion[] regions = new TextureRegion[pages.length];
+            for (int i = 0; i < pages.length; i++) {
+                regions[i] = new TextureRegion(createTexture(i));
+            }
+
+            final BitmapFont font = new BitmapFont(data, regions, false);
+            font.setOwnsTexture(true);
+            return font;
+        }
+
+        /**
+         * Releases the glyph pages if the font was not created.
+         */
+        @Override public void dispose() {
+            if (!consumed) {
+                consumed = true;
+                for (Pixmap page : pages) {
+                    page.dispose();
+                }
+            }
+        }
+
+        private Texture createTexture(int page) {
+            final Pixmap pixmap = pages[page];
+            if (pageFiles != null) {
+                // The pixmap is disposed once uploaded, and the texture is reloaded from the file if the context is lost
+                return new Texture(new FileTextureData(pageFiles[page], pixmap, null, false));
+            }
+            else {
+                // Keep the pixmap for reloading the texture, like the FreeType generator does
+                return new Texture(new PixmapTextureData(pixmap, pixmap.getFormat(), false, false, true)) {
+                    @Override public void dispose() {
+                        super.dispose();
+                        pixmap.dispose();
+                    }
+                };
+            }
+        }
+    }
+}
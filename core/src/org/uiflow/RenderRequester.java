@@ -0,0 +1,243 @@
+package org.uiflow;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.InputAdapter;
+import com.badlogic.gdx.InputProcessor;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.Group;
+import com.badlogic.gdx.scenes.scene2d.Stage;
+import com.badlogic.gdx.utils.SnapshotArray;
+import org.uiflow.propertyeditor.model.Position;
+import org.uiflow.propertyeditor.model.bean.Bean;
+import org.uiflow.propertyeditor.model.bean.BeanListener;
+import org.uiflow.propertyeditor.model.bean.NumberPropertyListener;
+import org.uiflow.propertyeditor.model.bean.Property;
+import org.uiflow.propertyeditor.model.beangraph.BeanGraph;
+import org.uiflow.propertyeditor.model.beangraph.BeanGraphListener;
+import org.uiflow.utils.Check;
+
+/**
+ * Requests frames to be rendered when something visible may have changed, for applications that render on demand
+ * instead of continuously (see Graphics.setContinuousRendering).
+ *
+ * A frame is requested when a watched bean graph, bean or property changes, when an input event is received
+ * through the input processor, and while any actor in the stage has running actions.
+ * Rendering continues for a short settle time after each request, to let scrolling and other effects that are
+ * not implemented as actions come to rest.
+ *
+ * update should be called once per frame, after the Stage has been acted.
+ */
+public final class RenderRequester implements BeanGraphListener, BeanListener, NumberPropertyListener {
+
+    private static final float DEFAULT_SETTLE_TIME = 0.5f;
+
+    private final InputProcessor inputProcessor = new InputAdapter() {
+        @Override public boolean keyDown(int keycode) {
+            return requestInputFrame();
+        }
+
+        @Override public boolean keyUp(int keycode) {
+            return requestInputFrame();
+        }
+
+        @Override public boolean keyTyped(char character) {
+            return requestInputFrame();
+        }
+
+        @Override public boolean touchDown(int screenX, int screenY, int pointer, int button) {
+            return requestInputFrame();
+        }
+
+        @Override public boolean touchUp(int screenX, int screenY, int pointer, int button) {
+            return requestInputFrame();
+        }
+
+        @Override public boolean touchDragged(int screenX, int screenY, int pointer) {
+            return requestInputFrame();
+        }
+
+        @Override public boolean mouseMoved(int screenX, int screenY) {
+            return requestInputFrame();
+        }
+
+        @Override public boolean scrolled(int amount) {
+            return requestInputFrame();
+        }
+    };
+
+    private float settleTime = DEFAULT_SETTLE_TIME;
+    private float remainingSettleTime;
+    private long requestCount;
+
+    /**
+     * @return an input processor that requests a frame for each input event, and does not handle the events.
+     *         Should be placed before the stage in an InputMultiplexer.
+     */
+    public InputProcessor getInputProcessor() {
+        return inputProcessor;
+    }
+
+    public float getSettleTime() {
+        return settleTime;
+    }
+
+    /**
+     * @param settleTime number of seconds to keep rendering after a frame has been requested.
+     */
+    public void setSettleTime(float settleTime) {
+        Check.positiveOrZero(settleTime, "settleTime");
+        this.settleTime = settleTime;
+    }
+
+    /**
+     * @return number of frames requested since creation, including the frames requested for running actions and settling.
+     */
+    public long getRequestCount() {
+        return requestCount;
+    }
+
+    /**
+     * Requests rendering of the next frame, and of the frames during the settle time after it.
+     */
+    public void requestFrame() {
+        remainingSettleTime = settleTime;
+        requestRendering();
+    }
+
+    /**
+     * Requests the next frame if any actor in the stage has running actions, or if the settle time after the latest
+     * request has not yet passed.
+     * @param deltaSeconds seconds since the previous frame.
+     */
+    public void update(Stage stage, float deltaSeconds) {
+        if (remainingSettleTime > 0) {
+            remainingSettleTime -= deltaSeconds;
+            requestRendering();
+        }
+        else if (hasActions(stage.getRoot())) {
+            requestRendering();
+        }
+    }
+
+    /**
+     * Requests frames when the bean graph, its interface bean, or any bean in it changes.
+     * Beans added to the graph later are watched as well.
+     */
+    public void watch(BeanGraph beanGraph) {
+        beanGraph.addListener((BeanGraphListener) this);
+        watch(beanGraph.getInterfaceBean());
+        for (Bean bean : beanGraph.getBeans()) {
+            watch(bean);
+        }
+    }
+
+    /**
+     * Stops requesting frames for changes in the bean graph and the beans in it.
+     */
+    public void unwatch(BeanGraph beanGraph) {
+        beanGraph.removeListener((BeanGraphListener) this);
+        unwatch(beanGraph.getInterfaceBean());
+        for (Bean bean : beanGraph.getBeans()) {
+            unwatch(bean);
+        }
+    }
+
+    /**
+     * Requests frames when the bean or any property in it changes.
+     */
+    public void watch(Bean bean) {
+        bean.addListener(this);
+    }
+
+    /**
+     * Stops requesting frames for changes in the bean.
+     */
+    public void unwatch(Bean bean) {
+        bean.removeListener(this);
+    }
+
+    /**
+     * Requests frames when the property changes.
+     */
+    public void watch(Property property) {
+        property.addListener(this);
+    }
+
+    /**
+     * Stops requesting frames for changes in the property.
+     */
+    public void unwatch(Property property) {
+        property.removeListener(this);
+    }
+
+    @Override public void onBeanMoved(BeanGraph beanGraph, Bean bean, Position newPosition) {
+        requestFrame();
+    }
+
+    @Override public void onBeanAdded(BeanGraph beanGraph, Bean bean, Position position) {
+        watch(bean);
+        requestFrame();
+    }
+
+    @Override public void onBeanRemoved(BeanGraph beanGraph, Bean bean, Position position) {
+        unwatch(bean);
+        requestFrame();
+    }
+
+    @Override public void onBeanNameChanged(Bean bean) {
+        requestFrame();
+    }
+
+    @Override public void onPropertyAdded(Bean bean, Property property) {
+        requestFrame();
+    }
+
+    @Override public void onPropertyRemoved(Bean bean, Property property) {
+        requestFrame();
+    }
+
+    @Override public void onValueChanged(Bean bean, Property property, Object oldValue, Object newValue) {
+        requestFrame();
+    }
+
+    @Override public void onNumberValueChanged(Bean bean, Property property, double oldValue, double newValue) {
+        requestFrame();
+    }
+
+    @Override public void onSourceChanged(Bean bean, Property property, Property oldSource, Property newSource) {
+        requestFrame();
+    }
+
+    @Override public void onValueEditorChanged(Bean bean, Property property) {
+        requestFrame();
+    }
+
+    @Override public void onPropertyChanged(Bean bean, Property property) {
+        requestFrame();
+    }
+
+    private boolean requestInputFrame() {
+        requestFrame();
+        return false;
+    }
+
+    private void requestRendering() {
+        requestCount++;
+        if (Gdx.graphics != null) {
+            Gdx.graphics.requestRendering();
+        }
+    }
+
+    private static boolean hasActions(Actor actor) {
+        if (actor.getActions().size > 0) return true;
+
+        if (actor instanceof Group) {
+            final SnapshotArray<Actor> children = ((Group) actor).getChildren();
+            for (int i = 0; i < children.size; i++) {
+                if (hasActions(children.get(i))) return true;
+            }
+        }
+
+        return false;
+    }
+}
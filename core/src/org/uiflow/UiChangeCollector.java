@@ -0,0 +1,171 @@
+package org.uiflow;
+
+import org.uiflow.utils.Check;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects UI elements whose model changed during a frame, and updates each of them once when flushed.
+ * A property that changes several times in a frame, or a source property that drives many other properties,
+ * thus causes one update per affected UI instead of one update per change.
+ *
+ * Coalescing is off by default, so UIs are updated immediately.  A host with a frame loop can turn it on with
+ * setCoalescing, and must then call flush once per frame, before the Stage is drawn.
+ * Counters for the number of requested and performed updates are kept, to show how many updates were coalesced.
+ */
+public final class UiChangeCollector {
+
+    // Updates may mark other UIs dirty, limit the number of passes in case they keep marking each other
+    private static final int MAX_FLUSH_PASSES = 16;
+
+    private final List<DirtyUi> dirtyUis = new ArrayList<DirtyUi>();
+    private final List<DirtyUi> uisToUpdate = new ArrayList<DirtyUi>();
+    private int dirtyCount;
+
+    private boolean coalescing = false;
+
+    private long requestCount;
+    private long updateCount;
+    private long flushCount;
+
+    /**
+     * Marks the specified UI to be updated on the next flush.  Marking an UI that is already dirty has no effect.
+     * If coalescing is off, the UI is updated immediately instead.
+     */
+    public void markDirty(DirtyUi ui) {
+        Check.notNull(ui, "ui");
+
+        requestCount++;
+        if (coalescing) {
+            if (!ui.isMarkedDirty()) {
+                ui.setMarkedDirty(true);
+                dirtyUis.add(ui);
+                dirtyCount++;
+            }
+        }
+        else {
+            updateCount++;
+            ui.updateDirtyUi();
+        }
+    }
+
+    public boolean isCoalescing() {
+        return coalescing;
+    }
+
+    /**
+     * @param coalescing if true, dirty UIs are updated when flushed, which should then be done once per frame.
+     *                   If false (the default), they are updated immediately when marked dirty.
+     *                   Any UIs already marked dirty are updated when coalescing is turned off.
+     */
+    public void setCoalescing(boolean coalescing) {
+        this.coalescing = coalescing;
+        if (!coalescing) {
+            flush();
+        }
+    }
+
+    /**
+     * @return true if the specified UI is waiting to be updated.
+     */
+    public boolean isDirty(DirtyUi ui) {
+        return ui.isMarkedDirty();
+    }
+
+    /**
+     * @return number of UIs waiting to be updated.
+     */
+    public int getDirtyCount() {
+        return dirtyCount;
+    }
+
+    /**
+     * Forgets the specified UI without updating it, e.g. when it is disposed.
+     */
+    public void remove(DirtyUi ui) {
+        // Left in the list, but skipped when flushed
+        if (ui.isMarkedDirty()) {
+            ui.setMarkedDirty(false);
+            dirtyCount--;
+        }
+    }
+
+    /**
+     * Updates all UIs marked dirty since the last flush.
+     * UIs marked dirty by the updates are updated in the same flush.
+     * @return number of UIs updated.
+     */
+    public int flush() {
+        flushCount++;
+
+        int updated = 0;
+        int pass = 0;
+        while (!dirtyUis.isEmpty() && pass < MAX_FLUSH_PASSES) {
+            // Move the dirty UIs to a separate list, so that UIs can be marked dirty while the current ones are updated
+            uisToUpdate.addAll(dirtyUis);
+            dirtyUis.clear();
+            for (int i = 0; i < uisToUpdate.size(); i++) {
+                final DirtyUi ui = uisToUpdate.get(i);
+                if (ui.isMarkedDirty()) {
+                    ui.setMarkedDirty(false);
+                    dirtyCount--;
+                    ui.updateDirtyUi();
+                    updated++;
+                }
+            }
+            uisToUpdate.clear();
+
+            pass++;
+        }
+
+        updateCount += updated;
+        return updated;
+    }
+
+    /**
+     * @return number of times an UI has been marked dirty since the counters were reset.
+     */
+    public long getRequestCount() {
+        return requestCount;
+    }
+
+    /**
+     * @return number of UI updates done by flush since the counters were reset.
+     */
+    public long getUpdateCount() {
+        return updateCount;
+    }
+
+    /**
+     * @return number of requested updates that were merged with other requests for the same UI, since the counters were reset.
+     */
+    public long getCoalescedCount() {
+        return Math.max(0, requestCount - updateCount - dirtyCount);
+    }
+
+    /**
+     * @return number of flushes since the counters were reset.
+     */
+    public long getFlushCount() {
+        return flushCount;
+    }
+
+    /**
+     * Sets the counters to zero.
+     */
+    public void resetCounters() {
+        requestCount = 0;
+        updateCount = 0;
+        flushCount = 0;
+    }
+
+    @Override public String toString() {
+        return "UiChangeCollector{" +
+               "requests=" + requestCount +
+               ", updates=" + updateCount +
+               ", coalesced=" + getCoalescedCount() +
+               ", flushes=" + flushCount +
+               '}';
+    }
+}
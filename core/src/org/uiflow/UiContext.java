@@ -5,6 +5,7 @@ import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.ui.Skin;
 import com.badlogic.gdx.scenes.scene2d.utils.Drawable;
+import org.uiflow.propertyeditor.ui.editors.EditorPool;
 
 /**
  * A context passed around to ui widgets that are created.
@@ -53,4 +54,15 @@ public interface UiContext {
     Stage getStage();
 
     Drawable getDrawable(String id);
+
+    /**
+     * @return collector for UI elements that need to be updated because their model changed.
+     *         If coalescing is turned on, it should be flushed once per frame, before the stage is drawn.
+     */
+    UiChangeCollector getChangeCollector();
+
+    /**
+     * @return pool of released editors, used to reuse editors and their UIs instead of creating new ones.
+     */
+    EditorPool getEditorPool();
 }
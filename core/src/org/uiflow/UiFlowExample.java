@@ -2,7 +2,10 @@ package org.uiflow;
 
 import com.badlogic.gdx.ApplicationAdapter;
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.InputMultiplexer;
+import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.scenes.scene2d.InputEvent;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.ui.*;
@@ -14,9 +17,11 @@ import org.uiflow.propertyeditor.model.bean.PropertyDirection;
 import org.uiflow.propertyeditor.model.bean.dynamic.DynamicBean;
 import org.uiflow.propertyeditor.model.bean.dynamic.DynamicProperty;
 import org.uiflow.propertyeditor.model.beangraph.BeanGraph;
+import org.uiflow.propertyeditor.model.beangraph.BeanGraphGenerator;
 import org.uiflow.propertyeditor.model.beangraph.DefaultBeanGraph;
 import org.uiflow.propertyeditor.model.category.Category;
 import org.uiflow.propertyeditor.model.category.DefaultCategory;
+import org.uiflow.propertyeditor.ui.editors.bean.EditableBean;
 import org.uiflow.propertyeditor.ui.editors.bean.LabelLocation;
 import org.uiflow.propertyeditor.ui.editors.beangraph.BeanGraphConfiguration;
 import org.uiflow.propertyeditor.ui.editors.beangraph.BeanGraphEditor;
@@ -26,13 +31,44 @@ import org.uiflow.utils.colorfunction.ColorGradient;
 
 public class UiFlowExample extends ApplicationAdapter {
 
+    private static final long STRESS_SCENE_SEED = 42;
+    private static final int STRESS_SCENE_NODE_COUNT = 1000;
+    private static final int STRESS_SCENE_DEPTH = 20;
+    private static final String LOADING_TEXT = "Loading";
+
+    private final boolean renderOnDemand;
+    private final long startTime = System.nanoTime();
+
     private Stage stage;
     private UiContext uiContext;
+    private RenderRequester renderRequester;
+
+    private DefaultUiContextLoader uiContextLoader;
+    private BitmapFont loadingFont;
+    private Label loadingLabel;
+    private boolean firstFrameRendered;
+
+    private BeanGraphEditor beanGraphEditor;
+    private BeanGraph testGraph;
+    private BeanGraph stressGraph;
+
+    public UiFlowExample() {
+        this(false);
+    }
+
+    /**
+     * @param renderOnDemand if true, frames are only rendered when the UI or the edited graphs change,
+     *                       instead of continuously.
+     */
+    public UiFlowExample(boolean renderOnDemand) {
+        this.renderOnDemand = renderOnDemand;
+    }
 
     @Override
 	public void create () {
         // Setup
         stage = new Stage();
+        renderRequester = new RenderRequester();
 
         /*
         stage.addListener(new EventListener() {
@@ -45,9 +81,25 @@ public class UiFlowExample extends ApplicationAdapter {
         */
 
         // skin = createTestSkin();
-        Gdx.input.setInputProcessor(stage);
-        uiContext = new DefaultUiContext(stage);
+        if (renderOnDemand) {
+            Gdx.graphics.setContinuousRendering(false);
+            Gdx.input.setInputProcessor(new InputMultiplexer(renderRequester.getInputProcessor(), stage));
+        }
+        else {
+            Gdx.input.setInputProcessor(stage);
+        }
+
+        // Load the skin in the background, and show a loading message with the built in font meanwhile
+        uiContextLoader = new DefaultUiContextLoader(stage);
+        loadingFont = new BitmapFont();
+        loadingLabel = new Label(LOADING_TEXT, new Label.LabelStyle(loadingFont, Color.LIGHT_GRAY));
+        Table loadingTable = new Table();
+        loadingTable.setFillParent(true);
+        loadingTable.add(loadingLabel);
+        stage.addActor(loadingTable);
+	}
 
+    private void createUi() {
         // Create root table
         Table rootTable = new Table(uiContext.getSkin());
         rootTable.setBackground("frame");
@@ -85,12 +137,22 @@ public class UiFlowExample extends ApplicationAdapter {
                 libraryRoot.addSubcategory(new DefaultCategory("New Random Gnome Race"));
             }
         });
-        rootTable.add(gnomoidButton).row();
+        rootTable.add(gnomoidButton);
+
+        // Toggles between the test graph and a large generated graph
+        TextButton stressSceneButton = new TextButton("Stress Scene", uiContext.getSkin());
+        stressSceneButton.addListener(new ClickListener(){
+            @Override public void clicked(InputEvent event, float x, float y) {
+                toggleStressScene();
+            }
+        });
+        rootTable.add(stressSceneButton).row();
 
         rootTable.add(library.getUi(uiContext)).fill().expandY();
 
         // Test bean graph
         BeanGraph beanGraph = new DefaultBeanGraph("Test Graph");
+        testGraph = beanGraph;
 //        beanGraph.addBean(createTestBean(), 40, 40);
         final Bean beanA = beanGraph.addBean(createTestBean(), -1, 0.5f);
         final Bean beanB = beanGraph.addBean(createTestBean(), 1, 0.5f);
@@ -98,7 +160,7 @@ public class UiFlowExample extends ApplicationAdapter {
         final Property y = beanGraph.getInterfaceBean().addFloat("y", 0, PropertyDirection.IN);
         final Property result = beanGraph.getInterfaceBean().addDouble("result", 0, PropertyDirection.OUT);
         beanGraph.getInterfaceBean().addFloat("tuning", 3.14f, PropertyDirection.INOUT);
-        BeanGraphEditor beanGraphEditor = new BeanGraphEditor();
+        beanGraphEditor = new BeanGraphEditor();
         beanGraphEditor.setValue(beanGraph);
         rootTable.add(beanGraphEditor.getUi(uiContext)).fill().expand();
 
@@ -109,21 +171,68 @@ public class UiFlowExample extends ApplicationAdapter {
         beanA.getProperty("Favourite Foods").setSource(beanB.getProperty("Name"));
         result.set(beanB.getProperty("Balance2"));
 
-
-	}
+        renderRequester.watch(testGraph);
+        renderRequester.requestFrame();
+    }
 
     @Override
 	public void render () {
 		Gdx.gl.glClearColor(0.2f, 0.2f, 0.2f, 1);
 		Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
 
-        stage.act(Math.min(Gdx.graphics.getDeltaTime(), 1 / 30f));
+        final boolean uiCreated = uiContext == null && updateLoading();
+
+        final float deltaTime = Math.min(Gdx.graphics.getDeltaTime(), 1 / 30f);
+        stage.act(deltaTime);
+        if (uiContext != null) uiContext.getChangeCollector().flush();
         stage.draw();
+
+        if (renderOnDemand) {
+            // Keep rendering while actions run or the UI settles
+            renderRequester.update(stage, deltaTime);
+        }
+
+        // Startup metrics
+        if (!firstFrameRendered) {
+            firstFrameRendered = true;
+            System.out.println("Time to first frame: " + (System.nanoTime() - startTime) / 1000000 + " ms");
+        }
+        if (uiCreated) {
+            System.out.println("Time to first frame with the full UI: " + (System.nanoTime() - startTime) / 1000000 + " ms");
+        }
 	}
 
+    /**
+     * @return true if the ui context finished loading and the UI was created.
+     */
+    private boolean updateLoading() {
+        if (uiContextLoader.update()) {
+            uiContext = uiContextLoader.getUiContext();
+            uiContextLoader = null;
+
+            // Update changed UIs once per frame, the collector is flushed in render
+            uiContext.getChangeCollector().setCoalescing(true);
+
+            // Replace the loading message with the UI
+            stage.clear();
+            loadingFont.dispose();
+            loadingFont = null;
+            createUi();
+            return true;
+        }
+        else {
+            loadingLabel.setText(LOADING_TEXT + " " + Math.round(uiContextLoader.getProgress() * 100) + "%");
+
+            // Keep rendering until loaded
+            renderRequester.requestFrame();
+            return false;
+        }
+    }
+
     @Override
     public void resize (int width, int height) {
         stage.getViewport().update(width, height, true);
+        renderRequester.requestFrame();
     }
 
 
@@ -131,13 +240,30 @@ public class UiFlowExample extends ApplicationAdapter {
     public void dispose () {
         stage.dispose();
 
-        uiContext.dispose();
+        if (uiContextLoader != null) uiContextLoader.dispose();
+        if (loadingFont != null) loadingFont.dispose();
+        if (uiContext != null) uiContext.dispose();
 
        // skin.dispose();
     }
 
+    private void toggleStressScene() {
+        if (beanGraphEditor.getValue() == testGraph) {
+            if (stressGraph == null) {
+                final long startTime = System.currentTimeMillis();
+                stressGraph = new BeanGraphGenerator(STRESS_SCENE_SEED, STRESS_SCENE_NODE_COUNT, STRESS_SCENE_DEPTH).generate();
+                System.out.println("Generated stress scene with " + STRESS_SCENE_NODE_COUNT + " beans in " + (System.currentTimeMillis() - startTime) + " ms");
+                renderRequester.watch(stressGraph);
+            }
+            beanGraphEditor.setValue(stressGraph);
+        }
+        else {
+            beanGraphEditor.setValue(testGraph);
+        }
+    }
+
     private Bean createTestBean() {
-        final DynamicBean testBean = new DynamicBean("Troll");
+        final EditableBean testBean = new EditableBean("Troll");
         testBean.addString("Name", "Igor");
         testBean.addDouble("Hitpoints", 24, 0, 1000, false, true, ColorGradient.RED_YELLOW);
         testBean.addDouble("Balance", 24, -100, 0, 100, false, true, ColorGradient.RED_GREEN_RED);
@@ -146,7 +272,7 @@ public class UiFlowExample extends ApplicationAdapter {
         testBean.addInt("Inventory Slots", 16, 0, 100, false, false);
         testBean.addString("Favourite Foods", "Tasty Hobbitses\nMushroom Soup\nCrunchy Crabs", 4);
 
-        DynamicBean appearance = new DynamicBean("Appearance");
+        EditableBean appearance = new EditableBean("Appearance");
         appearance.addString("Hat", "Top Hat");
         appearance.addDouble("Height", 5, 0, 10, true, false, ColorGradient.BLUE_RED);
         testBean.addBean("Appearance", appearance, LabelLocation.LEFT);
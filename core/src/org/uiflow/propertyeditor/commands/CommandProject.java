@@ -0,0 +1,10 @@
+package org.uiflow.propertyeditor.commands;
+
+import org.uiflow.propertyeditor.model.project.Project;
+
+/**
+ * A project that also provides the commands available for editing it.
+ */
+public interface CommandProject extends Project, CommandProvider {
+
+}
@@ -3,6 +3,7 @@ package org.uiflow.propertyeditor.commands;
 import org.uiflow.UiContext;
 import org.uiflow.utils.Check;
 import org.uiflow.utils.HotKey;
+import org.uiflow.utils.ListenerList;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -17,7 +18,7 @@ public abstract class CommandProviderBase implements CommandProvider {
     private final List<Command> commands = new ArrayList<Command>();
     private final List<Command> readOnlyCommands = Collections.unmodifiableList(commands);
 
-    private final List<CommandProviderListener> listeners = new ArrayList<CommandProviderListener>();
+    private final ListenerList<CommandProviderListener> listeners = new ListenerList<CommandProviderListener>(CommandProviderListener.class);
 
     private final List<CommandProvider> delegateCommandProviders = new ArrayList<CommandProvider>();
 
@@ -61,9 +62,7 @@ public abstract class CommandProviderBase implements CommandProvider {
     @Override public final void addCommandListener(CommandProviderListener listener) {
         Check.notNull(listener, "listener");
 
-        if (!listeners.contains(listener)){
-            listeners.add(listener);
-        }
+        listeners.add(listener);
     }
 
     @Override public final void removeCommandListener(CommandProviderListener listener) {
@@ -120,25 +119,25 @@ public abstract class CommandProviderBase implements CommandProvider {
     }
 
     private void notifyCommandAdded(Command command) {
-        for (CommandProviderListener listener : listeners) {
+        for (CommandProviderListener listener : listeners.dispatch()) {
             listener.commandAdded(this, command);
         }
     }
 
     private void notifyCommandRemoved(Command command) {
-        for (CommandProviderListener listener : listeners) {
+        for (CommandProviderListener listener : listeners.dispatch()) {
             listener.commandRemoved(this, command);
         }
     }
 
     private void notifyCommandEnabledChanged(Command command, boolean enabled) {
-        for (CommandProviderListener listener : listeners) {
+        for (CommandProviderListener listener : listeners.dispatch()) {
             listener.commandEnabledChanged(this, command, enabled);
         }
     }
 
     private void notifyCommandConfigChanged(Command command) {
-        for (CommandProviderListener listener : listeners) {
+        for (CommandProviderListener listener : listeners.dispatch()) {
             listener.commandConfigChanged(this, command);
         }
     }
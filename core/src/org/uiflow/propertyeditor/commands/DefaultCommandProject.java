@@ -0,0 +1,22 @@
+package org.uiflow.propertyeditor.commands;
+
+import org.uiflow.propertyeditor.model.category.Category;
+
+/**
+ * Default implementation of a project that provides commands.
+ */
+public class DefaultCommandProject extends CommandProviderBase implements CommandProject {
+
+    private Category rootCategory;
+
+    public DefaultCommandProject() {
+    }
+
+    public Category getRootCategory() {
+        return rootCategory;
+    }
+
+    public void setRootCategory(Category rootCategory) {
+        this.rootCategory = rootCategory;
+    }
+}
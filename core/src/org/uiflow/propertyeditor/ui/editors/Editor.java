@@ -51,4 +51,11 @@ public interface Editor<T, C extends EditorConfiguration> extends FlowWidget {
      */
     void removeListener(EditorListener<T> listener);
 
+    /**
+     * Prepares the editor for reuse with the same configuration, after it has been released to an EditorPool.
+     * Clears the edited value and listeners, enables the editor, and removes its UI from any parent.
+     * The UI itself is kept, so that it does not need to be created again.
+     */
+    void reset();
+
 }
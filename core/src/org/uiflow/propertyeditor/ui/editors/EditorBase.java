@@ -37,7 +37,7 @@ public abstract class EditorBase<T, C extends EditorConfiguration> extends FlowW
         return configuration;
     }
 
-    @Override public final T getValue() {
+    @Override public T getValue() {
         return editedValue;
     }
 
@@ -83,6 +83,26 @@ public abstract class EditorBase<T, C extends EditorConfiguration> extends FlowW
         return editor;
     }
 
+    @Override public final void reset() {
+        listeners.clear();
+        setValue(null);
+        setEnabled(true);
+
+        onReset();
+
+        if (isUiCreated()) {
+            getUiContext().getChangeCollector().remove(this);
+            getUi(getUiContext()).remove();
+        }
+    }
+
+    /**
+     * Called when the editor is reset for reuse, after the value has been cleared.
+     * Should clear any additional state that should not carry over to the next use of the editor.
+     */
+    protected void onReset() {
+    }
+
     /**
      * Called when the edited value is changed from client code.
      * Can be used to e.g. register and unregister listeners on the value.
@@ -112,6 +132,21 @@ public abstract class EditorBase<T, C extends EditorConfiguration> extends FlowW
         }
     }
 
+    /**
+     * Forgets the edited value without notifying anyone.
+     * Can be used by editors that keep the value in some other form, and create the value object only when asked for.
+     */
+    protected final void clearEditedValue() {
+        editedValue = null;
+    }
+
+    /**
+     * @return true if any listeners are listening to value edits in this editor.
+     */
+    protected final boolean hasListeners() {
+        return !listeners.isEmpty();
+    }
+
     /**
      * Called when the value to be edited is changed from outside the editor, and the UI should update.
      */
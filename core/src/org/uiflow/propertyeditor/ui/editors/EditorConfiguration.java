@@ -1,12 +1,14 @@
 package org.uiflow.propertyeditor.ui.editors;
 
+import org.uiflow.propertyeditor.model.bean.PropertyEditorConfiguration;
+
 /**
  * Information about the value editor to use for a Property.
  * Can contain things like allowed ranges for numbers.
  *
  * Also knows how to create a suitable ValueEditor instance for the UI.
  */
-public interface EditorConfiguration {
+public interface EditorConfiguration extends PropertyEditorConfiguration {
 
     /**
      * @return new editor instance.
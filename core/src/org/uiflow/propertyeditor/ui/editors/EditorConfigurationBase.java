@@ -1,28 +1,29 @@
 package org.uiflow.propertyeditor.ui.editors;
 
+import org.uiflow.utils.Check;
+
 /**
  * Common functionality for EditorConfigurations.
  */
 public abstract class EditorConfigurationBase implements EditorConfiguration {
 
-    private final Class<? extends Editor> editorClass;
+    private final EditorFactory<?> editorFactory;
 
-    public EditorConfigurationBase(Class<? extends Editor> editorClass) {
-        this.editorClass = editorClass;
+    /**
+     * @param editorFactory factory used to create the editors for this configuration.
+     */
+    public EditorConfigurationBase(EditorFactory<?> editorFactory) {
+        Check.notNull(editorFactory, "editorFactory");
+        this.editorFactory = editorFactory;
     }
 
     @Override public final Editor createEditor() {
-        try {
-            // Create instance using no-argument constructor.
-            final Editor editor = editorClass.newInstance();
+        final Editor editor = editorFactory.createEditor();
+        if (editor == null) throw new IllegalStateException("The editor factory of the editor configuration " + this + " returned null");
 
-            // Configure created instance with this configuration class
-            editor.setConfiguration(this);
+        // Configure created instance with this configuration class
+        editor.setConfiguration(this);
 
-            return editor;
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw new IllegalStateException("Could not create a value editor of type " + editorClass + " from ValueEditorInfo "+this+" : " + e.getMessage(), e);
-        }
+        return editor;
     }
 }
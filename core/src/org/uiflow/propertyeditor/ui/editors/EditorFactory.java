@@ -0,0 +1,13 @@
+package org.uiflow.propertyeditor.ui.editors;
+
+/**
+ * Creates new editor instances of some type, without using reflection.
+ */
+public interface EditorFactory<E extends Editor> {
+
+    /**
+     * @return new unconfigured editor instance.
+     */
+    E createEditor();
+
+}
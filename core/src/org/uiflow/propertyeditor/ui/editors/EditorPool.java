@@ -0,0 +1,145 @@
+package org.uiflow.propertyeditor.ui.editors;
+
+import org.uiflow.utils.Check;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps released editors, along with their UIs, for reuse, so that rebuilding property UIs does not need to create
+ * new editors and actor trees.
+ *
+ * The UI of an editor is built from its configuration, so released editors are pooled by their configuration
+ * instance, and an editor is reused only for the same configuration.  Editors for which no pooled editor is available
+ * are created with the factory of the configuration.
+ *
+ * Editors released to a pool should only be used with the UiContext of the pool.
+ */
+public final class EditorPool {
+
+    private static final int DEFAULT_MAX_FREE_EDITORS = 4096;
+
+    private final Map<EditorConfiguration, List<Editor>> freeEditors = new IdentityHashMap<EditorConfiguration, List<Editor>>();
+    private int freeCount;
+    private int maxFreeCount = DEFAULT_MAX_FREE_EDITORS;
+
+    private long createdCount;
+    private long reusedCount;
+
+    /**
+     * @return an editor for the specified configuration, a reset pooled one if available, otherwise a new one.
+     */
+    public Editor obtain(EditorConfiguration configuration) {
+        Check.notNull(configuration, "configuration");
+
+        final List<Editor> editors = freeEditors.get(configuration);
+        if (editors != null && !editors.isEmpty()) {
+            reusedCount++;
+            freeCount--;
+            return editors.remove(editors.size() - 1);
+        }
+        else {
+            createdCount++;
+            return configuration.createEditor();
+        }
+    }
+
+    /**
+     * Resets the editor and keeps it for reuse, or disposes it if the pool is full.
+     * The editor should not be used by the caller after this.
+     */
+    public void free(Editor editor) {
+        Check.notNull(editor, "editor");
+
+        final EditorConfiguration configuration = editor.getConfiguration();
+        if (freeCount < maxFreeCount && configuration != null) {
+            editor.reset();
+
+            List<Editor> editors = freeEditors.get(configuration);
+            if (editors == null) {
+                editors = new ArrayList<Editor>();
+                freeEditors.put(configuration, editors);
+            }
+            editors.add(editor);
+            freeCount++;
+        }
+        else {
+            editor.dispose();
+        }
+    }
+
+    /**
+     * Disposes the pooled editors for the specified configuration.
+     * Should be called when the configuration has changed, so that editors with UIs built from the old settings are not reused.
+     */
+    public void discard(EditorConfiguration configuration) {
+        final List<Editor> editors = freeEditors.remove(configuration);
+        if (editors != null) {
+            for (Editor editor : editors) {
+                editor.dispose();
+            }
+            freeCount -= editors.size();
+        }
+    }
+
+    /**
+     * Disposes all pooled editors.
+     */
+    public void clear() {
+        for (List<Editor> editors : freeEditors.values()) {
+            for (Editor editor : editors) {
+                editor.dispose();
+            }
+        }
+        freeEditors.clear();
+        freeCount = 0;
+    }
+
+    /**
+     * @return number of editors currently kept for reuse.
+     */
+    public int getFreeCount() {
+        return freeCount;
+    }
+
+    public int getMaxFreeCount() {
+        return maxFreeCount;
+    }
+
+    /**
+     * @param maxFreeCount maximum number of editors kept for reuse, further released editors are disposed.
+     *                     Zero disables pooling.  Editors already in the pool are disposed if there are too many.
+     */
+    public void setMaxFreeCount(int maxFreeCount) {
+        Check.positiveOrZero(maxFreeCount, "maxFreeCount");
+        this.maxFreeCount = maxFreeCount;
+
+        if (freeCount > maxFreeCount) {
+            clear();
+        }
+    }
+
+    /**
+     * @return number of editors created by obtain because no pooled editor was available.
+     */
+    public long getCreatedCount() {
+        return createdCount;
+    }
+
+    /**
+     * @return number of pooled editors reused by obtain.
+     */
+    public long getReusedCount() {
+        return reusedCount;
+    }
+
+    @Override public String toString() {
+        return "EditorPool{" +
+               "created=" + createdCount +
+               ", reused=" + reusedCount +
+               ", free=" + freeCount +
+               '}';
+    }
+}
@@ -1,12 +1,17 @@
 package org.uiflow.propertyeditor.ui.editors.bean;
 
 import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.ui.Image;
 import com.badlogic.gdx.scenes.scene2d.ui.Label;
 import com.badlogic.gdx.scenes.scene2d.ui.Table;
+import com.badlogic.gdx.scenes.scene2d.ui.VerticalGroup;
 import com.badlogic.gdx.scenes.scene2d.utils.Align;
+import com.badlogic.gdx.scenes.scene2d.utils.Layout;
 import org.uiflow.UiContext;
 import org.uiflow.propertyeditor.model.bean.*;
 import org.uiflow.propertyeditor.ui.editors.EditorBase;
+import org.uiflow.propertyeditor.ui.editors.EditorFactory;
+import org.uiflow.utils.Check;
 
 import java.util.*;
 
@@ -15,10 +20,23 @@ import java.util.*;
  */
 public class BeanEditor extends EditorBase<Bean, BeanEditorConfiguration> {
 
+    /**
+     * Creates BeanEditors for BeanEditorConfigurations.
+     */
+    public static final EditorFactory<BeanEditor> FACTORY = new EditorFactory<BeanEditor>() {
+        @Override public BeanEditor createEditor() {
+            return new BeanEditor();
+        }
+    };
+
     private static final String BEAN_STYLE_SELECTED = "window_titled_selected";
     private static final String BEAN_STYLE = "window_titled";
     private static final String TITLE_STYLE = "window_title";
     private static final String TITLE_STYLE_SELECTED = "window_title_selected";
+    private static final String PROPERTY_STUB = "white";
+    private static final float PROPERTY_STUB_WIDTH = 48;
+    private static final float PROPERTY_STUB_HEIGHT = 6;
+    private static final int MAX_POOLED_PROPERTY_UIS = 1024;
     private final boolean showConnectors;
     private final boolean mirrorDirections;
     private final PropertyDirection directionsToShow;
@@ -26,38 +44,22 @@ public class BeanEditor extends EditorBase<Bean, BeanEditorConfiguration> {
 
     private final LinkedHashMap<Property, PropertyUi> propertyEditors = new LinkedHashMap<Property, PropertyUi>();
 
-    private Table propertyList;
-    private Table beanTable;
-    private Label nameLabel;
+    // Property UIs of removed properties are recycled for added properties, along with their value editors
+    private final List<PropertyUi> propertyUiPool = new ArrayList<PropertyUi>();
 
-    private final BeanListener beanListener = new BeanListenerAdapter() {
-        @Override public void onValueChanged(Bean bean, Property property, Object oldValue, Object newValue) {
-            notifyValueEditedInUi(bean);
-        }
+    // Rows of the shown and pooled property UIs
+    private final Map<PropertyUi, Table> propertyRows = new IdentityHashMap<PropertyUi, Table>();
+    private final Set<Property> tempBeanProperties = new HashSet<Property>();
+    private final List<Property> tempRemovedProperties = new ArrayList<Property>();
 
-        @Override public void onBeanNameChanged(Bean bean) {
-            if (nameLabel != null) {
-                nameLabel.setText(bean.getName());
-            }
-        }
+    private PropertyList propertyList;
+    private Table beanTable;
+    private Label nameLabel;
 
-        @Override public void onPropertyAdded(Bean bean, Property property) {
-            if (shouldShowProperty(property)) {
-                addPropertyUi(property);
-                rebuildPropertyList();
-                notifyValueEditedInUi(bean);
-            }
-        }
+    private final BeanListener beanListener = new BeanEditorListener();
 
-        @Override public void onPropertyRemoved(Bean bean, Property property) {
-            final boolean removed = removePropertyUi(property);
-            if (removed) {
-                rebuildPropertyList();
-            }
-            notifyValueEditedInUi(bean);
-        }
-    };
     private boolean selected;
+    private DetailLevel detailLevel = DetailLevel.FULL;
 
 
     /**
@@ -159,6 +161,11 @@ public class BeanEditor extends EditorBase<Bean, BeanEditorConfiguration> {
         }
     }
 
+    @Override protected void onReset() {
+        setSelected(false);
+        setDetailLevel(DetailLevel.FULL);
+    }
+
     @Override protected void updateValueInUi(Bean value) {
         updateUi();
     }
@@ -177,7 +184,7 @@ public class BeanEditor extends EditorBase<Bean, BeanEditorConfiguration> {
         // Property list
         final float horizontalPad = showConnectors ? 0 : uiContext.getGap();
         final float verticalPad = uiContext.getGap();
-        propertyList = new Table(uiContext.getSkin());
+        propertyList = new PropertyList();
         beanTable.add(propertyList).expand().fill().pad(verticalPad, horizontalPad, verticalPad, horizontalPad);
 
         updateSelectionStyle();
@@ -206,57 +213,43 @@ public class BeanEditor extends EditorBase<Bean, BeanEditorConfiguration> {
 
     /**
      * Add or remove missing or extra property UIs.
+     * Properties are matched by key in linear time, and only the rows of added or removed properties are changed,
+     * the other rows keep their actors and layout.
      */
     private void updateAvailablePropertyUis() {
-        List<Property> propertiesToRemove = null;
+        if (!isUiCreated()) return;
 
-        boolean propertiesAddedOrRemoved = false;
+        final Bean bean = getValue();
 
-        Bean bean = getValue();
-        if (bean == null && !propertyEditors.isEmpty()) {
-            // Bean is null, remove all property uis
-            propertiesToRemove = new ArrayList<Property>(propertyEditors.keySet());
-            propertiesAddedOrRemoved = true;
+        // Find property UIs of properties no longer in the bean
+        if (bean != null) {
+            tempBeanProperties.addAll(bean.getProperties());
         }
-        else if (bean != null) {
-            final List<Property> beanProperties = bean.getProperties();
-
-            // Add any not yet present
-            for (Property propertyInBean : beanProperties) {
-                if (!propertyEditors.containsKey(propertyInBean)) {
-                    // Add missing property UI
-                    if (shouldShowProperty(propertyInBean)) {
-                        addPropertyUi(propertyInBean);
-                        propertiesAddedOrRemoved = true;
-                    }
-                }
-            }
-
-            // Remove any removed and present
-            for (Property propertyInUi : propertyEditors.keySet()) {
-                // Check if the property is present in the UI but not in the bean anymore
-                if (!beanProperties.contains(propertyInUi)) {
-                    if (propertiesToRemove == null) {
-                        propertiesToRemove = new ArrayList<Property>(3);
-                    }
-                    propertiesToRemove.add(propertyInUi);
-                    propertiesAddedOrRemoved = true;
-                }
+        for (Property propertyInUi : propertyEditors.keySet()) {
+            if (!tempBeanProperties.contains(propertyInUi)) {
+                tempRemovedProperties.add(propertyInUi);
             }
         }
+        tempBeanProperties.clear();
 
-        // Remove properties tagged for removal
+        // Remove them.
         // We do this in a separate step because we can't removed elements of a collection we are looping through
-        if (propertiesToRemove != null) {
-            for (Property property : propertiesToRemove) {
-                removePropertyUi(property);
-            }
-            propertiesToRemove.clear();
+        for (int i = 0; i < tempRemovedProperties.size(); i++) {
+            removePropertyUi(tempRemovedProperties.get(i));
         }
-
-        // Recreate the UI
-        if (propertiesAddedOrRemoved) {
-            rebuildPropertyList();
+        tempRemovedProperties.clear();
+
+        // Add missing property UIs at the position of the property among the shown properties
+        if (bean != null) {
+            int rowIndex = 0;
+            for (Property propertyInBean : bean.getProperties()) {
+                if (shouldShowProperty(propertyInBean)) {
+                    if (!propertyEditors.containsKey(propertyInBean)) {
+                        addPropertyUi(propertyInBean, rowIndex);
+                    }
+                    rowIndex++;
+                }
+            }
         }
     }
 
@@ -273,86 +266,117 @@ public class BeanEditor extends EditorBase<Bean, BeanEditorConfiguration> {
 
             // Remove the widget from the ui if the ui has been created
             if (editor != null) {
-                // Dispose removed editor
-                editor.dispose();
+                propertyList.removeActor(propertyRows.get(editor));
+
+                // Pool removed editor for reuse, its value editor is released when the property is cleared
+                if (propertyUiPool.size() < MAX_POOLED_PROPERTY_UIS) {
+                    editor.setProperty(null);
+                    propertyUiPool.add(editor);
+                }
+                else {
+                    propertyRows.remove(editor);
+                    editor.dispose();
+                }
                 return true;
             }
         }
         return false;
     }
 
-    private void addPropertyUi(Property property) {
+    /**
+     * @param rowIndex index of the row to insert the property UI at.
+     */
+    private void addPropertyUi(Property property, int rowIndex) {
         if (isUiCreated()) {
-            // Create editor
-            final PropertyUi propertyUi = new PropertyUi(property, getConfiguration().getLabelLocation(), showConnectors, mirrorDirections, hideEditorWhenSourceUsed);
+            // Reuse a pooled editor if possible, the pooled editors have the settings of this bean editor
+            final PropertyUi propertyUi;
+            if (!propertyUiPool.isEmpty() && getConfiguration().getLabelLocation() == propertyUiPool.get(propertyUiPool.size() - 1).getLabelLocation()) {
+                propertyUi = propertyUiPool.remove(propertyUiPool.size() - 1);
+                propertyUi.setProperty(property);
+            }
+            else {
+                propertyUi = new PropertyUi(property, getConfiguration().getLabelLocation(), showConnectors, mirrorDirections, hideEditorWhenSourceUsed);
+            }
 
             // Add to lookup map
             propertyEditors.put(property, propertyUi);
+
+            // Create or update the row for the property, and insert it
+            Table row = propertyRows.get(propertyUi);
+            if (row == null) {
+                row = new Table(getUiContext().getSkin());
+                propertyRows.put(propertyUi, row);
+            }
+            buildPropertyRow(propertyUi, row);
+            propertyList.addActorAt(rowIndex, row);
         }
     }
 
+    /**
+     * Rebuilds the contents of all property rows, e.g. when the detail level changes.
+     */
     private void rebuildPropertyList() {
         if (isUiCreated()) {
-            // Remove all property UIs
-            propertyList.clear();
-
-            // Add property UIs
-            final LabelLocation labelLocation = getConfiguration().getLabelLocation();
-            for (Map.Entry<Property, PropertyUi> entry : propertyEditors.entrySet()) {
-                final PropertyUi propertyUi = entry.getValue();
-
-                final Actor ui = propertyUi.getUi(getUiContext());
-                final Actor label = propertyUi.getLabelUi();
-                final Actor inputConnector = propertyUi.getInputConnector();
-                final Actor outputConnector = propertyUi.getOutputConnector();
-
-                switch (labelLocation) {
-                    case LEFT:
-                        if (inputConnector != null) propertyList.add(inputConnector).fill().expandY();
-                        propertyList.add(label).left();
-                        propertyList.add(ui).expandX().fillX();
-                        if (outputConnector != null) propertyList.add(outputConnector).fill().expandY();
-                        propertyList.row();
-                        break;
-                    case ABOVE:
-                        Table t = new Table();
-                        if (inputConnector != null) t.add(inputConnector).fill().expandY();
-                        t.add(label).left().expandX().fillX();
-                        if (outputConnector != null) t.add(outputConnector).fill().expandY();
-
-                        propertyList.add(t).expandX().fillX();
-                        propertyList.row();
-                        propertyList.add(ui).expandX().fillX().row();
-                        break;
-                    case BELOW:
-                        propertyList.add(ui).expandX().fillX().row();
-
-                        Table t2 = new Table();
-                        if (inputConnector != null) t2.add(inputConnector).fill().expandY();
-                        t2.add(label).left().expandX().fillX();
-                        if (outputConnector != null) t2.add(outputConnector).fill().expandY();
-                        propertyList.add(t2).left().expandX().fillX();
-                        propertyList.row();
-                        break;
-                    case NONE:
-                        if (inputConnector != null) propertyList.add(inputConnector).fill().expandY();
-                        propertyList.add(ui).expandX().fillX();
-                        if (outputConnector != null) propertyList.add(outputConnector).fill().expandY();
-                        propertyList.row();
-                        break;
-                }
-
+            for (PropertyUi propertyUi : propertyEditors.values()) {
+                buildPropertyRow(propertyUi, propertyRows.get(propertyUi));
             }
-
-            /*
-            // TODO: Trying to layout bean container..
-            propertyList.layout();
-            beanTable.invalidate();
-            beanTable.layout();
-            */
+            propertyList.invalidateLabelWidth();
         }
     }
 
+    private void buildPropertyRow(PropertyUi propertyUi, Table row) {
+        row.clear();
+
+        final Actor ui = propertyUi.getUi(getUiContext());
+        final Actor label = propertyUi.getLabelUi();
+        final Actor inputConnector = propertyUi.getInputConnector();
+        final Actor outputConnector = propertyUi.getOutputConnector();
+
+        // Show only a stub colored by the property type if not showing full detail
+        if (detailLevel != DetailLevel.FULL) {
+            final Image stub = new Image(getUiContext().getSkin().getDrawable(PROPERTY_STUB));
+            stub.setColor(getUiContext().getTypeColor(propertyUi.getProperty().getType()));
+
+            if (inputConnector != null) row.add(inputConnector).fill().expandY();
+            row.add(stub).size(PROPERTY_STUB_WIDTH, PROPERTY_STUB_HEIGHT).expandX();
+            if (outputConnector != null) row.add(outputConnector).fill().expandY();
+            return;
+        }
+
+        switch (getConfiguration().getLabelLocation()) {
+            case LEFT:
+                if (inputConnector != null) row.add(inputConnector).fill().expandY();
+                // The label cells of all rows get the width of the widest label, see PropertyList
+                row.add(label).left().minWidth(propertyList.labelWidth);
+                row.add(ui).expandX().fillX();
+                if (outputConnector != null) row.add(outputConnector).fill().expandY();
+                break;
+            case ABOVE:
+                Table t = new Table();
+                if (inputConnector != null) t.add(inputConnector).fill().expandY();
+                t.add(label).left().expandX().fillX();
+                if (outputConnector != null) t.add(outputConnector).fill().expandY();
+
+                row.add(t).expandX().fillX();
+                row.row();
+                row.add(ui).expandX().fillX();
+                break;
+            case BELOW:
+                row.add(ui).expandX().fillX().row();
+
+                Table t2 = new Table();
+                if (inputConnector != null) t2.add(inputConnector).fill().expandY();
+                t2.add(label).left().expandX().fillX();
+                if (outputConnector != null) t2.add(outputConnector).fill().expandY();
+                row.add(t2).left().expandX().fillX();
+                break;
+            case NONE:
+                if (inputConnector != null) row.add(inputConnector).fill().expandY();
+                row.add(ui).expandX().fillX();
+                if (outputConnector != null) row.add(outputConnector).fill().expandY();
+                break;
+        }
+    }
 
     /**
      * @return the PropertyUi for the specified property, if found, null otherwise.
@@ -377,6 +401,27 @@ public class BeanEditor extends EditorBase<Bean, BeanEditorConfiguration> {
         }
     }
 
+    /**
+     * @param detailLevel amount of detail to show.
+     *                    When not FULL, only the bean name and a stub colored by type for each property are shown,
+     *                    along with any connectors.
+     */
+    public void setDetailLevel(DetailLevel detailLevel) {
+        Check.notNull(detailLevel, "detailLevel");
+
+        if (this.detailLevel != detailLevel) {
+            this.detailLevel = detailLevel;
+            rebuildPropertyList();
+        }
+    }
+
+    /**
+     * @return amount of detail shown.
+     */
+    public DetailLevel getDetailLevel() {
+        return detailLevel;
+    }
+
     /**
      * @return Whether this bean editor is currently selected in a BeanGraph.
      *                 Affects the appearance used for it.
@@ -384,4 +429,117 @@ public class BeanEditor extends EditorBase<Bean, BeanEditorConfiguration> {
     public boolean isSelected() {
         return selected;
     }
+
+    /**
+     * Notifies listeners about the changed bean before the next frame is drawn,
+     * so that many property value changes within a frame cause one notification.
+     */
+    private void requestValueEditedNotification(Bean bean) {
+        if (isUiCreated()) {
+            getUiContext().getChangeCollector().markDirty(this);
+        }
+        else {
+            notifyValueEditedInUi(bean);
+        }
+    }
+
+    @Override public void updateDirtyUi() {
+        final Bean bean = getValue();
+        if (bean != null) {
+            notifyValueEditedInUi(bean);
+        }
+    }
+
+    /**
+     * Listens to changes in the edited bean.  Receives number value changes without boxing.
+     */
+    private final class BeanEditorListener extends BeanListenerAdapter implements NumberPropertyListener {
+        @Override public void onValueChanged(Bean bean, Property property, Object oldValue, Object newValue) {
+            requestValueEditedNotification(bean);
+        }
+
+        @Override public void onNumberValueChanged(Bean bean, Property property, double oldValue, double newValue) {
+            requestValueEditedNotification(bean);
+        }
+
+        @Override public void onBeanNameChanged(Bean bean) {
+            if (nameLabel != null) {
+                nameLabel.setText(bean.getName());
+            }
+        }
+
+        @Override public void onPropertyAdded(Bean bean, Property property) {
+            if (shouldShowProperty(property)) {
+                updateAvailablePropertyUis();
+                notifyValueEditedInUi(bean);
+            }
+        }
+
+        @Override public void onPropertyRemoved(Bean bean, Property property) {
+            removePropertyUi(property);
+            notifyValueEditedInUi(bean);
+        }
+    }
+
+    /**
+     * Vertical list of property rows.
+     * With labels on the left, the label cells of all rows are given the width of the widest label,
+     * so that the value editors line up as they would in a single table.
+     */
+    private final class PropertyList extends VerticalGroup {
+        private boolean labelWidthInvalid = true;
+        private float labelWidth = 0;
+
+        private PropertyList() {
+            fill();
+        }
+
+        @Override public void invalidate() {
+            super.invalidate();
+            labelWidthInvalid = true;
+        }
+
+        void invalidateLabelWidth() {
+            labelWidth = -1;
+            invalidateHierarchy();
+        }
+
+        @Override public float getPrefWidth() {
+            validateLabelWidth();
+            return super.getPrefWidth();
+        }
+
+        @Override public float getPrefHeight() {
+            validateLabelWidth();
+            return super.getPrefHeight();
+        }
+
+        @Override public void layout() {
+            validateLabelWidth();
+            super.layout();
+        }
+
+        private void validateLabelWidth() {
+            if (labelWidthInvalid) {
+                labelWidthInvalid = false;
+
+                if (detailLevel != DetailLevel.FULL || getConfiguration().getLabelLocation() != LabelLocation.LEFT) return;
+
+                float maxWidth = 0;
+                for (PropertyUi propertyUi : propertyEditors.values()) {
+                    maxWidth = Math.max(maxWidth, ((Layout) propertyUi.getLabelUi()).getPrefWidth());
+                }
+
+                if (maxWidth != labelWidth) {
+                    labelWidth = maxWidth;
+                    for (PropertyUi propertyUi : propertyEditors.values()) {
+                        final Table row = propertyRows.get(propertyUi);
+                        row.getCell(propertyUi.getLabelUi()).minWidth(labelWidth);
+                        row.invalidate();
+                    }
+                }
+            }
+        }
+    }
+
 }
@@ -19,7 +19,7 @@ public class BeanEditorConfiguration extends EditorConfigurationBase {
      * @param labelLocation location of labels for properties, relative to the property editors.
      */
     public BeanEditorConfiguration(LabelLocation labelLocation) {
-        super(BeanEditor.class);
+        super(BeanEditor.FACTORY);
         this.labelLocation = labelLocation;
     }
 
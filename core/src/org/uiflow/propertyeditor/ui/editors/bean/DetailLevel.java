@@ -0,0 +1,24 @@
+package org.uiflow.propertyeditor.ui.editors.bean;
+
+/**
+ * Amount of detail to show in bean editors and connections, usually selected based on the zoom level of a bean graph.
+ */
+public enum DetailLevel {
+
+    /**
+     * All labels and property editors are shown.
+     */
+    FULL,
+
+    /**
+     * Only the bean name and a stub colored by type for each property are shown, with their connectors.
+     * Connections are drawn with fewer segments.
+     */
+    SIMPLIFIED,
+
+    /**
+     * Beans are drawn as flat colored rectangles and connections as straight lines, without any editors.
+     */
+    OVERVIEW
+
+}
@@ -1,26 +1,22 @@
-package org.uiflow.propertyeditor.model.bean.dynamic;
+package org.uiflow.propertyeditor.ui.editors.bean;
 
-import org.uiflow.propertyeditor.model.bean.*;
-import org.uiflow.propertyeditor.ui.editors.EditorConfiguration;
-import org.uiflow.propertyeditor.ui.editors.bean.BeanEditorConfiguration;
-import org.uiflow.propertyeditor.ui.editors.bean.LabelLocation;
+import org.uiflow.propertyeditor.model.bean.Bean;
+import org.uiflow.propertyeditor.model.bean.Property;
+import org.uiflow.propertyeditor.model.bean.PropertyDirection;
+import org.uiflow.propertyeditor.model.bean.dynamic.DynamicBean;
 import org.uiflow.propertyeditor.ui.editors.number.NumberEditorConfiguration;
 import org.uiflow.propertyeditor.ui.editors.text.TextEditorConfiguration;
 import org.uiflow.utils.colorfunction.ColorFunction;
 
-import java.util.*;
+import java.util.Collection;
 
 /**
- * Simple implementation of Bean that allows properties to be added and removed on the fly.
+ * DynamicBean with methods for adding properties with specific editor configurations,
+ * such as allowed ranges for numbers or the number of rows for text.
  */
-public class DynamicBean extends BeanBase implements MutableBean {
+public class EditableBean extends DynamicBean {
 
-    private String name;
-    private final List<Property> properties = new ArrayList<Property>();
-
-    private transient List<Property> readOnlyProperties;
-
-    public DynamicBean() {
+    public EditableBean() {
         this(null);
     }
 
@@ -28,65 +24,16 @@ public class DynamicBean extends BeanBase implements MutableBean {
      * @param name user readable name for the bean.
      * @param initialProperties zero or more initial properties of the bean.
      */
-    public DynamicBean(String name, Property ... initialProperties) {
-        this(name, initialProperties.length == 0 ? null : Arrays.asList(initialProperties));
+    public EditableBean(String name, Property ... initialProperties) {
+        super(name, initialProperties);
     }
 
     /**
      * @param name user readable name for the bean.
      * @param initialProperties initial properties of the bean.
      */
-    public DynamicBean(String name, Collection<Property> initialProperties) {
-        setName(name);
-
-        if (initialProperties != null) {
-            for (Property initialProperty : initialProperties) {
-                addProperty(initialProperty);
-            }
-        }
-    }
-
-    @Override public String getName() {
-        return name;
-    }
-
-    /**
-     * Set the user readable name of this bean.
-     */
-    public void setName(String name) {
-        if (this.name != name) {
-            this.name = name;
-            notifyBeanNameChanged();
-        }
-    }
-
-    @Override public List<Property> getProperties() {
-        if (readOnlyProperties == null) {
-            readOnlyProperties = Collections.unmodifiableList(properties);
-        }
-
-        return readOnlyProperties;
-    }
-
-    /**
-     * Adds a new bean type property to this bean.
-     *
-     * @param name name of the property
-     * @return the added property
-     */
-    public Property addBean(String name) {
-        return addBean(name, null);
-    }
-
-    /**
-     * Adds a new bean type property to this bean.
-     *
-     * @param name name of the property
-     * @param value initial value for the property
-     * @return the added property
-     */
-    public Property addBean(String name, Bean value) {
-        return addBean(name, value, LabelLocation.LEFT);
+    public EditableBean(String name, Collection<Property> initialProperties) {
+        super(name, initialProperties);
     }
 
     /**
@@ -114,27 +61,6 @@ public class DynamicBean extends BeanBase implements MutableBean {
         return addProperty(name, Bean.class, value, new BeanEditorConfiguration(labelLocation), direction);
     }
 
-    /**
-     * Adds a new string type property to this bean.
-     *
-     * @param name name of the property
-     * @return the added property
-     */
-    public Property addString(String name) {
-        return addString(name, "");
-    }
-
-    /**
-     * Adds a new string type property to this bean.
-     *
-     * @param name name of the property
-     * @param value initial value for the property
-     * @return the added property
-     */
-    public Property addString(String name, String value) {
-        return addProperty(name, String.class, value, new TextEditorConfiguration(), PropertyDirection.INOUT);
-    }
-
     /**
      * Adds a new string type property to this bean.
      *
@@ -160,43 +86,6 @@ public class DynamicBean extends BeanBase implements MutableBean {
         return addProperty(name, String.class, value, new TextEditorConfiguration(rows), direction);
     }
 
-    /**
-     * Adds a new double type property to this bean.
-     *
-     * @param name name of the property
-     * @return the added property
-     */
-    public Property addDouble(String name) {
-        return addDouble(name, 0, PropertyDirection.INOUT);
-    }
-
-    /**
-     * Adds a new double type property to this bean.
-     *
-     * @param name name of the property
-     * @param value initial value for the property
-     * @return the added property
-     */
-    public Property addDouble(String name, double value) {
-        return addProperty(name,
-                           Double.class,
-                           value,
-                           new NumberEditorConfiguration(Double.class),
-                           PropertyDirection.INOUT);
-    }
-
-    /**
-     * Adds a new double type property to this bean.
-     *
-     * @param name name of the property
-     * @param value initial value for the property
-     * @param direction whether this is an input or output property.
-     * @return the added property
-     */
-    public Property addDouble(String name, double value, final PropertyDirection direction) {
-        return addProperty(name, Double.class, value, new NumberEditorConfiguration(Double.class), direction);
-    }
-
     /**
      * Adds a new double type property to this bean.
      *
@@ -353,7 +242,6 @@ public class DynamicBean extends BeanBase implements MutableBean {
                            PropertyDirection.INOUT);
     }
 
-
     /**
      * Adds a new double type property to this bean.
      *
@@ -432,40 +320,6 @@ public class DynamicBean extends BeanBase implements MutableBean {
         );
     }
 
-    /**
-     * Adds a new float type property to this bean.
-     *
-     * @param name name of the property
-     * @return the added property
-     */
-    public Property addFloat(String name) {
-        return addFloat(name, 0);
-    }
-
-    /**
-     * Adds a new float type property to this bean.
-     *
-     * @param name name of the property
-     * @param value initial value for the property
-     * @return the added property
-     */
-    public Property addFloat(String name, float value) {
-        return addProperty(name, Float.class, value, new NumberEditorConfiguration(Float.class), PropertyDirection.INOUT);
-    }
-
-    /**
-     * Adds a new float type property to this bean.
-     *
-     * @param name name of the property
-     * @param value initial value for the property
-     * @param direction
-     * @return the added property
-     */
-    public Property addFloat(String name, float value, final PropertyDirection direction) {
-        return addProperty(name, Float.class, value, new NumberEditorConfiguration(Float.class), direction);
-    }
-
-
     /**
      * Adds a new float type property to this bean.
      *
@@ -605,27 +459,6 @@ public class DynamicBean extends BeanBase implements MutableBean {
                            direction);
     }
 
-    /**
-     * Adds a new integer type property to this bean.
-     *
-     * @param name name of the property
-     * @return the added property
-     */
-    public Property addInt(String name) {
-        return addInt(name, 0);
-    }
-
-    /**
-     * Adds a new integer type property to this bean.
-     *
-     * @param name name of the property
-     * @param value initial value for the property
-     * @return the added property
-     */
-    public Property addInt(String name, int value) {
-        return addProperty(name, Integer.class, value, new NumberEditorConfiguration(Integer.class), PropertyDirection.INOUT);
-    }
-
     /**
      * Adds a new integer type property to this bean.
      *
@@ -677,101 +510,7 @@ public class DynamicBean extends BeanBase implements MutableBean {
         return addProperty(name, Integer.class, value, new NumberEditorConfiguration(Integer.class, min, max, enforceRange, logarithmic),
                            direction);
     }
-
-    /**
-     * Adds a new property to this bean, with an initial value or null.
-     * @param name name of the property
-     * @param editorConfiguration editor configuration for the property
-     * @param direction whether this is an input or output property.
-     * @return the added property
-     */
-    public Property addProperty(String name,
-                                Class type,
-                                EditorConfiguration editorConfiguration,
-                                final PropertyDirection direction) {
-        return addProperty(name, type, null, editorConfiguration, direction);
-    }
-
-    /**
-     * Adds a new property to this bean.
-     * @param name name of the property
-     * @param value initial value for the property
-     * @param editorConfiguration editor configuration for the property
-     * @param direction whether this is an input or output property.
-     * @return the added property
-     */
-    public Property addProperty(String name,
-                                Class type,
-                                Object value,
-                                EditorConfiguration editorConfiguration,
-                                final PropertyDirection direction) {
-        final DynamicProperty property = new DynamicProperty(name, type, editorConfiguration, value, direction);
-        addProperty(property);
-        return property;
-    }
-
-    /**
-     * Adds a new property to this bean.
-     */
-    public Property addProperty(Property property) {
-        if (property == null) throw new IllegalArgumentException("The property can not be null");
-        if (properties.contains(property)) throw new IllegalArgumentException("The properties already contain the property" + property);
-
-        property.setBean(this);
-
-        property.addListener(getPropertyListener());
-
-        properties.add(property);
-
-        notifyPropertyAdded(property);
-
-        return property;
-    }
-
-    /**
-     * Removes a property from this bean.
-     */
-    public void removeProperty(Property property) {
-        if (property == null) throw new IllegalArgumentException("The property can not be null");
-        if (!properties.contains(property)) throw new IllegalArgumentException("The properties do not contain the property" + property);
-
-        property.removeListener(getPropertyListener());
-
-        properties.remove(property);
-
-        notifyPropertyRemoved(property);
-    }
-
-    @Override public Property getProperty(String propertyName) {
-        if (propertyName == null) return null;
-
-        for (Property property : properties) {
-            if (propertyName.equals(property.getName())) {
-                return property;
-            }
-        }
-
-        return null;
-    }
-
-    @Override public String toString() {
-        return getName();
-    }
-
-    @Override
-    protected Bean createCopiedInstance() {
-        // Create empty copy
-        DynamicBean copy = new DynamicBean(getName());
-
-        // Copy properties
-        for (Property property : properties) {
-            copy.addProperty(property.getName(),
-                             property.getType(),
-                             property.get(),
-                             property.getEditorConfiguration(),
-                             property.getDirection());
-        }
-
-        return copy;
+    @Override protected DynamicBean createEmptyCopy() {
+        return new EditableBean(getName());
     }
 }
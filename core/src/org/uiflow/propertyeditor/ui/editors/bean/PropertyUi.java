@@ -1,24 +1,37 @@
 package org.uiflow.propertyeditor.ui.editors.bean;
 
+import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.ui.*;
 import com.badlogic.gdx.scenes.scene2d.utils.Drawable;
 import com.badlogic.gdx.utils.Scaling;
 import org.uiflow.UiContext;
 import org.uiflow.propertyeditor.model.bean.Bean;
+import org.uiflow.propertyeditor.model.bean.NumberProperty;
+import org.uiflow.propertyeditor.model.bean.NumberPropertyListener;
 import org.uiflow.propertyeditor.model.bean.Property;
 import org.uiflow.propertyeditor.model.bean.PropertyDirection;
-import org.uiflow.propertyeditor.model.bean.PropertyListener;
+import org.uiflow.propertyeditor.model.bean.PropertyEditorConfiguration;
 import org.uiflow.propertyeditor.ui.editors.Editor;
+import org.uiflow.propertyeditor.ui.editors.EditorConfiguration;
 import org.uiflow.propertyeditor.ui.editors.EditorListener;
+import org.uiflow.propertyeditor.ui.editors.number.NumberEditor;
+import org.uiflow.propertyeditor.ui.editors.number.NumberEditorConfiguration;
+import org.uiflow.propertyeditor.ui.editors.number.NumberEditorListener;
+import org.uiflow.propertyeditor.ui.editors.text.TextEditorConfiguration;
 import org.uiflow.widgets.FlowWidgetBase;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Helper class for handling the edition of one property
  */
 // TODO: Keep track of output connections from a connector, so that we can change its type depending on if it is connected or not.
 public class PropertyUi extends FlowWidgetBase {
 
+    private static final Map<Class, NumberEditorConfiguration> DEFAULT_NUMBER_CONFIGURATIONS = new HashMap<Class, NumberEditorConfiguration>();
+
     private Property property;
     private final boolean showConnectors;
     private final boolean mirrorDirections;
@@ -41,14 +54,30 @@ public class PropertyUi extends FlowWidgetBase {
             }
         }
     };
-    private final PropertyListener propertyListener = new PropertyListener() {
-        @Override public void onValueChanged(Bean bean, Property property, Object oldValue, Object newValue) {
-            if (editor != null) {
-                editor.setValue(property.get());
+    private final NumberEditorListener numberEditorListener = new NumberEditorListener() {
+        @Override public void onNumberEdited(NumberEditor editor, double currentValue) {
+            if (property instanceof NumberProperty) {
+                ((NumberProperty) property).setDouble(currentValue);
             }
         }
+    };
+    private final NumberPropertyListener propertyListener = new NumberPropertyListener() {
+        @Override public void onValueChanged(Bean bean, Property property, Object oldValue, Object newValue) {
+            requestEditedValueUpdate();
+        }
+
+        @Override public void onNumberValueChanged(Bean bean, Property property, double oldValue, double newValue) {
+            requestEditedValueUpdate();
+        }
 
         @Override public void onValueEditorChanged(Bean bean, Property property) {
+            // The configuration may have changed in place, so do not reuse editors built from it
+            if (editor != null) {
+                final EditorConfiguration configuration = (EditorConfiguration) editor.getConfiguration();
+                releaseEditor(false);
+                if (isUiCreated()) getUiContext().getEditorPool().discard(configuration);
+            }
+
             buildValueEditor();
             updateUi();
         }
@@ -110,6 +139,13 @@ public class PropertyUi extends FlowWidgetBase {
         return property;
     }
 
+    /**
+     * @return relative location of the label.
+     */
+    public final LabelLocation getLabelLocation() {
+        return labelLocation;
+    }
+
     public boolean isShowConnectors() {
         return showConnectors;
     }
@@ -130,6 +166,11 @@ public class PropertyUi extends FlowWidgetBase {
                 this.property.addListener(propertyListener);
             }
 
+            if (isUiCreated()) {
+                buildValueEditor();
+                updateConnectorColors();
+            }
+
             updateUi();
         }
     }
@@ -189,35 +230,87 @@ public class PropertyUi extends FlowWidgetBase {
         connector.getImage().setScaling(Scaling.fill);
 
         // Color connector according to property type
-        connector.setColor(uiContext.getTypeColor(property.getType()));
+        connector.setColor(uiContext.getTypeColor(getPropertyType()));
 
         return connector;
     }
 
+    private void updateConnectorColors() {
+        if (showConnectors) {
+            final Color typeColor = getUiContext().getTypeColor(getPropertyType());
+            inputConnector.setColor(typeColor);
+            outputConnector.setColor(typeColor);
+        }
+    }
+
+    private Class getPropertyType() {
+        return property != null ? property.getType() : null;
+    }
+
     private void buildValueEditor() {
-        // Remove old if present
+        final EditorConfiguration configuration = property != null ? getEditorConfiguration(property) : null;
+
+        // Keep the current editor if it is built from the same configuration
+        if (editor != null && configuration != null && editor.getConfiguration() == configuration) {
+            addEditorListener();
+            return;
+        }
+
+        // Release old if present
         boolean wasEditorVisible = editorVisible;
-        if (editor != null && editor.isUiCreated()) {
-            editor.removeListener(editorListener);
-            setEditorVisible(false);
-            editor.dispose();
+        releaseEditor(true);
+
+        if (configuration != null) {
+            // Reuse a pooled editor if available, otherwise create one
+            if (isUiCreated()) {
+                editor = getUiContext().getEditorPool().obtain(configuration);
+            }
+            else {
+                editor = configuration.createEditor();
+            }
+
+            addEditorListener();
+            setEditorVisible(wasEditorVisible);
         }
 
-        if (property == null) {
-            editor = null;
+    }
+
+    /**
+     * Listens to edits in the editor, in the way suitable for the current property.
+     */
+    private void addEditorListener() {
+        removeEditorListener();
+        if (isPrimitiveNumberEditor()) {
+            // Edit number properties without boxing the values
+            ((NumberEditor) editor).addNumberListener(numberEditorListener);
         }
         else {
-            // Create instance
-            try {
-                editor = property.getEditorConfiguration().createEditor();
-            } catch (Exception e) {
-                throw new IllegalStateException("Could not create editor for property " + property, e);
-            }
-
             editor.addListener(editorListener);
-            setEditorVisible(wasEditorVisible);
         }
+    }
 
+    private void removeEditorListener() {
+        editor.removeListener(editorListener);
+        if (editor instanceof NumberEditor) ((NumberEditor) editor).removeNumberListener(numberEditorListener);
+    }
+
+    /**
+     * Removes the current editor, if any.
+     * @param reuse if true, the editor is released to the editor pool of the UiContext for reuse, otherwise it is disposed.
+     */
+    private void releaseEditor(boolean reuse) {
+        if (editor != null) {
+            removeEditorListener();
+            setEditorVisible(false);
+
+            if (reuse && isUiCreated()) {
+                getUiContext().getEditorPool().free(editor);
+            }
+            else {
+                editor.dispose();
+            }
+            editor = null;
+        }
     }
 
     private void updateUi() {
@@ -233,7 +326,7 @@ public class PropertyUi extends FlowWidgetBase {
 
             // Update edited value
             if (property != null && editor != null) {
-                editor.setValue(property.get());
+                updateEditedValue();
                 editor.setEnabled(!disabled && !hasSource());
             }
 
@@ -261,6 +354,40 @@ public class PropertyUi extends FlowWidgetBase {
         }
     }
 
+    /**
+     * Updates the edited value before the next frame is drawn, so that many changes within a frame update the editor once.
+     */
+    private void requestEditedValueUpdate() {
+        if (isUiCreated()) {
+            getUiContext().getChangeCollector().markDirty(this);
+        }
+        else {
+            updateEditedValue();
+        }
+    }
+
+    @Override public void updateDirtyUi() {
+        if (property != null) {
+            updateEditedValue();
+        }
+    }
+
+    private void updateEditedValue() {
+        if (editor != null) {
+            if (isPrimitiveNumberEditor()) {
+                ((NumberEditor) editor).setNumber(((NumberProperty) property).getDouble());
+            }
+            else {
+                editor.setValue(property.get());
+            }
+        }
+    }
+
+    private boolean isPrimitiveNumberEditor() {
+        return editor instanceof NumberEditor &&
+               property instanceof NumberProperty;
+    }
+
     private boolean shouldEditorBeVisible() {
         boolean hideEditor = (hideEditorWhenSourceUsed && hasSource()) ||
                              (hideEditorWhenNoInput && property != null && !isMirrorDirections() && !getProperty().getDirection().isInput());
@@ -302,4 +429,44 @@ public class PropertyUi extends FlowWidgetBase {
         this.disabled = disabled;
         updateUi();
     }
+
+    /**
+     * Stops listening to the property, and releases the value editor for reuse.
+     */
+    @Override public void dispose() {
+        if (property != null) {
+            property.removeListener(propertyListener);
+            property = null;
+        }
+        releaseEditor(true);
+    }
+
+    /**
+     * @return the editor configuration of the property, or the default configuration for the type of the property
+     *         if the property has no editor configuration for this user interface.
+     */
+    private EditorConfiguration getEditorConfiguration(Property property) {
+        final PropertyEditorConfiguration editorConfiguration = property.getEditorConfiguration();
+        if (editorConfiguration instanceof EditorConfiguration) return (EditorConfiguration) editorConfiguration;
+
+        final Class type = property.getType();
+        if (type == Double.class) return NumberEditorConfiguration.DOUBLE_DEFAULT;
+        else if (type == Integer.class) return NumberEditorConfiguration.INTEGER_DEFAULT;
+        else if (type != null && Number.class.isAssignableFrom(type)) return getDefaultNumberConfiguration(type);
+        else if (type != null && Bean.class.isAssignableFrom(type)) return BeanEditorConfiguration.DEFAULT;
+        else if (type == String.class) return TextEditorConfiguration.DEFAULT;
+        else throw new IllegalStateException("No editor configuration available for the property " + property + " of type " + type);
+    }
+
+    /**
+     * @return shared default configuration for the specified number type, so that editors for it can be reused.
+     */
+    private static NumberEditorConfiguration getDefaultNumberConfiguration(Class<? extends Number> type) {
+        NumberEditorConfiguration configuration = DEFAULT_NUMBER_CONFIGURATIONS.get(type);
+        if (configuration == null) {
+            configuration = new NumberEditorConfiguration(type);
+            DEFAULT_NUMBER_CONFIGURATIONS.put(type, configuration);
+        }
+        return configuration;
+    }
 }
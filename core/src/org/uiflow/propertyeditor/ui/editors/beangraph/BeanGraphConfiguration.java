@@ -3,13 +3,25 @@ package org.uiflow.propertyeditor.ui.editors.beangraph;
 import org.uiflow.propertyeditor.ui.editors.Editor;
 import org.uiflow.propertyeditor.ui.editors.EditorConfiguration;
 import org.uiflow.propertyeditor.ui.editors.EditorConfigurationBase;
+import org.uiflow.propertyeditor.ui.editors.bean.DetailLevel;
+import org.uiflow.utils.Check;
 
 /**
  *
  */
 public class BeanGraphConfiguration extends EditorConfigurationBase {
 
+    private static final float DEFAULT_VISIBILITY_MARGIN = 0.5f;
+    private static final int DEFAULT_MAX_LIVE_BEAN_EDITORS = 200;
+    private static final float DEFAULT_SIMPLIFIED_ZOOM = 0.5f;
+    private static final float DEFAULT_OVERVIEW_ZOOM = 0.25f;
+
     private boolean hideEditorWhenSourceUsed;
+    private float visibilityMargin = DEFAULT_VISIBILITY_MARGIN;
+    private int maxLiveBeanEditors = DEFAULT_MAX_LIVE_BEAN_EDITORS;
+    private ConnectionRendering connectionRendering = ConnectionRendering.SPRITES;
+    private float simplifiedZoom = DEFAULT_SIMPLIFIED_ZOOM;
+    private float overviewZoom = DEFAULT_OVERVIEW_ZOOM;
 
     public BeanGraphConfiguration() {
         this(true);
@@ -19,7 +31,7 @@ public class BeanGraphConfiguration extends EditorConfigurationBase {
      * @param hideEditorWhenSourceUsed if true, the editor will be hidden if a value is provided to a property by a source.
      */
     public BeanGraphConfiguration(boolean hideEditorWhenSourceUsed) {
-        super(BeanGraphEditor.class);
+        super(BeanGraphEditor.FACTORY);
         this.hideEditorWhenSourceUsed = hideEditorWhenSourceUsed;
     }
 
@@ -34,4 +46,94 @@ public class BeanGraphConfiguration extends EditorConfigurationBase {
     public void setHideEditorWhenSourceUsed(boolean hideEditorWhenSourceUsed) {
         this.hideEditorWhenSourceUsed = hideEditorWhenSourceUsed;
     }
+
+    /**
+     * @return margin around the visible work area within which beans get editors,
+     *         relative to the size of the work area.
+     */
+    public float getVisibilityMargin() {
+        return visibilityMargin;
+    }
+
+    /**
+     * @param visibilityMargin margin around the visible work area within which beans get editors,
+     *                         relative to the size of the work area.
+     *                         A larger margin creates editors earlier when panning, at the cost of more live editors.
+     */
+    public void setVisibilityMargin(float visibilityMargin) {
+        Check.positiveOrZero(visibilityMargin, "visibilityMargin");
+        this.visibilityMargin = visibilityMargin;
+    }
+
+    /**
+     * @return maximum number of beans that have editors at the same time.
+     */
+    public int getMaxLiveBeanEditors() {
+        return maxLiveBeanEditors;
+    }
+
+    /**
+     * @param maxLiveBeanEditors maximum number of beans that have editors at the same time.
+     *                           If more beans are visible, the ones closest to the center of the view get editors,
+     *                           and the rest are shown as placeholders.
+     */
+    public void setMaxLiveBeanEditors(int maxLiveBeanEditors) {
+        Check.positive(maxLiveBeanEditors, "maxLiveBeanEditors");
+        this.maxLiveBeanEditors = maxLiveBeanEditors;
+    }
+
+    /**
+     * @return the way the curves of the connections are drawn.
+     */
+    public ConnectionRendering getConnectionRendering() {
+        return connectionRendering;
+    }
+
+    /**
+     * @param connectionRendering the way the curves of the connections are drawn.
+     *                            Takes effect when the editor UI is created.
+     */
+    public void setConnectionRendering(ConnectionRendering connectionRendering) {
+        Check.notNull(connectionRendering, "connectionRendering");
+        this.connectionRendering = connectionRendering;
+    }
+
+    /**
+     * @return zoom level below which bean editors and connections are simplified.
+     */
+    public float getSimplifiedZoom() {
+        return simplifiedZoom;
+    }
+
+    /**
+     * @param simplifiedZoom zoom level below which bean editors and connections are simplified.
+     */
+    public void setSimplifiedZoom(float simplifiedZoom) {
+        Check.positiveOrZero(simplifiedZoom, "simplifiedZoom");
+        this.simplifiedZoom = simplifiedZoom;
+    }
+
+    /**
+     * @return zoom level below which beans are drawn as rectangles and connections as lines, without editors.
+     */
+    public float getOverviewZoom() {
+        return overviewZoom;
+    }
+
+    /**
+     * @param overviewZoom zoom level below which beans are drawn as rectangles and connections as lines, without editors.
+     */
+    public void setOverviewZoom(float overviewZoom) {
+        Check.positiveOrZero(overviewZoom, "overviewZoom");
+        this.overviewZoom = overviewZoom;
+    }
+
+    /**
+     * @return the amount of detail to show at the specified zoom level.
+     */
+    public DetailLevel getDetailLevel(float zoom) {
+        if (zoom < overviewZoom) return DetailLevel.OVERVIEW;
+        else if (zoom < simplifiedZoom) return DetailLevel.SIMPLIFIED;
+        else return DetailLevel.FULL;
+    }
 }
@@ -2,22 +2,31 @@ package org.uiflow.propertyeditor.ui.editors.beangraph;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.Group;
 import com.badlogic.gdx.scenes.scene2d.InputEvent;
 import com.badlogic.gdx.scenes.scene2d.InputListener;
 import com.badlogic.gdx.scenes.scene2d.Touchable;
 import com.badlogic.gdx.scenes.scene2d.ui.Container;
 import com.badlogic.gdx.scenes.scene2d.ui.Table;
+import com.badlogic.gdx.scenes.scene2d.utils.Drawable;
 import com.badlogic.gdx.utils.Array;
 import org.uiflow.UiContext;
+import org.uiflow.propertyeditor.model.Position;
+import org.uiflow.propertyeditor.model.Rectangle;
 import org.uiflow.propertyeditor.model.bean.*;
 import org.uiflow.propertyeditor.model.beangraph.BeanGraph;
 import org.uiflow.propertyeditor.model.beangraph.BeanGraphListener;
 import org.uiflow.propertyeditor.ui.DefaultBeanDropTarget;
 import org.uiflow.propertyeditor.ui.editors.EditorBase;
+import org.uiflow.propertyeditor.ui.editors.EditorFactory;
 import org.uiflow.propertyeditor.ui.editors.bean.BeanEditor;
 import org.uiflow.propertyeditor.ui.editors.bean.ConnectorButton;
+import org.uiflow.propertyeditor.ui.editors.bean.DetailLevel;
 import org.uiflow.propertyeditor.ui.editors.bean.LabelLocation;
 import org.uiflow.propertyeditor.ui.editors.bean.PropertyUi;
 import org.uiflow.utils.Check;
@@ -58,6 +67,15 @@ import java.util.*;
 // TODO: Some kind of procedural generator example.
 public class BeanGraphEditor extends EditorBase<BeanGraph, BeanGraphConfiguration> {
 
+    /**
+     * Creates BeanGraphEditors for BeanGraphConfigurations.
+     */
+    public static final EditorFactory<BeanGraphEditor> FACTORY = new EditorFactory<BeanGraphEditor>() {
+        @Override public BeanGraphEditor createEditor() {
+            return new BeanGraphEditor();
+        }
+    };
+
     private static final String EDITOR_BACKGROUND = "frame";
 
     private static final int DRAG_BUTTON = Input.Buttons.LEFT;
@@ -70,13 +88,47 @@ public class BeanGraphEditor extends EditorBase<BeanGraph, BeanGraphConfiguratio
     private static final int SELECTION_TOGGLE_KEY_1 = Input.Keys.CONTROL_LEFT;
     private static final int SELECTION_TOGGLE_KEY_2 = Input.Keys.CONTROL_RIGHT;
 
+    private static final int MAX_POOLED_BEAN_EDITORS = 64;
+    private static final float DEFAULT_BEAN_WIDTH = 200;
+    private static final float DEFAULT_BEAN_HEIGHT = 100;
+    private static final String PLACEHOLDER_BACKGROUND = "window_titled";
+    private static final float PLACEHOLDER_ALPHA = 0.6f;
+    private static final String OVERVIEW_IMAGE = "white";
+    private static final float OVERVIEW_BEAN_ALPHA = 0.8f;
+    private static final float OVERVIEW_LINE_ALPHA = 0.5f;
+    private static final float OVERVIEW_LINE_WIDTH = 2f;
+    private static final Color OVERVIEW_BEAN_COLOR = new Color(0.5f, 0.5f, 0.5f, 1f);
+
     private Table workArea;
-    private Table connectionLayer;
+    private Group contentLayer;
+    private Group connectionLayer;
+    private float contentScale;
+    private final Vector2 visibleBeansViewPan = new Vector2();
     private final Map<Container<Actor>, Bean> containersToBeans = new HashMap<Container<Actor>, Bean>();
     private final Map<Bean, Container<Actor>> beansToContainers = new HashMap<Bean, Container<Actor>>();
 
     private final Map<Bean, BeanEditor> beanEditors = new HashMap<Bean, BeanEditor>();
-    private final List<Connection> connections = new ArrayList<Connection>();
+    private final ConnectionRegistry connections = new ConnectionRegistry();
+    private final List<Connection> tempConnections = new ArrayList<Connection>();
+
+    // Editors for beans outside the view are recycled for beans that come into view
+    private final List<BeanEditor> beanEditorPool = new ArrayList<BeanEditor>();
+    private final Map<Bean, Vector2> beanSizes = new HashMap<Bean, Vector2>();
+    private final Array<VisibleBean> visibleBeans = new Array<VisibleBean>();
+    private final Array<VisibleBean> unusedVisibleBeans = new Array<VisibleBean>();
+    private final Set<Bean> beansToShow = new HashSet<Bean>();
+    private final List<Bean> beansToHide = new ArrayList<Bean>();
+    private final Array<Bean> placeholderBeans = new Array<Bean>();
+    private final List<Bean> beansInVisibleArea = new ArrayList<Bean>();
+    private final Rectangle visibleArea = new Rectangle();
+    private final Vector2 largestBeanSize = new Vector2(DEFAULT_BEAN_WIDTH, DEFAULT_BEAN_HEIGHT);
+    private final Position tempGraphPos = new Position();
+    private final Vector2 tempViewPos = new Vector2();
+    private final Vector2 tempZoomOrigin = new Vector2();
+    private final Vector2 tempBeanSize = new Vector2();
+    private Actor placeholderLayer;
+    private ConnectionMesh connectionMesh;
+    private DetailLevel detailLevel = DetailLevel.FULL;
 
     private Bean draggedBean;
     private final Vector2 dragOffset = new Vector2();
@@ -89,15 +141,15 @@ public class BeanGraphEditor extends EditorBase<BeanGraph, BeanGraphConfiguratio
 
 
     private final BeanGraphListener graphListener = new BeanGraphListener() {
-        @Override public void onBeanAdded(BeanGraph beanGraph, Bean bean, Vector2 position) {
-            addBean(bean, position, false, null);
+        @Override public void onBeanAdded(BeanGraph beanGraph, Bean bean, Position position) {
+            addBean(bean, position);
         }
 
-        @Override public void onBeanMoved(BeanGraph beanGraph, Bean bean, Vector2 position) {
+        @Override public void onBeanMoved(BeanGraph beanGraph, Bean bean, Position position) {
             moveBean(bean, position);
         }
 
-        @Override public void onBeanRemoved(BeanGraph beanGraph, Bean bean, Vector2 position) {
+        @Override public void onBeanRemoved(BeanGraph beanGraph, Bean bean, Position position) {
             removeBean(bean, position);
         }
     };
@@ -135,14 +187,13 @@ public class BeanGraphEditor extends EditorBase<BeanGraph, BeanGraphConfiguratio
         @Override public boolean touchDown(InputEvent event, float x, float y, int pointer, int button) {
             if (!event.isHandled() && button == DRAG_BUTTON) {
                 // Find touched bean
-                final Actor beanContainer = getChildAt(BeanGraphEditor.this.workArea, event, false);
+                final Actor beanContainer = getChildAt(contentLayer, event, false);
                 if (beanContainer instanceof Container) {
                     final Bean bean = containersToBeans.get(beanContainer);
                     if (bean != null) {
                         // Start drag
                         draggedBean = bean;
-                        dragOffset.set(beanContainer.getCenterX() - x,
-                                       beanContainer.getCenterY() - y);
+                        setDragOffset(bean, x, y);
                         setBeanPos(x, y);
 
                         // Handle selection
@@ -160,6 +211,27 @@ public class BeanGraphEditor extends EditorBase<BeanGraph, BeanGraphConfiguratio
                     }
                 }
 
+                // In the overview there are no editors, pick the bean under the pointer from the graph
+                if (detailLevel == DetailLevel.OVERVIEW) {
+                    final Bean bean = getOverviewBeanAt(x, y);
+                    if (bean != null) {
+                        // Start drag, and prevent panning
+                        draggedBean = bean;
+                        setDragOffset(bean, x, y);
+                        event.handle();
+
+                        if (isSelectionToggleActive()) {
+                            setBeanSelected(bean, !isSelected(bean));
+                        }
+                        else {
+                            clearSelection();
+                            setBeanSelected(bean, true);
+                        }
+
+                        return true;
+                    }
+                }
+
                 // Unselect all if background is clicked
                 if (event.getTarget() == workArea && hasSelection() && !isSelectionToggleActive()) {
                     clearSelection();
@@ -192,10 +264,17 @@ public class BeanGraphEditor extends EditorBase<BeanGraph, BeanGraphConfiguratio
             }
         }
 
+        private void setDragOffset(Bean bean, float x, float y) {
+            getValue().getBeanPosition(bean, tempGraphPos);
+            tempPos.set(tempGraphPos.x, tempGraphPos.y);
+            graphToWorkAreaCoordinates(tempPos);
+            dragOffset.set(tempPos.x - x, tempPos.y - y);
+        }
+
         private void setBeanPos(float x, float y) {
             tempPos.set(x + dragOffset.x, y + dragOffset.y);
             workAreaToGraphCoordinates(tempPos);
-            getValue().setBeanPosition(draggedBean, tempPos);
+            getValue().setBeanPosition(draggedBean, tempPos.x, tempPos.y);
         }
 
     };
@@ -298,35 +377,47 @@ public class BeanGraphEditor extends EditorBase<BeanGraph, BeanGraphConfiguratio
             @Override public void layout() {
                 super.layout();
 
-                // When table size changed, relayout the contents
-                repositionBeanEditors();
+                // When table size changed, or beans were added or moved, update the visible beans
+                updateVisibleBeans();
             }
         };
         workArea.setClip(true);
 
+        // Draws beans that are visible but do not have editors
+        placeholderLayer = new PlaceholderLayer(uiContext.getSkin().getDrawable(PLACEHOLDER_BACKGROUND),
+                                                uiContext.getSkin().getRegion(OVERVIEW_IMAGE));
+        placeholderLayer.setTouchable(Touchable.disabled);
+        workArea.addActor(placeholderLayer);
+
+        // The bean editors are positioned in unzoomed work area coordinates,
+        // pan and zoom are applied as a transform of the whole layer
+        contentLayer = new Group();
+        contentLayer.setTouchable(Touchable.childrenOnly);
+        workArea.addActor(contentLayer);
+
+        // Connections are drawn in stage coordinates, so they are kept above the transformed layer
+        connectionLayer = new Group();
+        connectionLayer.setTouchable(Touchable.childrenOnly);
+        workArea.addActor(connectionLayer);
+
         updateDropHandler(getValue());
 
         // Receive mouse events for whole area, not just children
         workArea.setTouchable(Touchable.enabled);
 
-        /*
-        connectionLayer = new Table(uiContext.getSkin());
-        connectionLayer.setClip(true);
-
-        // Stack the bean layer and connection layer on top of each other
-        Stack stack = new Stack();
-        stack.add(workArea);
-        stack.add(connectionLayer);
-        table.add(stack).fill().expand();
-        */
-        connectionLayer = workArea;
         table.add(workArea).fill().expand();
 
+        // Draw the curves of all connections at once if configured
+        if (configuration.getConnectionRendering() == ConnectionRendering.MESH) {
+            connectionMesh = new ConnectionMesh(connections.getConnections());
+            connectionLayer.addActor(connectionMesh);
+        }
+
         // Listen to moves
         workArea.addListener(dragAndSelectionListener);
 
         // Listen to connectors
-        connectionLayer.addListener(createConnectionListener());
+        workArea.addListener(createConnectionListener());
 
         // Listen to pan and zoom
         workArea.addListener(new ScrollInputListener() {
@@ -401,18 +492,43 @@ public class BeanGraphEditor extends EditorBase<BeanGraph, BeanGraphConfiguratio
         Check.positive(zoom, "zoom");
 
         // xOrigin and yOrigin should be at the same position after zooming
-        Vector2 pos = new Vector2();
-        pos.set(xOrigin, yOrigin);
-        workAreaToGraphCoordinates(pos);
+        tempZoomOrigin.set(xOrigin, yOrigin);
+        workAreaToGraphCoordinates(tempZoomOrigin);
 
         this.zoom = MathUtils.clamp(zoom, MIN_ZOOM, MAX_ZOOM);
+        updateDetailLevel();
 
-        Vector2 pos2 = new Vector2();
-        pos2.set(xOrigin, yOrigin);
-        workAreaToGraphCoordinates(pos2);
-        viewPan.add(pos2.sub(pos));
+        tempViewPos.set(xOrigin, yOrigin);
+        workAreaToGraphCoordinates(tempViewPos);
+        viewPan.add(tempViewPos.sub(tempZoomOrigin));
 
-        repositionBeanEditors();
+        updateContentTransform();
+        requestVisibleBeansUpdate();
+    }
+
+    /**
+     * @return the amount of detail currently shown, depends on the zoom level.
+     */
+    public DetailLevel getDetailLevel() {
+        return detailLevel;
+    }
+
+    private void updateDetailLevel() {
+        final DetailLevel newDetailLevel = getConfiguration().getDetailLevel(zoom);
+        if (newDetailLevel != detailLevel) {
+            detailLevel = newDetailLevel;
+
+            // The overview has no editors or connections, they are all released by the next visibility update,
+            // so there is no need to rebuild them for the overview first
+            if (detailLevel != DetailLevel.OVERVIEW) {
+                for (BeanEditor beanEditor : beanEditors.values()) {
+                    beanEditor.setDetailLevel(detailLevel);
+                }
+                for (Connection connection : connections.getConnections()) {
+                    connection.setDetailLevel(detailLevel);
+                }
+            }
+        }
     }
 
     public Vector2 getViewCenter() {
@@ -426,7 +542,17 @@ public class BeanGraphEditor extends EditorBase<BeanGraph, BeanGraphConfiguratio
     public void setViewCenter(float x, float y) {
         viewPan.set(x, y);
 
-        repositionBeanEditors();
+        updateContentTransform();
+
+        // The beans within the visibility margin already have editors,
+        // so the visible beans only need to be updated when the view has moved a part of the margin
+        if (isUiCreated()) {
+            final float movedDistance = visibleBeansViewPan.dst(viewPan) * zoom * getContentScale();
+            final float margin = getConfiguration().getVisibilityMargin() * Math.min(workArea.getWidth(), workArea.getHeight());
+            if (movedDistance >= margin * 0.5f) {
+                requestVisibleBeansUpdate();
+            }
+        }
     }
 
     private InputListener createConnectionListener() {
@@ -545,6 +671,7 @@ public class BeanGraphEditor extends EditorBase<BeanGraph, BeanGraphConfiguratio
                     if (draggedConnection.canConnectTo(propertyUi, providedUiIsTarget)) {
                         // Connect
                         draggedConnection.connectTo(propertyUi, providedUiIsTarget);
+                        finishConnection(draggedConnection);
                     }
                     else {
                         // Wasn't acceptable, remove connection
@@ -624,7 +751,8 @@ public class BeanGraphEditor extends EditorBase<BeanGraph, BeanGraphConfiguratio
                 @Override
                 protected void addBean(final Bean bean, final float x, final float y) {
                     tempDropPos.set(x, y);
-                    beanGraph.addBean(bean, workAreaToGraphCoordinates(tempDropPos));
+                    workAreaToGraphCoordinates(tempDropPos);
+                    beanGraph.addBean(bean, tempDropPos.x, tempDropPos.y);
                 }
             });
         }
@@ -632,115 +760,210 @@ public class BeanGraphEditor extends EditorBase<BeanGraph, BeanGraphConfiguratio
 
     private void rebuildGraphUi(BeanGraph beanGraph) {
         // Remove any old bean editors
-        for (Container<Actor> container : containersToBeans.keySet()) {
-            workArea.removeActor(container);
+        for (Bean bean : new ArrayList<Bean>(beanEditors.keySet())) {
+            releaseBeanEditor(bean);
         }
-        for (BeanEditor beanEditor : beanEditors.values()) {
+        for (BeanEditor beanEditor : beanEditorPool) {
             beanEditor.dispose();
         }
-        for (Connection connection : connections) {
+        for (Connection connection : connections.getConnections()) {
             connectionLayer.removeActor(connection);
+            connection.dispose();
         }
-        beansToContainers.clear();
-        containersToBeans.clear();
-        beanEditors.clear();
+        beanEditorPool.clear();
+        beanSizes.clear();
+        placeholderBeans.clear();
         connections.clear();
 
-        // Add editors for beans in bean graph
+        // Add editors for the visible beans in the bean graph
         if (beanGraph != null) {
-            for (Map.Entry<Bean, Vector2> entry : beanGraph.getBeansAndPositions().entrySet()) {
-                // Get bean and position
-                final Bean bean = entry.getKey();
-                final Vector2 position = entry.getValue();
-
-                // Check for interface beans
-                PropertyDirection directionToShow = null;
-                boolean mirrorDirections = false;
-                if (bean == getValue().getInternalInputBean()) {
-                    directionToShow = PropertyDirection.IN;
-                    mirrorDirections = true;
-                }
-                else if (bean == getValue().getInternalOutputBean()) {
-                    directionToShow = PropertyDirection.OUT;
-                    mirrorDirections = true;
-                }
+            updateVisibleBeans();
+        }
+    }
+
+    /**
+     * Creates editors for beans that came into view, recycles the editors of beans that went out of view,
+     * and positions the editors of the visible beans.
+     * Beans whose bounds intersect the work area extended with the visibility margin are considered visible.
+     */
+    private void updateVisibleBeans() {
+        final BeanGraph beanGraph = getValue();
+        if (!isUiCreated() || beanGraph == null) return;
+
+        final float width = workArea.getWidth();
+        final float height = workArea.getHeight();
+        if (width <= 0 || height <= 0) return;
+
+        updateContentTransform();
+        visibleBeansViewPan.set(viewPan);
+
+        // Determine the area within which beans get editors
+        final float margin = getConfiguration().getVisibilityMargin();
+        final float minX = -width * margin;
+        final float minY = -height * margin;
+        final float maxX = width * (1 + margin);
+        final float maxY = height * (1 + margin);
+        final float centerX = width * 0.5f;
+        final float centerY = height * 0.5f;
+
+        // The interface beans and any dragged bean always keep their editors, except in the overview that has no editors
+        final boolean overview = detailLevel == DetailLevel.OVERVIEW;
+        clearVisibleBeans();
+        if (!overview) {
+            addVisibleBean(beanGraph.getInternalInputBean(), -1);
+            addVisibleBean(beanGraph.getInternalOutputBean(), -1);
+            if (draggedBean != null && beanGraph.containsBean(draggedBean)) {
+                addVisibleBean(draggedBean, -1);
+            }
+        }
 
-                // Add bean to UI
-                addBean(bean, position, mirrorDirections, directionToShow);
+        // Get the beans positioned in the area, extended with half the size of the largest beans,
+        // as the editors are centered on the bean positions
+        final float largestHalfWidth = largestBeanSize.x * 0.5f * zoom;
+        final float largestHalfHeight = largestBeanSize.y * 0.5f * zoom;
+        tempViewPos.set(minX - largestHalfWidth, minY - largestHalfHeight);
+        workAreaToGraphCoordinates(tempViewPos);
+        final float graphX1 = tempViewPos.x;
+        final float graphY1 = tempViewPos.y;
+        tempViewPos.set(maxX + largestHalfWidth, maxY + largestHalfHeight);
+        workAreaToGraphCoordinates(tempViewPos);
+        visibleArea.setCorners(graphX1, graphY1, tempViewPos.x, tempViewPos.y);
+        beansInVisibleArea.clear();
+        beanGraph.getBeansIn(visibleArea, beansInVisibleArea);
+
+        // Find visible beans
+        for (Bean bean : beansInVisibleArea) {
+            if (!overview && (isInterfaceBean(bean) || bean == draggedBean)) continue;
+
+            beanGraph.getBeanPosition(bean, tempGraphPos);
+            tempViewPos.set(tempGraphPos.x, tempGraphPos.y);
+            graphToWorkAreaCoordinates(tempViewPos);
+            getBeanSize(bean, tempBeanSize);
+            final float halfWidth = tempBeanSize.x * 0.5f * zoom;
+            final float halfHeight = tempBeanSize.y * 0.5f * zoom;
+
+            if (tempViewPos.x + halfWidth >= minX &&
+                     tempViewPos.x - halfWidth <= maxX &&
+                     tempViewPos.y + halfHeight >= minY &&
+                     tempViewPos.y - halfHeight <= maxY) {
+                addVisibleBean(bean, tempViewPos.dst2(centerX, centerY));
             }
         }
+        beansInVisibleArea.clear();
 
+        // If there are more visible beans than allowed editors, prefer the beans closest to the center of the view
+        final int maxLiveBeanEditors = overview ? 0 : getConfiguration().getMaxLiveBeanEditors();
+        if (!overview && visibleBeans.size > maxLiveBeanEditors) {
+            visibleBeans.sort();
+        }
+
+        beansToShow.clear();
+        placeholderBeans.clear();
+        for (int i = 0; i < visibleBeans.size; i++) {
+            final Bean bean = visibleBeans.get(i).bean;
+            if (i < maxLiveBeanEditors) {
+                beansToShow.add(bean);
+            }
+            else {
+                placeholderBeans.add(bean);
+            }
+        }
+
+        // Recycle editors of beans that are no longer shown
+        beansToHide.clear();
+        for (Bean bean : beanEditors.keySet()) {
+            if (!beansToShow.contains(bean)) {
+                beansToHide.add(bean);
+            }
+        }
+        for (Bean bean : beansToHide) {
+            releaseBeanEditor(bean);
+        }
+        beansToHide.clear();
+
+        // Create editors for beans that came into view
+        for (Bean bean : beansToShow) {
+            if (!beanEditors.containsKey(bean)) {
+                obtainBeanEditor(bean);
+            }
+        }
+        beansToShow.clear();
+    }
+
+    /**
+     * Applies the pan and zoom to the content layer.
+     * The bean editors only need to be repositioned if the size of the work area changed.
+     */
+    private void updateContentTransform() {
+        if (!isUiCreated()) return;
+
+        final float scale = getContentScale();
+        if (scale != contentScale) {
+            contentScale = scale;
+            repositionBeanEditors();
+        }
+
+        contentLayer.setScale(zoom);
+        contentLayer.setPosition(workArea.getWidth() * 0.5f + viewPan.x * zoom * scale,
+                                 workArea.getHeight() * 0.5f + viewPan.y * zoom * scale);
     }
 
     private void repositionBeanEditors() {
-        Vector2 pos = new Vector2();
         final BeanGraph beanGraph = getValue();
         if (isUiCreated() && beanGraph != null) {
             for (Map.Entry<Bean, Container<Actor>> entry : beansToContainers.entrySet()) {
-                final Bean bean = entry.getKey();
-                final Container<Actor> beanEditorUiContainer = entry.getValue();
-
-                beanGraph.getBeanPosition(bean, pos);
-                graphToWorkAreaCoordinates(pos);
-                beanEditorUiContainer.setPosition(pos.x, pos.y);
+                beanGraph.getBeanPosition(entry.getKey(), tempGraphPos);
+                setContentPosition(tempGraphPos, entry.getValue());
             }
         }
     }
 
-    private void addBean(final Bean bean, Vector2 position, boolean mirrorDirections, PropertyDirection directionToShow) {
+    /**
+     * Requests the visible beans to be updated before the next frame is drawn.
+     * Used for changes that may come in large batches, such as added or moved beans.
+     */
+    private void requestVisibleBeansUpdate() {
+        if (isUiCreated()) {
+            workArea.invalidate();
+        }
+    }
+
+    private void addBean(final Bean bean, Position position) {
         Check.notNull(bean, "bean");
         Check.notNull(position, "position");
         Check.notContained(bean, beanEditors.keySet(), "beans");
 
-        if (isUiCreated()) {
-            // Create editor
-            BeanEditor beanEditor = new BeanEditor(LabelLocation.LEFT,
-                                                   true,
-                                                   mirrorDirections,
-                                                   directionToShow,
-                                                   getConfiguration().isHideEditorWhenSourceUsed());
-            beanEditor.setValue(bean);
-            beanEditors.put(bean, beanEditor);
-
-            // Create editor UI
-            final Actor beanEditorUi = beanEditor.getUi(getUiContext());
-            final Container<Actor> beanEditorUiContainer = new Container<Actor>(beanEditorUi);
-            containersToBeans.put(beanEditorUiContainer, bean);
-            beansToContainers.put(bean, beanEditorUiContainer);
-            workArea.addActor(beanEditorUiContainer);
-
-            // Update editor UI position
-            setViewPosition(position, beanEditorUi);
-
-            // Find new connections
-            for (Property target : bean.getProperties()) {
-                addConnection(target);
-            }
-
-            // Listen to connections made and removed
-            bean.addListener(connectionListener);
-        }
+        // The editor is created when the bean is in view
+        requestVisibleBeansUpdate();
     }
 
-    private void moveBean(Bean bean, Vector2 position) {
+    private void moveBean(Bean bean, Position position) {
         Check.notNull(bean, "bean");
         Check.notNull(position, "position");
-        Check.contained(bean, beanEditors.keySet(), "beans");
 
         if (isUiCreated()) {
             // Get editor UI
             final Container<Actor> ui = beansToContainers.get(bean);
-            // (Get rid of occasional artifacts by rounding coordinates to integers)
-            setViewPosition(position, ui);
+            if (ui != null) {
+                // (Get rid of occasional artifacts by rounding coordinates to integers)
+                setContentPosition(position, ui);
 
-            // Lift up bean and any connections connecting to it
-            moveToFront(bean);
+                // Lift up bean and any connections connecting to it
+                moveToFront(bean);
+            }
+
+            // The bean may have moved into or out of view
+            requestVisibleBeansUpdate();
         }
     }
 
-    private void setViewPosition(Vector2 graphPos, Actor ui) {
-        Vector2 viewPos = graphToWorkAreaCoordinates(graphPos.cpy()).sub(ui.getWidth() * 0.5f, ui.getHeight() * 0.5f);
-        ui.setPosition(viewPos.x, viewPos.y);
+    /**
+     * Positions the ui in the content layer, where graph coordinates are only scaled to the work area size.
+     */
+    private void setContentPosition(Position graphPos, Actor ui) {
+        final float scale = getContentScale();
+        ui.setPosition(graphPos.x * scale - ui.getWidth() * 0.5f,
+                       graphPos.y * scale - ui.getHeight() * 0.5f);
     }
 
     /**
@@ -750,46 +973,202 @@ public class BeanGraphEditor extends EditorBase<BeanGraph, BeanGraphConfiguratio
         if (bean != null) {
             // Lift connections
             // (Loop from last to first connections, so that the connections to properties higher up cover the ones below).
-            for (int i = connections.size() - 1; i >= 0; i--) {
-                Connection connection = connections.get(i);
-                if (bean.getProperties().contains(connection.getSourceProperty()) ||
-                    bean.getProperties().contains(connection.getTargetProperty())) {
-                    connection.toFront();
-                }
+            connections.getConnectionsWith(bean, tempConnections);
+            for (int i = tempConnections.size() - 1; i >= 0; i--) {
+                tempConnections.get(i).toFront();
             }
+            tempConnections.clear();
 
             // Lift bean
             final Container<Actor> ui = beansToContainers.get(bean);
             ui.toFront();
+
+            // Keep the connection mesh, if used, above the lifted connections
+            if (connectionMesh != null) {
+                connectionMesh.toFront();
+            }
         }
     }
 
-    private void removeBean(Bean bean, Vector2 position) {
+    private void removeBean(Bean bean, Position position) {
         if (isUiCreated()) {
-            bean.removeListener(connectionListener);
+            if (beanEditors.containsKey(bean)) {
+                releaseBeanEditor(bean);
+            }
+
+            beanSizes.remove(bean);
+            placeholderBeans.removeValue(bean, true);
+            requestVisibleBeansUpdate();
+        }
+    }
+
+    /**
+     * Creates an editor for the specified bean, or reuses a previously released one, and adds it to the work area.
+     */
+    private void obtainBeanEditor(Bean bean) {
+        // Check for interface beans
+        PropertyDirection directionToShow = null;
+        boolean mirrorDirections = false;
+        if (bean == getValue().getInternalInputBean()) {
+            directionToShow = PropertyDirection.IN;
+            mirrorDirections = true;
+        }
+        else if (bean == getValue().getInternalOutputBean()) {
+            directionToShow = PropertyDirection.OUT;
+            mirrorDirections = true;
+        }
+
+        // Reuse a pooled editor if possible, interface beans have their own editor settings
+        final BeanEditor beanEditor;
+        if (!mirrorDirections && !beanEditorPool.isEmpty()) {
+            beanEditor = beanEditorPool.remove(beanEditorPool.size() - 1);
+        }
+        else {
+            beanEditor = new BeanEditor(LabelLocation.LEFT,
+                                        true,
+                                        mirrorDirections,
+                                        directionToShow,
+                                        getConfiguration().isHideEditorWhenSourceUsed());
+        }
+        beanEditor.setValue(bean);
+        beanEditor.setSelected(isSelected(bean));
+        beanEditor.setDetailLevel(detailLevel);
+        beanEditors.put(bean, beanEditor);
+
+        // Create editor UI
+        final Actor beanEditorUi = beanEditor.getUi(getUiContext());
+        final Container<Actor> beanEditorUiContainer = new Container<Actor>(beanEditorUi);
+        containersToBeans.put(beanEditorUiContainer, bean);
+        beansToContainers.put(bean, beanEditorUiContainer);
+        getValue().getBeanPosition(bean, tempGraphPos);
+        setContentPosition(tempGraphPos, beanEditorUiContainer);
+        contentLayer.addActor(beanEditorUiContainer);
+
+        // Find connections to and from beans that have editors
+        for (Property property : bean.getProperties()) {
+            addConnection(property);
+
+            final PropertyUi sourceUi = getPropertyUi(property);
+            for (Property dependent : getValue().getDependents(property)) {
+                // Connections within the bean were already added above
+                if (getEditedBean(dependent) != bean) {
+                    addConnection(sourceUi, getPropertyUi(dependent));
+                }
+            }
+        }
 
-            // Find editor
-            final BeanEditor beanEditor = beanEditors.get(bean);
+        // Listen to connections made and removed
+        bean.addListener(connectionListener);
+    }
+
+    /**
+     * Removes the editor of the specified bean from the work area, and pools it for reuse.
+     */
+    private void releaseBeanEditor(Bean bean) {
+        bean.removeListener(connectionListener);
+
+        // Remember the size of the editor, so that the bounds of the bean are known when it has no editor
+        getBeanSize(bean, tempBeanSize);
+        Vector2 size = beanSizes.get(bean);
+        if (size == null) {
+            size = new Vector2();
+            beanSizes.put(bean, size);
+        }
+        size.set(tempBeanSize);
 
-            if (beanEditor != null) {
-                // Remove bean editor
-                beanEditor.setValue(null);
-                beanEditor.dispose();
-                beanEditors.remove(bean);
+        removeConnectionsWith(bean);
 
-                final Container<Actor> container = beansToContainers.get(bean);
-                beansToContainers.remove(bean);
-                containersToBeans.remove(container);
-                workArea.removeActor(container);
+        final Container<Actor> container = beansToContainers.remove(bean);
+        containersToBeans.remove(container);
+        contentLayer.removeActor(container);
+        container.setActor(null);
 
-                removeConnectionsWith(bean);
+        final BeanEditor beanEditor = beanEditors.remove(bean);
+        beanEditor.setValue(null);
+        beanEditor.setSelected(false);
+        if (!beanEditor.isMirrorDirections() && beanEditorPool.size() < MAX_POOLED_BEAN_EDITORS) {
+            beanEditorPool.add(beanEditor);
+        }
+        else {
+            beanEditor.dispose();
+        }
+    }
+
+    /**
+     * @param sizeOut vector to write the size of the bean in unzoomed work area coordinates to.
+     *                Uses the size of the editor if the bean has one, otherwise the last known or default size.
+     */
+    private void getBeanSize(Bean bean, Vector2 sizeOut) {
+        final Container<Actor> container = beansToContainers.get(bean);
+        if (container != null) {
+            sizeOut.set(container.getPrefWidth(), container.getPrefHeight());
+            largestBeanSize.set(Math.max(largestBeanSize.x, sizeOut.x),
+                                Math.max(largestBeanSize.y, sizeOut.y));
+        }
+        else {
+            final Vector2 size = beanSizes.get(bean);
+            if (size != null) {
+                sizeOut.set(size);
+            }
+            else {
+                sizeOut.set(DEFAULT_BEAN_WIDTH, DEFAULT_BEAN_HEIGHT);
             }
         }
     }
 
+    /**
+     * @return the bean drawn at the specified work area position in the overview, or null if none.
+     */
+    private Bean getOverviewBeanAt(float x, float y) {
+        tempViewPos.set(x, y);
+        workAreaToGraphCoordinates(tempViewPos);
+
+        // Beans are drawn centered on their position, search within half the largest bean size
+        final float maxDistance = 0.5f * Math.max(largestBeanSize.x, largestBeanSize.y) / getContentScale();
+        final Bean bean = getValue().getNearestBean(tempViewPos.x, tempViewPos.y, maxDistance);
+        if (bean != null) {
+            // Check that the point is within the drawn rectangle of the bean
+            getValue().getBeanPosition(bean, tempGraphPos);
+            tempViewPos.set(tempGraphPos.x, tempGraphPos.y);
+            graphToWorkAreaCoordinates(tempViewPos);
+            getBeanSize(bean, tempBeanSize);
+            tempBeanSize.scl(0.5f * zoom);
+            if (Math.abs(x - tempViewPos.x) <= tempBeanSize.x &&
+                Math.abs(y - tempViewPos.y) <= tempBeanSize.y) {
+                return bean;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return number of unzoomed work area units per graph unit.
+     */
+    private float getContentScale() {
+        return 0.5f * Math.max(1, Math.min(workArea.getWidth(), workArea.getHeight()));
+    }
+
+    private boolean isInterfaceBean(Bean bean) {
+        return bean == getValue().getInternalInputBean() ||
+               bean == getValue().getInternalOutputBean();
+    }
+
+    private void clearVisibleBeans() {
+        unusedVisibleBeans.addAll(visibleBeans);
+        visibleBeans.clear();
+    }
+
+    private void addVisibleBean(Bean bean, float distanceSquared) {
+        final VisibleBean visibleBean = unusedVisibleBeans.size > 0 ? unusedVisibleBeans.pop() : new VisibleBean();
+        visibleBean.bean = bean;
+        visibleBean.distanceSquared = distanceSquared;
+        visibleBeans.add(visibleBean);
+    }
 
     private Connection createUnfinishedConnection(PropertyUi source, PropertyUi target) {
-        final Connection connection = new Connection(getUiContext(), source, target);
+        final Connection connection = new Connection(getUiContext(), getValue(), source, target);
+        connection.setCurveDrawn(connectionMesh == null);
+        connection.setDetailLevel(detailLevel);
         connectionLayer.addActor(connection);
         connections.add(connection);
         return connection;
@@ -801,6 +1180,19 @@ public class BeanGraphEditor extends EditorBase<BeanGraph, BeanGraphConfiguratio
         connections.remove(connection);
     }
 
+    /**
+     * Keeps a dragged connection that has been connected, unless a connection was already added for it
+     * when the source of the target property changed.
+     */
+    private void finishConnection(Connection connection) {
+        if (connections.get(connection.getSourceProperty(), connection.getTargetProperty()) != null) {
+            removeUnfinishedConnection(connection);
+        }
+        else {
+            connections.update(connection);
+        }
+    }
+
     private void addConnection(Property target) {
         if (target != null) {
             final Property source = target.getSource();
@@ -814,47 +1206,58 @@ public class BeanGraphEditor extends EditorBase<BeanGraph, BeanGraphConfiguratio
 
     private void addConnection(PropertyUi source, PropertyUi target) {
         if (source != null && target != null) {
-            final Connection connection = new Connection(getUiContext(), source, target);
+            final Connection connection = new Connection(getUiContext(), getValue(), source, target);
+            connection.setCurveDrawn(connectionMesh == null);
+            connection.setDetailLevel(detailLevel);
             connectionLayer.addActor(connection);
             connections.add(connection);
         }
     }
 
     private void removeConnection(Property source, Property target) {
-        for (Iterator<Connection> iterator = connections.iterator(); iterator.hasNext(); ) {
-            Connection connection = iterator.next();
-            if (connection.getSourceProperty() == source &&
-                connection.getTargetProperty() == target) {
-                iterator.remove();
-                connectionLayer.removeActor(connection);
-                connection.dispose();
-            }
-        }
+        removeConnections(connections.getConnections(source, target, tempConnections));
     }
 
     private void removeConnectionsWith(Bean bean) {
-        for (Property property : bean.getProperties()) {
-            removeConnectionsWith(property);
-        }
+        removeConnections(connections.getConnectionsWith(bean, tempConnections));
     }
 
     private void removeConnectionsWith(Property removedProperty) {
         // Remove all connections that connect to the removed property
-        for (Iterator<Connection> iterator = connections.iterator(); iterator.hasNext(); ) {
-            Connection connection = iterator.next();
-            if (connection.getSourceProperty() == removedProperty ||
-                connection.getTargetProperty() == removedProperty) {
-                iterator.remove();
+        removeConnections(connections.getConnectionsWith(removedProperty, tempConnections));
+    }
+
+    private void removeConnections(List<Connection> connectionsToRemove) {
+        for (int i = 0; i < connectionsToRemove.size(); i++) {
+            final Connection connection = connectionsToRemove.get(i);
+            // A connection may be listed twice if it connects two properties of the same bean
+            if (connections.remove(connection)) {
                 connectionLayer.removeActor(connection);
                 connection.dispose();
             }
         }
+        connectionsToRemove.clear();
     }
 
     /**
      * @return the UI for the specified property, if it exists in this BeanGraphEditor.
      */
     private PropertyUi getPropertyUi(Property property) {
+        // Find editor for the bean that the property is shown in
+        final BeanEditor beanEditor = beanEditors.get(getEditedBean(property));
+        if (beanEditor != null) {
+
+            // Find property UI from the editor
+            return beanEditor.getPropertyUi(property);
+        }
+
+        return null;
+    }
+
+    /**
+     * @return the bean in the graph whose editor shows the specified property, or null if none.
+     */
+    private Bean getEditedBean(Property property) {
         // Find bean that the property is in
         if (property != null && property.getBean() != null) {
             Bean bean = property.getBean();
@@ -869,20 +1272,14 @@ public class BeanGraphEditor extends EditorBase<BeanGraph, BeanGraphConfiguratio
                 }
             }
 
-            // Find editor for the bean
-            final BeanEditor beanEditor = beanEditors.get(bean);
-            if (beanEditor != null) {
-
-                // Find property UI from the editor
-                return beanEditor.getPropertyUi(property);
-            }
+            return bean;
         }
 
         return null;
     }
 
     public Vector2 graphToWorkAreaCoordinates(Vector2 graphCoordinates) {
-        float scale = 0.5f * Math.max(1, Math.min(workArea.getWidth(), workArea.getHeight()));
+        float scale = getContentScale();
         graphCoordinates.mulAdd(viewPan, 1)
                 .scl(zoom)
                 .scl(scale)
@@ -895,7 +1292,7 @@ public class BeanGraphEditor extends EditorBase<BeanGraph, BeanGraphConfiguratio
     }
 
     private Vector2 workAreaToGraphCoordinates(Vector2 workAreaCoordinates, Vector2 panning) {
-        float scale = 0.5f * Math.max(1, Math.min(workArea.getWidth(), workArea.getHeight()));
+        float scale = getContentScale();
         workAreaCoordinates.sub(workArea.getWidth() * 0.5f, workArea.getHeight() * 0.5f)
                 .scl(1f / scale)
                 .scl(1f / zoom)
@@ -909,11 +1306,204 @@ public class BeanGraphEditor extends EditorBase<BeanGraph, BeanGraphConfiguratio
     protected void updateValueInUi(BeanGraph value) {
     }
 
+    @Override public void dispose() {
+        if (connectionMesh != null) {
+            connectionMesh.dispose();
+        }
+    }
+
     @Override
     protected void setDisabled(boolean disabled) {
         // TODO: Implement
 
     }
 
+    /**
+     * A bean within the visible area, with its distance from the center of the view.
+     */
+    private static final class VisibleBean implements Comparable<VisibleBean> {
+        Bean bean;
+        float distanceSquared;
+
+        @Override public int compareTo(VisibleBean o) {
+            return Float.compare(distanceSquared, o.distanceSquared);
+        }
+    }
+
+    /**
+     * Draws the visible beans that do not have editors in a single actor.
+     * Normally they are drawn as outlines, in the overview as flat colored rectangles connected by straight lines.
+     * Connections between a bean editor and a bean without an editor are drawn as straight lines, as they have no Connection.
+     */
+    private final class PlaceholderLayer extends Actor {
+        private final Drawable background;
+        private final TextureRegion overviewImage;
+        private final Position graphPos = new Position();
+        private final Vector2 pos = new Vector2();
+        private final Vector2 size = new Vector2();
+        private final Vector2 linePos = new Vector2();
+        private final Color oldColor = new Color();
+        private final Color color = new Color();
+
+        private PlaceholderLayer(Drawable background, TextureRegion overviewImage) {
+            this.background = background;
+            this.overviewImage = overviewImage;
+        }
+
+        @Override public void draw(Batch batch, float parentAlpha) {
+            final BeanGraph beanGraph = getValue();
+            if (beanGraph == null) return;
+
+            oldColor.set(batch.getColor());
+
+            if (detailLevel == DetailLevel.OVERVIEW) {
+                drawOverviewLines(batch, beanGraph, parentAlpha);
+                drawOverviewBeans(batch, beanGraph, parentAlpha);
+            }
+            else {
+                drawStubLines(batch, beanGraph, parentAlpha);
+
+                batch.setColor(1, 1, 1, PLACEHOLDER_ALPHA * parentAlpha);
+                for (int i = 0; i < placeholderBeans.size; i++) {
+                    final Bean bean = placeholderBeans.get(i);
+                    getViewPosition(beanGraph, bean, pos);
+                    getBeanSize(bean, size);
+                    size.scl(zoom);
+                    background.draw(batch,
+                                    getX() + pos.x - size.x * 0.5f,
+                                    getY() + pos.y - size.y * 0.5f,
+                                    size.x,
+                                    size.y);
+                }
+            }
+
+            batch.setColor(oldColor);
+        }
+
+        private void drawOverviewBeans(Batch batch, BeanGraph beanGraph, float parentAlpha) {
+            for (int i = 0; i < placeholderBeans.size; i++) {
+                final Bean bean = placeholderBeans.get(i);
+                getViewPosition(beanGraph, bean, pos);
+                getBeanSize(bean, size);
+                size.scl(zoom);
+
+                // Color by the type of the first property, selected beans in white
+                if (isSelected(bean)) {
+                    color.set(Color.WHITE);
+                }
+                else if (!bean.getProperties().isEmpty()) {
+                    color.set(getUiContext().getTypeColor(bean.getProperties().get(0).getType()));
+                }
+                else {
+                    color.set(OVERVIEW_BEAN_COLOR);
+                }
+                color.a = OVERVIEW_BEAN_ALPHA * parentAlpha;
+                batch.setColor(color);
+
+                batch.draw(overviewImage,
+                           getX() + pos.x - size.x * 0.5f,
+                           getY() + pos.y - size.y * 0.5f,
+                           size.x,
+                           size.y);
+            }
+        }
+
+        private void drawOverviewLines(Batch batch, BeanGraph beanGraph, float parentAlpha) {
+            for (int i = 0; i < placeholderBeans.size; i++) {
+                final Bean bean = placeholderBeans.get(i);
+                getViewPosition(beanGraph, bean, pos);
+
+                for (Property property : bean.getProperties()) {
+                    // Line from the source of each property
+                    final Bean sourceBean = getEditedBean(property.getSource());
+                    if (sourceBean != null && sourceBean != bean && beanGraph.containsBean(sourceBean)) {
+                        getViewPosition(beanGraph, sourceBean, linePos);
+                        drawLine(batch, property, linePos, pos, parentAlpha);
+                    }
+
+                    // Line to dependents that are out of view, the ones in view draw the line to their source
+                    for (Property dependent : beanGraph.getDependents(property)) {
+                        final Bean dependentBean = getEditedBean(dependent);
+                        if (dependentBean != null && dependentBean != bean && beanGraph.containsBean(dependentBean)) {
+                            getViewPosition(beanGraph, dependentBean, linePos);
+                            if (linePos.x < 0 || linePos.y < 0 || linePos.x > workArea.getWidth() || linePos.y > workArea.getHeight()) {
+                                drawLine(batch, property, pos, linePos, parentAlpha);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * Draws lines from the properties of the bean editors to the beans without editors that they connect to.
+         */
+        private void drawStubLines(Batch batch, BeanGraph beanGraph, float parentAlpha) {
+            for (Map.Entry<Bean, BeanEditor> entry : beanEditors.entrySet()) {
+                final Bean bean = entry.getKey();
+                final BeanEditor beanEditor = entry.getValue();
+
+                for (Property property : bean.getProperties()) {
+                    final PropertyUi propertyUi = beanEditor.getPropertyUi(property);
+                    if (propertyUi == null) continue;
+
+                    // Line from a source without an editor
+                    final Bean sourceBean = getEditedBean(property.getSource());
+                    if (sourceBean != null &&
+                        !beanEditors.containsKey(sourceBean) &&
+                        beanGraph.containsBean(sourceBean) &&
+                        getConnectorPosition(propertyUi.getInputConnector(), pos)) {
+                        getViewPosition(beanGraph, sourceBean, linePos);
+                        drawLine(batch, property, linePos, pos, parentAlpha);
+                    }
+
+                    // Lines to dependents without editors
+                    for (Property dependent : beanGraph.getDependents(property)) {
+                        final Bean dependentBean = getEditedBean(dependent);
+                        if (dependentBean != null &&
+                            !beanEditors.containsKey(dependentBean) &&
+                            beanGraph.containsBean(dependentBean) &&
+                            getConnectorPosition(propertyUi.getOutputConnector(), pos)) {
+                            getViewPosition(beanGraph, dependentBean, linePos);
+                            drawLine(batch, property, pos, linePos, parentAlpha);
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * @return false if there is no connector.
+         */
+        private boolean getConnectorPosition(ConnectorButton connector, Vector2 posOut) {
+            if (connector == null) return false;
+
+            posOut.set(connector.getWidth() * 0.5f + connector.getOffsetX(),
+                       connector.getHeight() * 0.5f + connector.getOffsetY());
+            connector.localToAscendantCoordinates(workArea, posOut);
+            return true;
+        }
 
+        private void drawLine(Batch batch, Property property, Vector2 from, Vector2 to, float parentAlpha) {
+            color.set(getUiContext().getTypeColor(property.getType()));
+            color.a = OVERVIEW_LINE_ALPHA * parentAlpha;
+            batch.setColor(color);
+
+            final float dx = to.x - from.x;
+            final float dy = to.y - from.y;
+            batch.draw(overviewImage,
+                       getX() + from.x,
+                       getY() + from.y - OVERVIEW_LINE_WIDTH * 0.5f,
+                       0, OVERVIEW_LINE_WIDTH * 0.5f,
+                       (float) Math.sqrt(dx * dx + dy * dy), OVERVIEW_LINE_WIDTH,
+                       1f, 1f,
+                       (float) Math.toDegrees(Math.atan2(dy, dx)));
+        }
+
+        private void getViewPosition(BeanGraph beanGraph, Bean bean, Vector2 posOut) {
+            beanGraph.getBeanPosition(bean, graphPos);
+            posOut.set(graphPos.x, graphPos.y);
+            graphToWorkAreaCoordinates(posOut);
+        }
+    }
 }
@@ -9,8 +9,10 @@ import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.utils.Drawable;
 import org.uiflow.UiContext;
 import org.uiflow.propertyeditor.model.bean.Property;
+import org.uiflow.propertyeditor.model.beangraph.BeanGraph;
 import org.uiflow.propertyeditor.ui.editors.bean.PropertyUi;
 import org.uiflow.propertyeditor.ui.editors.bean.ConnectorButton;
+import org.uiflow.propertyeditor.ui.editors.bean.DetailLevel;
 import org.uiflow.utils.Check;
 import org.uiflow.utils.MathUtils;
 
@@ -21,12 +23,18 @@ public class Connection extends Actor {
 
     private static final int MAX_SEGMENT_COUNT = 200;
     private static final int MIN_SEGMENT_COUNT = 20;
+    private static final int SIMPLIFIED_MAX_SEGMENT_COUNT = 40;
+    private static final int SIMPLIFIED_MIN_SEGMENT_COUNT = 8;
+    private static final int OVERVIEW_SEGMENT_COUNT = 2;
     private static final String SEGMENT_NAME = "connection_segment_soft";
     private static final String SEGMENT_NAME_UNCONNECTED = "connection_segment_soft_unconnected";
     private static final float DEFAULT_SEGMENT_SCALE = 0.8f;
     private static final float SEGMENT_DENSITY = 4f;
     private static final int BORDER_FUDGE_FACTOR = 8;
 
+    // Increased for each tessellation, accessed from the rendering thread only
+    private static long tessellationCounter = 0;
+
     private final TextureRegion unconnectedSegmentImage;
     private final TextureRegion connectedSegmentImage;
     private final Drawable outputConnectorImage;
@@ -45,7 +53,26 @@ public class Connection extends Actor {
     private Color endColor = new Color();
     private Color color = new Color();
 
+    // Cached segment positions, angles and colors, and the values they were calculated from
+    private int segmentCount;
+    private float[] segmentX;
+    private float[] segmentY;
+    private float[] segmentAngles;
+    private float[] segmentNormalX;
+    private float[] segmentNormalY;
+    private long tessellationStamp;
+    private boolean curveDrawn = true;
+    private DetailLevel detailLevel = DetailLevel.FULL;
+    private float[] segmentColors;
+    private boolean tessellationValid;
+    private float tessellatedParentAlpha;
+    private final Vector2 tessellatedStart = new Vector2();
+    private final Vector2 tessellatedEnd = new Vector2();
+    private final Color tessellatedStartColor = new Color();
+    private final Color tessellatedEndColor = new Color();
+
     private final UiContext uiContext;
+    private final BeanGraph beanGraph;
     private float segmentScale = DEFAULT_SEGMENT_SCALE;
 
     private ConnectionHighlight highlightState = ConnectionHighlight.DRAGGED;
@@ -55,9 +82,17 @@ public class Connection extends Actor {
     }
 
     public Connection(UiContext uiContext, PropertyUi source, PropertyUi target) {
+        this(uiContext, null, source, target);
+    }
+
+    /**
+     * @param beanGraph the graph that the connected properties are in, used to check for loops faster.  May be null.
+     */
+    public Connection(UiContext uiContext, BeanGraph beanGraph, PropertyUi source, PropertyUi target) {
         Check.notNull(uiContext, "uiContext");
 
         this.uiContext = uiContext;
+        this.beanGraph = beanGraph;
         this.connectedSegmentImage = uiContext.getSkin().getRegion(SEGMENT_NAME);
         this.unconnectedSegmentImage = uiContext.getSkin().getRegion(SEGMENT_NAME_UNCONNECTED);
 
@@ -131,6 +166,7 @@ public class Connection extends Actor {
 
     public void setHighlightState(ConnectionHighlight highlightState) {
         this.highlightState = highlightState;
+        tessellationValid = false;
     }
 
     private void updateStartPos() {
@@ -146,15 +182,50 @@ public class Connection extends Actor {
     }
 
     @Override public void draw(Batch batch, float parentAlpha) {
+        updateCurve(parentAlpha);
+
+        final Color oldColor = batch.getColor();
+
+        if (curveDrawn) {
+            final TextureRegion segmentImage = getStrokeImage();
+            final float segmentW = segmentImage.getRegionWidth() * segmentScale;
+            final float segmentH = segmentImage.getRegionHeight() * segmentScale;
+
+            // Draw segments
+            for (int i = 0; i < segmentCount; i++) {
+                batch.setColor(segmentColors[i]);
+
+                // Draw dot
+                batch.draw(segmentImage,
+                           segmentX[i] - segmentW * 0.5f,
+                           segmentY[i] - segmentH * 0.5f,
+                           segmentW*0.5f,
+                           segmentH*0.5f,
+                           segmentW, segmentH,
+                           1f, 1f,
+                           segmentAngles[i]);
+            }
+        }
+
+        // Draw start and end connectors
+        drawEndpoint(batch, startColor, start, true, source != null);
+        drawEndpoint(batch, endColor, end, false, target != null);
+
+        batch.setColor(oldColor);
+    }
+
+    /**
+     * Updates the end positions and colors of the curve, and recalculates its segments if they changed.
+     * Called when the connection is drawn, renderers that draw the curve elsewhere can call it to get up to date segments.
+     *
+     * @param parentAlpha alpha to multiply the segment colors with.
+     * @return true if the segments were recalculated.
+     */
+    public boolean updateCurve(float parentAlpha) {
         // Determine start and end positions
         updateStartPos();
         updateEndPos();
 
-        final TextureRegion segmentImage = highlightState.getStrokeImage(getSegmentImage(),
-                                                                         connectedSegmentImage,
-                                                                         unconnectedSegmentImage);
-        float segmentLength = getSegmentImage().getRegionWidth() * (1f / SEGMENT_DENSITY);
-
         // Determine connection color based on type
         Color sourcePropertyColor = getPropertyColor(source);
         Color targetPropertyColor = getPropertyColor(target);
@@ -165,20 +236,155 @@ public class Connection extends Actor {
         highlightState.updateColor(startColor);
         highlightState.updateColor(endColor);
 
-        final Color oldColor = batch.getColor();
+        // Recalculate the segments only if something affecting them changed
+        if (!isTessellationValid(parentAlpha)) {
+            tessellate(parentAlpha);
+            return true;
+        }
+        else {
+            return false;
+        }
+    }
+
+    /**
+     * @param curveDrawn if false, only the end points are drawn by this connection, and the curve is left to
+     *                   a renderer that draws many connections at once, such as ConnectionMesh.
+     */
+    public void setCurveDrawn(boolean curveDrawn) {
+        this.curveDrawn = curveDrawn;
+    }
+
+    public boolean isCurveDrawn() {
+        return curveDrawn;
+    }
+
+    /**
+     * @param detailLevel SIMPLIFIED draws the curve with fewer segments, OVERVIEW as a straight line.
+     */
+    public void setDetailLevel(DetailLevel detailLevel) {
+        Check.notNull(detailLevel, "detailLevel");
+
+        if (this.detailLevel != detailLevel) {
+            this.detailLevel = detailLevel;
+            tessellationValid = false;
+        }
+    }
 
-        final float segmentW = segmentImage.getRegionWidth() * segmentScale;
-        final float segmentH = segmentImage.getRegionHeight() * segmentScale;
+    public DetailLevel getDetailLevel() {
+        return detailLevel;
+    }
+
+    /**
+     * @return number of points along the curve, as of the last call to updateCurve.
+     */
+    public int getSegmentCount() {
+        return segmentCount;
+    }
+
+    /**
+     * @return x coordinate of the specified point along the curve, in stage coordinates.
+     */
+    public float getSegmentX(int index) {
+        return segmentX[index];
+    }
+
+    /**
+     * @return y coordinate of the specified point along the curve, in stage coordinates.
+     */
+    public float getSegmentY(int index) {
+        return segmentY[index];
+    }
+
+    /**
+     * @return x component of the unit normal of the curve at the specified point.
+     */
+    public float getSegmentNormalX(int index) {
+        return segmentNormalX[index];
+    }
+
+    /**
+     * @return y component of the unit normal of the curve at the specified point.
+     */
+    public float getSegmentNormalY(int index) {
+        return segmentNormalY[index];
+    }
+
+    /**
+     * @return color of the curve at the specified point, packed into a float.
+     */
+    public float getSegmentColor(int index) {
+        return segmentColors[index];
+    }
+
+    /**
+     * @return a number that is larger each time the segments of any connection are recalculated.
+     *         Can be used by renderers to check if their data for this connection is out of date.
+     */
+    public long getTessellationStamp() {
+        return tessellationStamp;
+    }
+
+    /**
+     * @return image to draw the curve with, depends on the highlight state.
+     */
+    public TextureRegion getStrokeImage() {
+        return highlightState.getStrokeImage(getSegmentImage(),
+                                             connectedSegmentImage,
+                                             unconnectedSegmentImage);
+    }
+
+    /**
+     * @return width of the drawn curve.
+     */
+    public float getStrokeWidth() {
+        return getStrokeImage().getRegionHeight() * segmentScale;
+    }
+
+    /**
+     * @return true if the cached segments were calculated with the current end positions, colors and highlight.
+     */
+    private boolean isTessellationValid(float parentAlpha) {
+        return tessellationValid &&
+               tessellatedParentAlpha == parentAlpha &&
+               tessellatedStart.equals(start) &&
+               tessellatedEnd.equals(end) &&
+               tessellatedStartColor.equals(startColor) &&
+               tessellatedEndColor.equals(endColor);
+    }
+
+    /**
+     * Calculates the positions, angles and colors of the segments, and caches them until the connection changes.
+     */
+    private void tessellate(float parentAlpha) {
+        float segmentLength = getSegmentImage().getRegionWidth() * (1f / SEGMENT_DENSITY);
 
         // Determine number of segments to use
         final float distance = distance(start, end);
-        int segmentCount = MathUtils.clamp((int)(distance / segmentLength), MIN_SEGMENT_COUNT, MAX_SEGMENT_COUNT);
+        final boolean straight = detailLevel == DetailLevel.OVERVIEW;
+        if (straight) {
+            segmentCount = OVERVIEW_SEGMENT_COUNT;
+        }
+        else if (detailLevel == DetailLevel.SIMPLIFIED) {
+            segmentCount = MathUtils.clamp((int)(distance / segmentLength), SIMPLIFIED_MIN_SEGMENT_COUNT, SIMPLIFIED_MAX_SEGMENT_COUNT);
+        }
+        else {
+            segmentCount = MathUtils.clamp((int)(distance / segmentLength), MIN_SEGMENT_COUNT, MAX_SEGMENT_COUNT);
+        }
 
-        if (end.x < start.x) {
+        if (end.x < start.x && !straight) {
             segmentCount *= 2;
         }
 
-        // Draw segments
+        if (segmentX == null || segmentX.length < segmentCount) {
+            segmentX = new float[segmentCount];
+            segmentY = new float[segmentCount];
+            segmentAngles = new float[segmentCount];
+            segmentNormalX = new float[segmentCount];
+            segmentNormalY = new float[segmentCount];
+            segmentColors = new float[segmentCount];
+        }
+
+        // Calculate segments
         oldPos.set(start);
         for (int i = 0; i < segmentCount; i++) {
             float relPos = (float) i / (segmentCount - 1);
@@ -187,34 +393,42 @@ public class Connection extends Actor {
             color.set(startColor);
             color.lerp(endColor, relPos);
             color.a *= parentAlpha;
-            batch.setColor(color);
+            segmentColors[i] = color.toFloatBits();
 
             // Calculate dot position
-            float swing = MathUtils.clamp(distance + (start.x - end.x), segmentLength * 2, segmentLength * 10);
-            pos.x =  interpolate(relPos, start.x, end.x, Interpolation.sine) + swing *(float) Math.sin(relPos * Math.PI*2);
-            pos.y = interpolate(relPos, start.y, end.y, Interpolation.fade);
+            if (straight) {
+                pos.set(start).lerp(end, relPos);
+            }
+            else {
+                float swing = MathUtils.clamp(distance + (start.x - end.x), segmentLength * 2, segmentLength * 10);
+                pos.x =  interpolate(relPos, start.x, end.x, Interpolation.sine) + swing *(float) Math.sin(relPos * Math.PI*2);
+                pos.y = interpolate(relPos, start.y, end.y, Interpolation.fade);
+            }
+            segmentX[i] = pos.x;
+            segmentY[i] = pos.y;
 
             // Calculate angle
             t.set(pos).sub(oldPos);
-            float angle = t.angle();
+            segmentAngles[i] = t.angle();
+            t.nor();
+            segmentNormalX[i] = -t.y;
+            segmentNormalY[i] = t.x;
             oldPos.set(pos);
-
-            // Draw dot
-            batch.draw(segmentImage,
-                       pos.x - segmentW * 0.5f,
-                       pos.y - segmentH * 0.5f,
-                       segmentW*0.5f,
-                       segmentH*0.5f,
-                       segmentW, segmentH,
-                       1f, 1f,
-                       angle);
         }
 
-        // Draw start and end connectors
-        drawEndpoint(batch, startColor, start, true, source != null);
-        drawEndpoint(batch, endColor, end, false, target != null);
+        // The first point has no previous point to get a direction from, use the direction to the next one
+        if (segmentCount > 1) {
+            segmentNormalX[0] = segmentNormalX[1];
+            segmentNormalY[0] = segmentNormalY[1];
+        }
 
-        batch.setColor(oldColor);
+        tessellatedStart.set(start);
+        tessellatedEnd.set(end);
+        tessellatedStartColor.set(startColor);
+        tessellatedEndColor.set(endColor);
+        tessellatedParentAlpha = parentAlpha;
+        tessellationValid = true;
+        tessellationStamp = ++tessellationCounter;
     }
 
     private Color getPropertyColor(final PropertyUi propertyUi) {
@@ -284,7 +498,7 @@ public class Connection extends Actor {
                target != null &&
                getSourceProperty() != null &&
                getTargetProperty() != null &&
-               getTargetProperty().canUseSource(getSourceProperty());
+               canUseSource(getTargetProperty(), getSourceProperty());
     }
 
     /**
@@ -318,10 +532,19 @@ public class Connection extends Actor {
         if (propertyUi == null || propertyUi.getProperty() == null) return false;
 
         if (providedUiIsTarget) {
-            return source != null && propertyUi.getProperty().canUseSource(source.getProperty());
+            return source != null && canUseSource(propertyUi.getProperty(), source.getProperty());
+        }
+        else {
+            return target != null && canUseSource(target.getProperty(), propertyUi.getProperty());
+        }
+    }
+
+    private boolean canUseSource(Property property, Property sourceProperty) {
+        if (beanGraph != null) {
+            return beanGraph.canUseSource(property, sourceProperty);
         }
         else {
-            return target != null && target.getProperty().canUseSource(propertyUi.getProperty());
+            return property.canUseSource(sourceProperty);
         }
     }
 
@@ -349,6 +572,7 @@ public class Connection extends Actor {
         else {
             highlightState = ConnectionHighlight.DRAGGED;
         }
+        tessellationValid = false;
     }
 
     public void dispose() {
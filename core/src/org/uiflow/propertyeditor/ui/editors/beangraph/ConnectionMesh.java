@@ -0,0 +1,206 @@
+package org.uiflow.propertyeditor.ui.editors.beangraph;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.Touchable;
+import com.badlogic.gdx.utils.Disposable;
+import org.uiflow.utils.Check;
+
+import java.util.List;
+
+/**
+ * Draws the curves of a list of connections as a single vertex colored triangle strip, with one draw call.
+ *
+ * The curve points are taken from the connections, which should not draw their curves themselves (see Connection.setCurveDrawn).
+ * The strips of the connections are joined with degenerate triangles.
+ * The vertices are rebuilt only when connections are added or removed, or a connection recalculates its curve.
+ * The connections are expected to be in the same texture.
+ */
+public class ConnectionMesh extends Actor implements Disposable {
+
+    // x, y, packed color, u, v
+    private static final int VERTEX_SIZE = 5;
+    private static final int INITIAL_MAX_VERTICES = 4096;
+
+    private final List<Connection> connections;
+
+    private float[] vertices = new float[INITIAL_MAX_VERTICES * VERTEX_SIZE];
+    private int vertexCount;
+    private Texture texture;
+    private int builtConnectionCount = -1;
+    private long builtTessellationStamp = -1;
+    private boolean meshOutdated;
+
+    private Mesh mesh;
+    private ShaderProgram shader;
+    private final Matrix4 combinedMatrix = new Matrix4();
+
+    /**
+     * @param connections the connections to draw.  The list is read when drawing, so it can be modified afterwards.
+     */
+    public ConnectionMesh(List<Connection> connections) {
+        Check.notNull(connections, "connections");
+        this.connections = connections;
+
+        setTouchable(Touchable.disabled);
+    }
+
+    /**
+     * @return number of vertices in the mesh, as of the last call to updateVertices.
+     */
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    /**
+     * Updates the curves of the connections, and rebuilds the vertices if any connection changed.
+     *
+     * @param parentAlpha alpha to multiply the curve colors with.
+     * @return true if the vertices were rebuilt.
+     */
+    public boolean updateVertices(float parentAlpha) {
+        boolean changed = connections.size() != builtConnectionCount;
+        for (int i = 0; i < connections.size(); i++) {
+            final Connection connection = connections.get(i);
+            connection.updateCurve(parentAlpha);
+            if (connection.getTessellationStamp() > builtTessellationStamp) {
+                changed = true;
+            }
+        }
+
+        if (changed) {
+            buildVertices();
+            return true;
+        }
+        else {
+            return false;
+        }
+    }
+
+    @Override public void draw(Batch batch, float parentAlpha) {
+        updateVertices(parentAlpha);
+        if (vertexCount == 0) return;
+
+        // The mesh uses its own shader, so the batch needs to be flushed and restarted
+        batch.end();
+        renderMesh(batch.getProjectionMatrix(), batch.getTransformMatrix());
+        batch.begin();
+    }
+
+    @Override public void dispose() {
+        if (mesh != null) {
+            mesh.dispose();
+            mesh = null;
+        }
+        if (shader != null) {
+            shader.dispose();
+            shader = null;
+        }
+    }
+
+    private void buildVertices() {
+        vertexCount = 0;
+        builtConnectionCount = connections.size();
+
+        for (int c = 0; c < connections.size(); c++) {
+            final Connection connection = connections.get(c);
+            builtTessellationStamp = Math.max(builtTessellationStamp, connection.getTessellationStamp());
+
+            final int segmentCount = connection.getSegmentCount();
+            if (segmentCount < 2) continue;
+
+            ensureCapacity(vertexCount + 2 * segmentCount + 2);
+
+            final TextureRegion strokeImage = connection.getStrokeImage();
+            texture = strokeImage.getTexture();
+
+            // The middle column of the stroke image gives the profile across the strip
+            final float u = (strokeImage.getU() + strokeImage.getU2()) * 0.5f;
+            final float v1 = strokeImage.getV();
+            final float v2 = strokeImage.getV2();
+            final float halfWidth = connection.getStrokeWidth() * 0.5f;
+
+            // Join to the previous strip with degenerate triangles
+            if (vertexCount > 0) {
+                copyVertex(vertexCount - 1);
+                addVertex(connection, 0, halfWidth, u, v1);
+            }
+
+            for (int i = 0; i < segmentCount; i++) {
+                addVertex(connection, i, halfWidth, u, v1);
+                addVertex(connection, i, -halfWidth, u, v2);
+            }
+        }
+
+        meshOutdated = true;
+    }
+
+    private void addVertex(Connection connection, int segment, float offset, float u, float v) {
+        int i = vertexCount * VERTEX_SIZE;
+        vertices[i++] = connection.getSegmentX(segment) + connection.getSegmentNormalX(segment) * offset;
+        vertices[i++] = connection.getSegmentY(segment) + connection.getSegmentNormalY(segment) * offset;
+        vertices[i++] = connection.getSegmentColor(segment);
+        vertices[i++] = u;
+        vertices[i] = v;
+        vertexCount++;
+    }
+
+    private void copyVertex(int vertex) {
+        System.arraycopy(vertices, vertex * VERTEX_SIZE, vertices, vertexCount * VERTEX_SIZE, VERTEX_SIZE);
+        vertexCount++;
+    }
+
+    private void ensureCapacity(int vertexCapacity) {
+        if (vertexCapacity * VERTEX_SIZE > vertices.length) {
+            final float[] newVertices = new float[Math.max(vertexCapacity, 2 * vertices.length / VERTEX_SIZE) * VERTEX_SIZE];
+            System.arraycopy(vertices, 0, newVertices, 0, vertexCount * VERTEX_SIZE);
+            vertices = newVertices;
+        }
+    }
+
+    private void renderMesh(Matrix4 projectionMatrix, Matrix4 transformMatrix) {
+        if (shader == null) {
+            shader = SpriteBatch.createDefaultShader();
+        }
+
+        // Grow the mesh if needed, and upload changed vertices
+        if (mesh == null || mesh.getMaxVertices() < vertexCount) {
+            if (mesh != null) mesh.dispose();
+            mesh = new Mesh(false, vertices.length / VERTEX_SIZE, 0, createVertexAttributes());
+            meshOutdated = true;
+        }
+        if (meshOutdated) {
+            mesh.setVertices(vertices, 0, vertexCount * VERTEX_SIZE);
+            meshOutdated = false;
+        }
+
+        Gdx.gl.glEnable(GL20.GL_BLEND);
+        Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+
+        combinedMatrix.set(projectionMatrix).mul(transformMatrix);
+        texture.bind();
+
+        shader.begin();
+        shader.setUniformMatrix("u_projTrans", combinedMatrix);
+        shader.setUniformi("u_texture", 0);
+        mesh.render(shader, GL20.GL_TRIANGLE_STRIP, 0, vertexCount);
+        shader.end();
+    }
+
+    private static VertexAttributes createVertexAttributes() {
+        // Same layout as SpriteBatch, so its default shader can be used
+        return new VertexAttributes(new VertexAttribute(VertexAttributes.Usage.Position, 2, ShaderProgram.POSITION_ATTRIBUTE),
+                                    new VertexAttribute(VertexAttributes.Usage.ColorPacked, 4, ShaderProgram.COLOR_ATTRIBUTE),
+                                    new VertexAttribute(VertexAttributes.Usage.TextureCoordinates, 2, ShaderProgram.TEXCOORD_ATTRIBUTE + "0"));
+    }
+}
@@ -0,0 +1,213 @@
+package org.uiflow.propertyeditor.ui.editors.beangraph;
+
+import org.uiflow.propertyeditor.model.bean.Bean;
+import org.uiflow.propertyeditor.model.bean.Property;
+import org.uiflow.utils.Check;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps track of the connections shown in a bean graph editor, indexed by their source and target properties,
+ * so that adding and removing a connection, or finding the connections of a property or bean,
+ * takes time proportional to the number of connections of the property or bean, instead of all connections.
+ *
+ * Connections are indexed by the properties they connect when added.
+ * Connections without both a source and a target (still being dragged) are kept, but not indexed,
+ * call update if the properties of a connection change.
+ */
+public final class ConnectionRegistry {
+
+    private final List<Connection> connections = new ArrayList<Connection>();
+    private final List<Connection> readOnlyConnections = Collections.unmodifiableList(connections);
+    private final Map<Connection, Entry> entries = new IdentityHashMap<Connection, Entry>();
+    private final Map<Property, List<Connection>> connectionsBySource = new HashMap<Property, List<Connection>>();
+    private final Map<Property, List<Connection>> connectionsByTarget = new HashMap<Property, List<Connection>>();
+
+    /**
+     * @return read only view of all connections, in no particular order.
+     */
+    public List<Connection> getConnections() {
+        return readOnlyConnections;
+    }
+
+    /**
+     * @return number of connections.
+     */
+    public int size() {
+        return connections.size();
+    }
+
+    /**
+     * @return true if the connection has been added and not removed.
+     */
+    public boolean contains(Connection connection) {
+        return entries.containsKey(connection);
+    }
+
+    /**
+     * @param connection connection to add.  Indexed by its current source and target properties, if it has both.
+     */
+    public void add(Connection connection) {
+        Check.notNull(connection, "connection");
+        if (entries.containsKey(connection)) throw new IllegalArgumentException("The connection has already been added");
+
+        final Entry entry = new Entry(connections.size());
+        entries.put(connection, entry);
+        connections.add(connection);
+        index(connection, entry);
+    }
+
+    /**
+     * Re-indexes the connection by its current source and target properties.
+     * Should be called when the properties of a connection are changed.
+     */
+    public void update(Connection connection) {
+        final Entry entry = entries.get(connection);
+        if (entry == null) throw new IllegalArgumentException("The connection has not been added");
+
+        unindex(connection, entry);
+        index(connection, entry);
+    }
+
+    /**
+     * @return true if the connection was found and removed.
+     */
+    public boolean remove(Connection connection) {
+        final Entry entry = entries.remove(connection);
+        if (entry == null) return false;
+
+        unindex(connection, entry);
+
+        // Move the last connection to the place of the removed one
+        final Connection last = connections.remove(connections.size() - 1);
+        if (last != connection) {
+            connections.set(entry.index, last);
+            entries.get(last).index = entry.index;
+        }
+
+        return true;
+    }
+
+    /**
+     * Removes all connections.
+     */
+    public void clear() {
+        connections.clear();
+        entries.clear();
+        connectionsBySource.clear();
+        connectionsByTarget.clear();
+    }
+
+    /**
+     * @return the first connection from the source property to the target property, or null if there is none.
+     */
+    public Connection get(Property source, Property target) {
+        final List<Connection> targetConnections = connectionsByTarget.get(target);
+        if (targetConnections != null) {
+            for (int i = 0; i < targetConnections.size(); i++) {
+                final Connection connection = targetConnections.get(i);
+                if (entries.get(connection).source == source) return connection;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Adds the connections from the source property to the target property to the specified collection.
+     * @return the collection that the connections were added to.
+     */
+    public <T extends Collection<Connection>> T getConnections(Property source, Property target, T out) {
+        final List<Connection> targetConnections = connectionsByTarget.get(target);
+        if (targetConnections != null) {
+            for (int i = 0; i < targetConnections.size(); i++) {
+                final Connection connection = targetConnections.get(i);
+                if (entries.get(connection).source == source) out.add(connection);
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Adds the connections that have the specified property as source or target to the specified collection.
+     * @return the collection that the connections were added to.
+     */
+    public <T extends Collection<Connection>> T getConnectionsWith(Property property, T out) {
+        addAll(connectionsBySource.get(property), out);
+        addAll(connectionsByTarget.get(property), out);
+        return out;
+    }
+
+    /**
+     * Adds the connections that have any property of the specified bean as source or target to the specified collection,
+     * in the order of the properties.
+     * @return the collection that the connections were added to.
+     */
+    public <T extends Collection<Connection>> T getConnectionsWith(Bean bean, T out) {
+        for (Property property : bean.getProperties()) {
+            getConnectionsWith(property, out);
+        }
+        return out;
+    }
+
+    private void index(Connection connection, Entry entry) {
+        final Property source = connection.getSourceProperty();
+        final Property target = connection.getTargetProperty();
+        if (source != null && target != null) {
+            entry.source = source;
+            entry.target = target;
+            getOrCreateList(connectionsBySource, source).add(connection);
+            getOrCreateList(connectionsByTarget, target).add(connection);
+        }
+    }
+
+    private void unindex(Connection connection, Entry entry) {
+        if (entry.source != null) {
+            removeFromList(connectionsBySource, entry.source, connection);
+            removeFromList(connectionsByTarget, entry.target, connection);
+            entry.source = null;
+            entry.target = null;
+        }
+    }
+
+    private static void addAll(List<Connection> connections, Collection<Connection> out) {
+        if (connections != null) {
+            out.addAll(connections);
+        }
+    }
+
+    private static List<Connection> getOrCreateList(Map<Property, List<Connection>> map, Property property) {
+        List<Connection> list = map.get(property);
+        if (list == null) {
+            list = new ArrayList<Connection>(2);
+            map.put(property, list);
+        }
+        return list;
+    }
+
+    private static void removeFromList(Map<Property, List<Connection>> map, Property property, Connection connection) {
+        final List<Connection> list = map.get(property);
+        if (list != null) {
+            list.remove(connection);
+            if (list.isEmpty()) map.remove(property);
+        }
+    }
+
+    /**
+     * Position of a connection in the connection list, and the properties it is indexed by.
+     */
+    private static final class Entry {
+        int index;
+        Property source;
+        Property target;
+
+        private Entry(int index) {
+            this.index = index;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package org.uiflow.propertyeditor.ui.editors.beangraph;
+
+/**
+ * Ways to draw the curves of the connections in a bean graph editor.
+ */
+public enum ConnectionRendering {
+
+    /**
+     * Each connection draws its curve as a row of rotated dot sprites.
+     */
+    SPRITES,
+
+    /**
+     * The curves of all connections are drawn as a single vertex colored triangle strip, with one draw call.
+     */
+    MESH
+
+}
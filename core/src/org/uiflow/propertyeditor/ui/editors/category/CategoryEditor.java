@@ -12,12 +12,22 @@ import org.uiflow.propertyeditor.model.category.CategoryListener;
 import org.uiflow.propertyeditor.ui.BeanDropTarget;
 import org.uiflow.propertyeditor.ui.DefaultBeanDropTarget;
 import org.uiflow.propertyeditor.ui.editors.EditorBase;
+import org.uiflow.propertyeditor.ui.editors.EditorFactory;
 
 /**
  *
  */
 public class CategoryEditor extends EditorBase<Category, CategoryEditorConfiguration>  {
 
+    /**
+     * Creates CategoryEditors for CategoryEditorConfigurations.
+     */
+    public static final EditorFactory<CategoryEditor> FACTORY = new EditorFactory<CategoryEditor>() {
+        @Override public CategoryEditor createEditor() {
+            return new CategoryEditor();
+        }
+    };
+
     private Tree treeRoot;
 
     private final CategoryListener categoryListener = new CategoryListener() {
@@ -11,7 +11,7 @@ public class CategoryEditorConfiguration extends EditorConfigurationBase {
     public static final CategoryEditorConfiguration DEFAULT = new CategoryEditorConfiguration();
 
     public CategoryEditorConfiguration() {
-        super(CategoryEditor.class);
+        super(CategoryEditor.FACTORY);
     }
 
 
@@ -8,16 +8,28 @@ import org.uiflow.UiContext;
 import org.uiflow.utils.ScrollInputListener;
 import org.uiflow.utils.TextFieldChangeListener;
 import org.uiflow.propertyeditor.ui.editors.EditorBase;
+import org.uiflow.propertyeditor.ui.editors.EditorFactory;
 import org.uiflow.widgets.FlowSlider;
 import org.uiflow.utils.MathUtils;
 
 import java.text.DecimalFormat;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  *
  */
 public class NumberEditor extends EditorBase<Number, NumberEditorConfiguration> {
 
+    /**
+     * Creates NumberEditors for NumberEditorConfigurations.
+     */
+    public static final EditorFactory<NumberEditor> FACTORY = new EditorFactory<NumberEditor>() {
+        @Override public NumberEditor createEditor() {
+            return new NumberEditor();
+        }
+    };
+
     private static final int MOUSE_BUTTON_FOR_ARROW_BUTTONS = Input.Buttons.LEFT;
     private static final float MIN_TICK_DELAY = 0.01f;
     private static final int SCALE_TO_N_SIGNIFICANT_NUMBERS = 2;
@@ -54,6 +66,11 @@ public class NumberEditor extends EditorBase<Number, NumberEditorConfiguration>
 
     private boolean numberFieldUpdating;
 
+    private double numberValue;
+    private boolean hasNumberValue;
+    private final List<NumberEditorListener> numberListeners = new ArrayList<NumberEditorListener>(2);
+    private transient boolean sendingNumberEditUpdate = false;
+
     private final InputListener scrollWheelListener = new ScrollInputListener() {
         @Override public boolean scrolled(InputEvent event, float x, float y, int amount) {
             if (amount != 0) {
@@ -71,8 +88,7 @@ public class NumberEditor extends EditorBase<Number, NumberEditorConfiguration>
 
             if (value != null) {
                 numberFieldUpdating = true;
-                updateValueInUi(value);
-                notifyValueEditedInUi(value);
+                numberEditedInUi(value.doubleValue());
                 numberFieldUpdating = false;
             }
             return false;
@@ -137,14 +153,8 @@ public class NumberEditor extends EditorBase<Number, NumberEditorConfiguration>
                 // Drop last digits, as the slider is not very precise
                 newValue = MathUtils.roundToNDigits(newValue, SCALE_TO_N_SIGNIFICANT_NUMBERS);
 
-                // Convert to correct type
-                Number value = convertToCorrectNumberType(configuration.getNumberType(), newValue);
-
-                // Update the rest of the UI
-                updateValueInUi(value);
-
-                // Notify listeners
-                notifyValueEditedInUi(value);
+                // Update the rest of the UI and notify listeners
+                numberEditedInUi(newValue);
             }
         });
 
@@ -159,6 +169,11 @@ public class NumberEditor extends EditorBase<Number, NumberEditorConfiguration>
 
         numberField.addListener(numberFieldListener);
 
+        // A value set with setNumber before the UI was created is not kept as the edited value object
+        if (hasNumberValue) {
+            updateNumberInUi(numberValue);
+        }
+
         return table;
     }
 
@@ -290,28 +305,9 @@ public class NumberEditor extends EditorBase<Number, NumberEditorConfiguration>
     /**
      * Adds some delta to the edited value.
      */
-    protected final void changeValue(Number delta) {
-        if (delta.doubleValue() != 0) {
-            final Number editedValue = getValue();
-            if (editedValue != null) {
-                Number result;
-
-                final Class<? extends Number> numberType = getConfiguration().getNumberType();
-
-                if (numberType.equals(Byte.class))         result = delta.byteValue()   + editedValue.byteValue();
-                else if (numberType.equals(Short.class))   result = delta.shortValue()  + editedValue.shortValue();
-                else if (numberType.equals(Integer.class)) result = delta.intValue()    + editedValue.intValue();
-                else if (numberType.equals(Long.class))    result = delta.longValue()   + editedValue.longValue();
-                else if (numberType.equals(Float.class))   result = delta.floatValue()  + editedValue.floatValue();
-                else if (numberType.equals(Double.class))  result = delta.doubleValue() + editedValue.doubleValue();
-                else throw new IllegalStateException("Unsupported number type in number field: " + numberType);
-
-                // Update the rest of the UI
-                updateValueInUi(result);
-
-                // Notify listeners
-                notifyValueEditedInUi(result);
-            }
+    protected final void changeValue(double delta) {
+        if (delta != 0 && hasNumberValue) {
+            numberEditedInUi(numberValue + delta);
         }
     }
 
@@ -324,40 +320,44 @@ public class NumberEditor extends EditorBase<Number, NumberEditorConfiguration>
      * @param forceChange if the change factor would be too small to create a change, force a change by one.
      */
     protected final void scaleValue(double scaling, boolean invertScalingForNegativeValues, int roundToNSignificantNumbers, boolean forceChange) {
-        if (scaling != 1) {
-            final Number editedValue = getValue();
-            if (editedValue != null) {
-                Number result;
-
-                final Class<? extends Number> numberType = getConfiguration().getNumberType();
-
-                // Invert scaling for negative values if requested
-                double nonInvertedScaling = scaling;
-                if (invertScalingForNegativeValues && editedValue.doubleValue() < 0 && scaling != 0) {
-                    scaling = 1.0 / scaling;
-                }
-
-                // Round result to remove excessive decimals
-                double resultAsDouble = MathUtils.roundToNDigits(scaling * editedValue.doubleValue(), roundToNSignificantNumbers);
-
-                // Check if we should move at least one, to avoid getting stuck on a low integer value when scaling
-                if (forceChange && isIntegerType(numberType) && editedValue.longValue() == (long)resultAsDouble) {
-                    // Force a change by at least one
-                    if (nonInvertedScaling >= 1) resultAsDouble += 1;
-                    else resultAsDouble -= 1;
-                }
-
-                result = convertToCorrectNumberType(numberType, resultAsDouble);
+        if (scaling != 1 && hasNumberValue) {
+            final double editedValue = numberValue;
+            final Class<? extends Number> numberType = getConfiguration().getNumberType();
+
+            // Invert scaling for negative values if requested
+            double nonInvertedScaling = scaling;
+            if (invertScalingForNegativeValues && editedValue < 0 && scaling != 0) {
+                scaling = 1.0 / scaling;
+            }
 
-                // Update the rest of the UI
-                updateValueInUi(result);
+            // Round result to remove excessive decimals
+            double resultAsDouble = MathUtils.roundToNDigits(scaling * editedValue, roundToNSignificantNumbers);
 
-                // Notify listeners
-                notifyValueEditedInUi(result);
+            // Check if we should move at least one, to avoid getting stuck on a low integer value when scaling
+            if (forceChange && isIntegerType(numberType) && (long) editedValue == (long)resultAsDouble) {
+                // Force a change by at least one
+                if (nonInvertedScaling >= 1) resultAsDouble += 1;
+                else resultAsDouble -= 1;
             }
+
+            // Update the rest of the UI and notify listeners
+            numberEditedInUi(resultAsDouble);
         }
     }
 
+    /**
+     * @return the value rounded or truncated to the specified number type, but still as a double.
+     */
+    private double castToNumberType(Class<? extends Number> numberType, double value) {
+        if (numberType.equals(Byte.class))         return (byte) value;
+        else if (numberType.equals(Short.class))   return (short) value;
+        else if (numberType.equals(Integer.class)) return (int) value;
+        else if (numberType.equals(Long.class))    return (long) value;
+        else if (numberType.equals(Float.class))   return (float) value;
+        else if (numberType.equals(Double.class))  return value;
+        else throw new IllegalStateException("Unsupported number type in number field: " + numberType);
+    }
+
     private Number convertToCorrectNumberType(Class<? extends Number> numberType, double resultAsDouble) {
         Number result;// Convert to actual number type being edited
         if (numberType.equals(Byte.class))         result = (byte) resultAsDouble;
@@ -377,25 +377,120 @@ public class NumberEditor extends EditorBase<Number, NumberEditorConfiguration>
                numberType == Long.class;
     }
 
-    @Override protected void updateValueInUi(Number value) {
-        final String valueAsText;
-        if (value instanceof Double ||
-            value instanceof Float ) {
-            // Strip small rounding errors
-            valueAsText = decimalFormat.format(value);
+    /**
+     * @return the edited value as a double, without boxing it.  Zero if no value has been set.
+     */
+    public final double getNumber() {
+        return numberValue;
+    }
+
+    /**
+     * Sets the edited value from client code without boxing it.
+     * @param value new value, converted to the number type of the editor.
+     */
+    public final void setNumber(double value) {
+        value = castToNumberType(getConfiguration().getNumberType(), value);
+        if (!hasNumberValue || numberValue != value) {
+            numberValue = value;
+            hasNumberValue = true;
+
+            // The value object is created when someone asks for it
+            clearEditedValue();
+
+            if (isUiCreated() && !sendingNumberEditUpdate) {
+                updateNumberInUi(value);
+            }
+        }
+    }
+
+    @Override public Number getValue() {
+        final Number value = super.getValue();
+        if (value == null && hasNumberValue) {
+            return convertToCorrectNumberType(getConfiguration().getNumberType(), numberValue);
         }
         else {
-            valueAsText = "" + value;
+            return value;
         }
+    }
+
+    /**
+     * @param listener listener that is notified about edits without boxing the edited value.
+     */
+    public final void addNumberListener(NumberEditorListener listener) {
+        if (listener == null) throw new IllegalArgumentException("Listener should not be null");
+
+        if (!numberListeners.contains(listener)) {
+            numberListeners.add(listener);
+        }
+    }
+
+    public final void removeNumberListener(NumberEditorListener listener) {
+        numberListeners.remove(listener);
+    }
+
+    @Override protected void onReset() {
+        numberListeners.clear();
+        hasNumberValue = false;
+        numberValue = 0;
+
+        if (isUiCreated()) {
+            setErrorStyle(getUiContext(), false);
+        }
+    }
+
+    @Override protected void onValueChanged(Number oldValue, Number newValue) {
+        hasNumberValue = newValue != null;
+        numberValue = newValue != null ? newValue.doubleValue() : 0;
+    }
+
+    /**
+     * Updates the UI and notifies listeners when the value was changed in the UI.
+     * Only boxes the value if there are listeners that need it.
+     */
+    private void numberEditedInUi(double value) {
+        if (isEnabled() && !sendingNumberEditUpdate) {
+            value = castToNumberType(getConfiguration().getNumberType(), value);
+
+            updateNumberInUi(value);
 
+            sendingNumberEditUpdate = true;
+
+            if (hasListeners()) {
+                notifyValueEditedInUi(convertToCorrectNumberType(getConfiguration().getNumberType(), value));
+            }
+            else {
+                setNumber(value);
+            }
+
+            for (int i = 0; i < numberListeners.size(); i++) {
+                numberListeners.get(i).onNumberEdited(this, value);
+            }
+            sendingNumberEditUpdate = false;
+        }
+    }
+
+    @Override protected void updateValueInUi(Number value) {
+        if (value != null) {
+            updateNumberInUi(value.doubleValue());
+        }
+    }
+
+    private void updateNumberInUi(double value) {
         if (!numberFieldUpdating) {
+            final String valueAsText;
+            if (isIntegerType(getConfiguration().getNumberType())) {
+                valueAsText = Long.toString((long) value);
+            }
+            else {
+                // Strip small rounding errors
+                valueAsText = decimalFormat.format(value);
+            }
+
             numberField.setText(valueAsText);
             numberFieldListener.setPreviousText(valueAsText);
         }
 
-        if (value != null) {
-            slider.setValue(value.floatValue());
-        }
+        slider.setValue(value);
     }
 
     @Override protected void setDisabled(boolean disabled) {
@@ -129,7 +129,7 @@ public class NumberEditorConfiguration extends EditorConfigurationBase {
                                      boolean showSlider,
                                      boolean showArrows,
                                      ColorFunction colorFunction) {
-        super(NumberEditor.class);
+        super(NumberEditor.FACTORY);
         this.originValue = originValue;
         this.maxValue = maxValue;
         this.minValue = minValue;
@@ -0,0 +1,14 @@
+package org.uiflow.propertyeditor.ui.editors.number;
+
+/**
+ * Listens to edits of the value in a NumberEditor, without boxing the value.
+ */
+public interface NumberEditorListener {
+
+    /**
+     * Called when the number was edited by the user.
+     * The value has already been converted to the number type of the editor.
+     */
+    void onNumberEdited(NumberEditor editor, double currentValue);
+
+}
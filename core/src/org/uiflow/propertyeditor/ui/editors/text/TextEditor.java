@@ -4,6 +4,7 @@ import com.badlogic.gdx.scenes.scene2d.*;
 import com.badlogic.gdx.scenes.scene2d.ui.*;
 import org.uiflow.UiContext;
 import org.uiflow.propertyeditor.ui.editors.EditorBase;
+import org.uiflow.propertyeditor.ui.editors.EditorFactory;
 import org.uiflow.utils.TextFieldChangeListener;
 
 /**
@@ -11,6 +12,15 @@ import org.uiflow.utils.TextFieldChangeListener;
  */
 public class TextEditor extends EditorBase<String, TextEditorConfiguration> {
 
+    /**
+     * Creates TextEditors for TextEditorConfigurations.
+     */
+    public static final EditorFactory<TextEditor> FACTORY = new EditorFactory<TextEditor>() {
+        @Override public TextEditor createEditor() {
+            return new TextEditor();
+        }
+    };
+
     private TextField textWidget;
 
     private final TextFieldChangeListener textFieldChangeListener = new TextFieldChangeListener(){
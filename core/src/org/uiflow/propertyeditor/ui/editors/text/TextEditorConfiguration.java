@@ -24,7 +24,7 @@ public class TextEditorConfiguration extends EditorConfigurationBase {
      * @param rows number of rows in the text editor, 1 for single line editor.
      */
     public TextEditorConfiguration(int rows) {
-        super(TextEditor.class);
+        super(TextEditor.FACTORY);
         if (rows <= 0) throw new IllegalArgumentException("Rows to show must be 1 or larger, but was " + rows);
 
         this.rows = rows;
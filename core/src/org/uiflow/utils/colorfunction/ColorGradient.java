@@ -1,16 +1,20 @@
 package org.uiflow.utils.colorfunction;
 
 import com.badlogic.gdx.graphics.Color;
-import org.uiflow.utils.MathUtils;
+import org.uiflow.utils.Check;
 
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.Map;
+import java.util.SortedMap;
 import java.util.TreeMap;
 
 import static org.uiflow.utils.MathUtils.*;
 
 /**
  * Simple color gradient.
+ *
+ * The colors are compiled into sorted primitive arrays whenever they are changed, and looked up with a binary search.
+ * Optionally a lookup table can be baked, for constant time approximate lookups.
  */
 public class ColorGradient implements ColorFunction {
 
@@ -21,6 +25,18 @@ public class ColorGradient implements ColorFunction {
     private static final Color NICE_RED = new Color(0.9f, 0, 0, 1);
 
     private final TreeMap<Double, Color> colors = new TreeMap<Double, Color>();
+    private final SortedMap<Double, Color> readOnlyColors = Collections.unmodifiableSortedMap(colors);
+
+    // The colors compiled to arrays sorted by value, with four color components per stop
+    private double[] stopValues = new double[0];
+    private float[] stopColors = new float[0];
+    private int stopCount;
+
+    // Optional table of colors sampled at even intervals between the first and last stop, four components per entry
+    private int lookupTableSize;
+    private float[] lookupTable = new float[0];
+    private double lookupTableStart;
+    private double lookupTableScale;
 
     // Some built-in gradients
     public static final ColorGradient GRAY_SCALE = new ColorGradient(Color.BLACK, Color.WHITE);
@@ -111,6 +127,7 @@ public class ColorGradient implements ColorFunction {
      */
     public void addColor(double value, Color color) {
         colors.put(value, color.cpy());
+        rebake();
     }
 
     /**
@@ -130,6 +147,7 @@ public class ColorGradient implements ColorFunction {
                 if (distanceToFloor < distanceToCeiling) colors.remove(floor.getKey());
                 else colors.remove(ceiling.getKey());
             }
+            rebake();
         }
     }
 
@@ -138,49 +156,193 @@ public class ColorGradient implements ColorFunction {
      * @param colorOut color to update according to the provided value.
      *                 Set to the color for the specified point in the gradient.
      *                 Interpolated if between colors, but clamped to end colors if outside the gradient range.
+     *                 If a lookup table is used, the color of the closest table entry is used instead.
      * @return the provided colorOut with the correct color, or a new Color if colorOut was null.
      */
     public Color getColor(double value, Color colorOut) {
-        final Map.Entry<Double, Color> floor = colors.floorEntry(value);
-        final Map.Entry<Double, Color> ceiling = colors.ceilingEntry(value);
-
         if (colorOut == null) colorOut = new Color();
 
-        if (floor == null && ceiling == null) colorOut.set(DEFAULT_COLOR);
-        else if (floor == null) colorOut.set(ceiling.getValue());
-        else if (ceiling == null) colorOut.set(floor.getValue());
+        if (stopCount == 0) {
+            colorOut.set(DEFAULT_COLOR);
+        }
         else {
-            if (value == floor.getKey()) colorOut.set(floor.getValue());
-            else if (value == ceiling.getKey()) colorOut.set(ceiling.getValue());
+            final int index = getColorIndex(value);
+            if (index >= 0) {
+                final float[] source = lookupTableSize > 0 ? lookupTable : stopColors;
+                colorOut.set(source[index], source[index + 1], source[index + 2], source[index + 3]);
+            }
             else {
-                float t = (float) map(value, floor.getKey(), ceiling.getKey(), 0, 1);
-                final Color fCol = floor.getValue();
-                final Color cCol = ceiling.getValue();
-
-                float r = mix(t, fCol.r, cCol.r);
-                float g = mix(t, fCol.g, cCol.g);
-                float b = mix(t, fCol.b, cCol.b);
-                float a = mix(t, fCol.a, cCol.a);
-                colorOut.set(r, g, b, a);
+                interpolate(value, -index - 1, colorOut);
             }
         }
 
         return colorOut;
     }
 
+    /**
+     * Calculates the colors for many values at once, without creating Color objects.
+     * @param values values to calculate colors for.
+     * @param rgbaOut array to write the red, green, blue and alpha components of the color for each value to,
+     *                four floats per value, in the order of the values.  Should be at least four times as long as values.
+     */
+    public void getColors(double[] values, float[] rgbaOut) {
+        Check.notNull(values, "values");
+        Check.notNull(rgbaOut, "rgbaOut");
+        if (rgbaOut.length < values.length * 4) throw new IllegalArgumentException("The rgbaOut array should have four elements for each value, but it has " + rgbaOut.length + " elements for " + values.length + " values");
+
+        int out = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (stopCount == 0) {
+                rgbaOut[out] = DEFAULT_COLOR.r;
+                rgbaOut[out + 1] = DEFAULT_COLOR.g;
+                rgbaOut[out + 2] = DEFAULT_COLOR.b;
+                rgbaOut[out + 3] = DEFAULT_COLOR.a;
+            }
+            else {
+                final int index = getColorIndex(values[i]);
+                if (index >= 0) {
+                    final float[] source = lookupTableSize > 0 ? lookupTable : stopColors;
+                    rgbaOut[out] = source[index];
+                    rgbaOut[out + 1] = source[index + 1];
+                    rgbaOut[out + 2] = source[index + 2];
+                    rgbaOut[out + 3] = source[index + 3];
+                }
+                else {
+                    interpolate(values[i], -index - 1, rgbaOut, out);
+                }
+            }
+            out += 4;
+        }
+    }
+
     /**
      * Removes all colors from the gradient.
      */
     public void clear() {
         colors.clear();
+        rebake();
     }
 
     /**
-     * @return the underlying treemap.
-     * Modifications to it are allowed, although not normally necessary.
+     * @return read only view of the colors of the gradient, by value.
+     *         Use addColor, removeColor and clear to change them.
      */
-    public TreeMap<Double, Color> getColors() {
-        return colors;
+    public SortedMap<Double, Color> getColors() {
+        return readOnlyColors;
+    }
+
+    /**
+     * @return number of entries in the lookup table, or zero if no lookup table is used.
+     */
+    public int getLookupTableSize() {
+        return lookupTableSize;
+    }
+
+    /**
+     * @param lookupTableSize number of entries in a lookup table of precalculated colors evenly spaced between the
+     *                        first and last color, or zero to not use a lookup table (the default).
+     *                        With a lookup table, colors are found in constant time, but only approximately,
+     *                        as the closest entry is used.  Should be zero or at least two.
+     */
+    public void setLookupTableSize(int lookupTableSize) {
+        Check.positiveOrZero(lookupTableSize, "lookupTableSize");
+        if (lookupTableSize == 1) throw new IllegalArgumentException("The lookup table should have zero or at least two entries");
+
+        this.lookupTableSize = lookupTableSize;
+        rebake();
+    }
+
+    /**
+     * Updates the arrays that colors are calculated from, after the colors have changed.
+     */
+    private void rebake() {
+        stopCount = colors.size();
+        if (stopValues.length < stopCount) {
+            stopValues = new double[stopCount];
+            stopColors = new float[stopCount * 4];
+        }
+
+        int i = 0;
+        for (Map.Entry<Double, Color> entry : colors.entrySet()) {
+            final Color color = entry.getValue();
+            stopValues[i] = entry.getKey();
+            stopColors[i * 4] = color.r;
+            stopColors[i * 4 + 1] = color.g;
+            stopColors[i * 4 + 2] = color.b;
+            stopColors[i * 4 + 3] = color.a;
+            i++;
+        }
+
+        if (lookupTableSize > 0 && stopCount > 0) {
+            lookupTableStart = stopValues[0];
+            final double range = stopValues[stopCount - 1] - lookupTableStart;
+            lookupTableScale = range > 0 ? (lookupTableSize - 1) / range : 0;
+
+            if (lookupTable.length != lookupTableSize * 4) {
+                lookupTable = new float[lookupTableSize * 4];
+            }
+
+            // Sample the gradient at the value of each entry
+            final int size = lookupTableSize;
+            lookupTableSize = 0;
+            for (int entry = 0; entry < size; entry++) {
+                final double value = range > 0 ? lookupTableStart + entry * range / (size - 1) : lookupTableStart;
+                final int index = getColorIndex(value);
+                if (index >= 0) System.arraycopy(stopColors, index, lookupTable, entry * 4, 4);
+                else interpolate(value, -index - 1, lookupTable, entry * 4);
+            }
+            lookupTableSize = size;
+        }
+    }
+
+    /**
+     * @return index of the first color component of the stop or lookup table entry whose color should be used for the value,
+     *         or -(stop + 1) if the value is between the specified stop and the next one, and should be interpolated.
+     *         There should be at least one stop.
+     */
+    private int getColorIndex(double value) {
+        final int last = stopCount - 1;
+        if (value <= stopValues[0]) {
+            return 0;
+        }
+        else if (!(value < stopValues[last])) {
+            // Also NaN values, as they are sorted after all other values
+            return lookupTableSize > 0 ? (lookupTableSize - 1) * 4 : last * 4;
+        }
+        else if (lookupTableSize > 0) {
+            return (int) ((value - lookupTableStart) * lookupTableScale + 0.5) * 4;
+        }
+        else {
+            // Binary search for the last stop at or below the value
+            int low = 0;
+            int high = last;
+            while (high - low > 1) {
+                final int middle = (low + high) >>> 1;
+                if (stopValues[middle] <= value) low = middle;
+                else high = middle;
+            }
+
+            if (value == stopValues[low]) return low * 4;
+            else return -(low + 1);
+        }
+    }
+
+    private void interpolate(double value, int stop, Color colorOut) {
+        final float t = (float) map(value, stopValues[stop], stopValues[stop + 1], 0, 1);
+        final int i = stop * 4;
+        colorOut.set(mix(t, stopColors[i], stopColors[i + 4]),
+                     mix(t, stopColors[i + 1], stopColors[i + 5]),
+                     mix(t, stopColors[i + 2], stopColors[i + 6]),
+                     mix(t, stopColors[i + 3], stopColors[i + 7]));
+    }
+
+    private void interpolate(double value, int stop, float[] rgbaOut, int offset) {
+        final float t = (float) map(value, stopValues[stop], stopValues[stop + 1], 0, 1);
+        final int i = stop * 4;
+        rgbaOut[offset] = mix(t, stopColors[i], stopColors[i + 4]);
+        rgbaOut[offset + 1] = mix(t, stopColors[i + 1], stopColors[i + 5]);
+        rgbaOut[offset + 2] = mix(t, stopColors[i + 2], stopColors[i + 6]);
+        rgbaOut[offset + 3] = mix(t, stopColors[i + 3], stopColors[i + 7]);
     }
 
 }
@@ -645,8 +645,8 @@ public class FlowSlider extends Widget implements Disableable {
     private void notifyValueChanged() {
         notifyingListenersAboutValueChange = true;
 
-        for (FlowSliderListener listener : listeners) {
-            listener.onChanged(value);
+        for (int i = 0; i < listeners.size; i++) {
+            listeners.get(i).onChanged(value);
         }
 
         notifyingListenersAboutValueChange = false;
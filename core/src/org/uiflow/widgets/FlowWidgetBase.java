@@ -1,16 +1,18 @@
 package org.uiflow.widgets;
 
 import com.badlogic.gdx.scenes.scene2d.Actor;
+import org.uiflow.DirtyUi;
 import org.uiflow.UiContext;
 
 /**
  *
  */
-public abstract class FlowWidgetBase implements FlowWidget {
+public abstract class FlowWidgetBase implements FlowWidget, DirtyUi {
 
     private Actor actor;
     private boolean uiCreated = false;
     private UiContext uiContext;
+    private boolean markedDirty;
 
     @Override public final Actor getUi(UiContext uiContext) {
         if (actor == null) {
@@ -40,6 +42,20 @@ public abstract class FlowWidgetBase implements FlowWidget {
 
     protected abstract Actor createUi(UiContext uiContext);
 
+    /**
+     * Override to bring the UI up to date after it has been marked dirty in the change collector of the UiContext.
+     */
+    @Override public void updateDirtyUi() {
+    }
+
+    @Override public final boolean isMarkedDirty() {
+        return markedDirty;
+    }
+
+    @Override public final void setMarkedDirty(boolean markedDirty) {
+        this.markedDirty = markedDirty;
+    }
+
     @Override public void dispose() {
     }
 }
@@ -4,11 +4,27 @@ import com.badlogic.gdx.backends.lwjgl.LwjglApplication;
 import com.badlogic.gdx.backends.lwjgl.LwjglApplicationConfiguration;
 import org.uiflow.UiFlowExample;
 
+import java.util.Arrays;
+
 public class DesktopLauncher {
+
+    /**
+     * Command line flag that makes the example render only when something changes, instead of continuously.
+     */
+    private static final String RENDER_ON_DEMAND_FLAG = "--render-on-demand";
+
+    // Maximum frame rate when the window is not focused in render on demand mode, also limits how often idle frames are polled
+    private static final int BACKGROUND_FPS = 10;
+
 	public static void main (String[] arg) {
+        final boolean renderOnDemand = Arrays.asList(arg).contains(RENDER_ON_DEMAND_FLAG);
+
 		LwjglApplicationConfiguration config = new LwjglApplicationConfiguration();
         config.width = 1600;
         config.height = 1024;
-		new LwjglApplication(new UiFlowExample(), config);
+        if (renderOnDemand) {
+            config.backgroundFPS = BACKGROUND_FPS;
+        }
+		new LwjglApplication(new UiFlowExample(renderOnDemand), config);
 	}
 }
@@ -1,6 +1,5 @@
 package org.uiflow.propertyeditor.model;
 
-import com.badlogic.gdx.math.Vector2;
 import org.uiflow.propertyeditor.model.bean.Bean;
 import org.uiflow.propertyeditor.model.beangraph.BeanGraph;
 
@@ -9,8 +8,8 @@ import org.uiflow.propertyeditor.model.beangraph.BeanGraph;
  */
 public interface BeanContainerListener {
 
-    void onBeanAdded(BeanContainer beanContainer, Bean bean, Vector2 position);
+    void onBeanAdded(BeanContainer beanContainer, Bean bean, Position position);
 
-    void onBeanRemoved(BeanContainer beanContainer, Bean bean, Vector2 position);
+    void onBeanRemoved(BeanContainer beanContainer, Bean bean, Position position);
 
 }
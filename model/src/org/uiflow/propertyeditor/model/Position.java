@@ -0,0 +1,70 @@
+package org.uiflow.propertyeditor.model;
+
+/**
+ * Mutable two dimensional position, used for the locations of beans in bean containers.
+ */
+public final class Position {
+
+    public float x;
+    public float y;
+
+    public Position() {
+    }
+
+    /**
+     * @param x horizontal coordinate.
+     * @param y vertical coordinate.
+     */
+    public Position(float x, float y) {
+        set(x, y);
+    }
+
+    /**
+     * @param position position to copy the coordinates from.
+     */
+    public Position(Position position) {
+        set(position);
+    }
+
+    /**
+     * @return this position, for chaining.
+     */
+    public Position set(float x, float y) {
+        this.x = x;
+        this.y = y;
+        return this;
+    }
+
+    /**
+     * @param position position to copy the coordinates from.
+     * @return this position, for chaining.
+     */
+    public Position set(Position position) {
+        return set(position.x, position.y);
+    }
+
+    /**
+     * @return squared distance between this position and the specified coordinates.
+     */
+    public float distanceSquared(float x, float y) {
+        final float dx = x - this.x;
+        final float dy = y - this.y;
+        return dx * dx + dy * dy;
+    }
+
+    @Override public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        final Position position = (Position) o;
+        return Float.compare(position.x, x) == 0 && Float.compare(position.y, y) == 0;
+    }
+
+    @Override public int hashCode() {
+        return 31 * Float.floatToIntBits(x) + Float.floatToIntBits(y);
+    }
+
+    @Override public String toString() {
+        return "(" + x + "," + y + ")";
+    }
+}
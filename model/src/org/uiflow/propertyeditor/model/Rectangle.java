@@ -0,0 +1,97 @@
+package org.uiflow.propertyeditor.model;
+
+/**
+ * Mutable axis aligned rectangle, used for area queries in bean containers.
+ */
+public final class Rectangle {
+
+    public float x;
+    public float y;
+    public float width;
+    public float height;
+
+    public Rectangle() {
+    }
+
+    /**
+     * @param x left edge.
+     * @param y bottom edge.
+     * @param width width, should be positive or zero.
+     * @param height height, should be positive or zero.
+     */
+    public Rectangle(float x, float y, float width, float height) {
+        set(x, y, width, height);
+    }
+
+    /**
+     * @param rectangle rectangle to copy the coordinates from.
+     */
+    public Rectangle(Rectangle rectangle) {
+        set(rectangle);
+    }
+
+    /**
+     * @return this rectangle, for chaining.
+     */
+    public Rectangle set(float x, float y, float width, float height) {
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+        return this;
+    }
+
+    /**
+     * @param rectangle rectangle to copy the coordinates from.
+     * @return this rectangle, for chaining.
+     */
+    public Rectangle set(Rectangle rectangle) {
+        return set(rectangle.x, rectangle.y, rectangle.width, rectangle.height);
+    }
+
+    /**
+     * Sets the rectangle from its corner coordinates, in any order.
+     * @return this rectangle, for chaining.
+     */
+    public Rectangle setCorners(float x1, float y1, float x2, float y2) {
+        return set(Math.min(x1, x2), Math.min(y1, y2), Math.abs(x2 - x1), Math.abs(y2 - y1));
+    }
+
+    /**
+     * @return true if the specified point is inside the rectangle or on its edge.
+     */
+    public boolean contains(float x, float y) {
+        return x >= this.x && x <= this.x + width &&
+               y >= this.y && y <= this.y + height;
+    }
+
+    /**
+     * @return true if the specified position is inside the rectangle or on its edge.
+     */
+    public boolean contains(Position position) {
+        return contains(position.x, position.y);
+    }
+
+    @Override public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        final Rectangle rectangle = (Rectangle) o;
+        return Float.compare(rectangle.x, x) == 0 &&
+               Float.compare(rectangle.y, y) == 0 &&
+               Float.compare(rectangle.width, width) == 0 &&
+               Float.compare(rectangle.height, height) == 0;
+    }
+
+    @Override public int hashCode() {
+        int result = Float.floatToIntBits(x);
+        result = 31 * result + Float.floatToIntBits(y);
+        result = 31 * result + Float.floatToIntBits(width);
+        result = 31 * result + Float.floatToIntBits(height);
+        return result;
+    }
+
+    @Override public String toString() {
+        return "(" + x + "," + y + " " + width + "x" + height + ")";
+    }
+}
@@ -1,48 +1,64 @@
 package org.uiflow.propertyeditor.model.bean;
 
-import com.badlogic.gdx.utils.Array;
+import org.uiflow.utils.ListenerList;
 
 /**
  * Base functionality for Bean implementations.
  */
 public abstract class BeanBase implements Bean {
 
-    private final Array<BeanListener> listeners = new Array<BeanListener>();
+    private final ListenerList<BeanListener> listeners = new ListenerList<BeanListener>(BeanListener.class);
 
-    private final PropertyListener propertyListener = new PropertyListener() {
+    private final PropertyListener propertyListener = new NumberPropertyListener() {
         @Override public void onValueChanged(Bean bean, Property property, Object oldValue, Object newValue) {
-            for (BeanListener listener : listeners) {
+            for (BeanListener listener : listeners.dispatch()) {
                 listener.onValueChanged(bean, property, oldValue, newValue);
             }
         }
 
+        @Override public void onNumberValueChanged(Bean bean, Property property, double oldValue, double newValue) {
+            Number oldBoxedValue = null;
+            Number newBoxedValue = null;
+            for (BeanListener listener : listeners.dispatch()) {
+                if (listener instanceof NumberPropertyListener) {
+                    ((NumberPropertyListener) listener).onNumberValueChanged(bean, property, oldValue, newValue);
+                }
+                else {
+                    // Only box if someone needs it
+                    if (newBoxedValue == null) {
+                        oldBoxedValue = Numbers.box(property.getType(), oldValue);
+                        newBoxedValue = Numbers.box(property.getType(), newValue);
+                    }
+                    listener.onValueChanged(bean, property, oldBoxedValue, newBoxedValue);
+                }
+            }
+        }
+
         @Override public void onValueEditorChanged(Bean bean, Property property) {
-            for (BeanListener listener : listeners) {
+            for (BeanListener listener : listeners.dispatch()) {
                 listener.onValueEditorChanged(bean, property);
             }
         }
 
         @Override public void onPropertyChanged(Bean bean, Property property) {
-            for (BeanListener listener : listeners) {
+            for (BeanListener listener : listeners.dispatch()) {
                 listener.onPropertyChanged(bean, property);
             }
         }
 
         @Override public void onSourceChanged(Bean bean, Property property, Property oldSource, Property newSource) {
-            for (BeanListener listener : listeners) {
+            for (BeanListener listener : listeners.dispatch()) {
                 listener.onSourceChanged(bean, property, oldSource, newSource);
             }
         }
     };
 
     @Override public final void addListener(BeanListener listener) {
-        if (!listeners.contains(listener, true)) {
-            listeners.add(listener);
-        }
+        listeners.add(listener);
     }
 
     @Override public final void removeListener(BeanListener listener) {
-        listeners.removeValue(listener, true);
+        listeners.remove(listener);
     }
 
     /**
@@ -56,7 +72,7 @@ public abstract class BeanBase implements Bean {
      * Notifies all listeners that the name of this bean has changed.
      */
     protected final void notifyBeanNameChanged() {
-        for (BeanListener listener : listeners) {
+        for (BeanListener listener : listeners.dispatch()) {
             listener.onBeanNameChanged(this);
         }
     }
@@ -65,7 +81,7 @@ public abstract class BeanBase implements Bean {
      * Notifies all listeners that a property has been added to this bean.
      */
     protected final void notifyPropertyAdded(Property property) {
-        for (BeanListener listener : listeners) {
+        for (BeanListener listener : listeners.dispatch()) {
             listener.onPropertyAdded(this, property);
         }
     }
@@ -74,7 +90,7 @@ public abstract class BeanBase implements Bean {
      * Notifies all listeners that a property has been removed from this bean.
      */
     protected final void notifyPropertyRemoved(Property property) {
-        for (BeanListener listener : listeners) {
+        for (BeanListener listener : listeners.dispatch()) {
             listener.onPropertyRemoved(this, property);
         }
     }
@@ -1,7 +1,5 @@
 package org.uiflow.propertyeditor.model.bean;
 
-import org.uiflow.propertyeditor.ui.editors.EditorConfiguration;
-
 /**
  * A Bean where properties can be added and removed.
  */
@@ -27,7 +25,7 @@ public interface MutableBean extends Bean {
     Property addProperty(String name,
                          Class type,
                          Object value,
-                         EditorConfiguration editorConfiguration,
+                         PropertyEditorConfiguration editorConfiguration,
                          final PropertyDirection direction);
 
     /**
@@ -0,0 +1,18 @@
+package org.uiflow.propertyeditor.model.bean;
+
+/**
+ * Property with a primitive number value, that can be read and written without boxing.
+ * The generic Property accessors still work, and box the value.
+ */
+public interface NumberProperty extends Property {
+
+    /**
+     * @return current value of this property, or the value of the source property if it is set, as a double.
+     */
+    double getDouble();
+
+    /**
+     * @param value new value for this property.  Converted to the type of the property if necessary.
+     */
+    void setDouble(double value);
+}
@@ -0,0 +1,15 @@
+package org.uiflow.propertyeditor.model.bean;
+
+/**
+ * Property listener that can receive number value changes without boxing.
+ * Number properties call onNumberValueChanged on listeners implementing this interface,
+ * and onValueChanged with boxed values on other listeners.
+ */
+public interface NumberPropertyListener extends PropertyListener {
+
+    /**
+     * Called when the number value of the specified property changes.
+     * Integer and float values are passed as doubles, they are represented exactly.
+     */
+    void onNumberValueChanged(Bean bean, Property property, double oldValue, double newValue);
+}
@@ -0,0 +1,22 @@
+package org.uiflow.propertyeditor.model.bean;
+
+/**
+ * Conversions between primitive number values and the boxed values used by the generic property accessors.
+ */
+final class Numbers {
+
+    /**
+     * @return the value boxed as the specified number type, or as a Double if the type is not a concrete number type.
+     */
+    static Number box(Class type, double value) {
+        if (type == Integer.class)    return (int) value;
+        else if (type == Float.class) return (float) value;
+        else if (type == Long.class)  return (long) value;
+        else if (type == Short.class) return (short) value;
+        else if (type == Byte.class)  return (byte) value;
+        else return value;
+    }
+
+    private Numbers() {
+    }
+}
@@ -1,7 +1,5 @@
 package org.uiflow.propertyeditor.model.bean;
 
-import org.uiflow.propertyeditor.ui.editors.EditorConfiguration;
-
 /**
  * Property with name, type and a value.  May also have another property as source, in which case it will retrieve its value from there.
  */
@@ -74,21 +72,21 @@ public interface Property {
     PropertyDirection getDirection();
 
     /**
-     * Recursively checks whether the specified property is used as source by this property.
+     * Checks whether the specified property is used as source by this property, or by any of its sources.
      */
     boolean usesSourceProperty(Property property);
 
     /**
      * @return the type of editor to use to edit this property and the configuration for it,
-     * or null if it is not editable or viewable.
+     * or null to use the default editor for the type of the property.
      */
-    EditorConfiguration getEditorConfiguration();
+    PropertyEditorConfiguration getEditorConfiguration();
 
     /**
      * @param editorConfiguration the type of editor to use to edit this property and the configuration for it,
-     *                            or null if it is not editable or viewable.
+     *                            or null to use the default editor for the type of the property.
      */
-    void setEditorConfiguration(EditorConfiguration editorConfiguration);
+    void setEditorConfiguration(PropertyEditorConfiguration editorConfiguration);
 
     /**
      * Listen to changes in this property or its value.
@@ -104,6 +102,12 @@ public interface Property {
      * @return true if this property can use the specified one as source.
      */
     boolean canUseSource(Property sourceProperty);
+
+    /**
+     * @return true if the type of the specified property is compatible with this property, so that it could be used as source.
+     *         Does not check whether using it would create a loop of sources.
+     */
+    boolean isCompatibleSource(Property sourceProperty);
 }
 
 
@@ -1,41 +1,36 @@
 package org.uiflow.propertyeditor.model.bean;
 
-import org.uiflow.propertyeditor.ui.editors.EditorConfiguration;
 import org.uiflow.utils.Check;
-
-import java.util.ArrayList;
-import java.util.List;
+import org.uiflow.utils.ListenerList;
 
 /**
  * Implementation of common property functionality.
  */
 public abstract class PropertyBase implements Property {
 
+    private static long suppressedNotificationCount = 0;
+
     private final Class type;
     private Bean bean;
-    private transient boolean loopCheckFlag = false;
     private transient boolean retrievingValueFlag = false;
 
-    private final List<PropertyListener> listeners = new ArrayList<PropertyListener>(4);
+    private final ListenerList<PropertyListener> listeners = new ListenerList<PropertyListener>(PropertyListener.class);
 
 
     private PropertyDirection propertyDirection;
-    private EditorConfiguration editorConfiguration;
+    private PropertyEditorConfiguration editorConfiguration;
     private Property source;
+    private ValueEquality valueEquality;
 
 
 
-    private final PropertyListener sourceListener = new BeanListenerAdapter() {
-        @Override public void onValueChanged(Bean bean, Property property, Object oldValue, Object newValue) {
-            notifyValueChanged(oldValue, newValue);
-        }
-    };
+    private final PropertyListener sourceListener = new SourceListener();
 
     /**
      * @param editorConfiguration the type of editor to use to edit the value of this property, and the configuration for it.
      */
     protected PropertyBase(Class type,
-                           EditorConfiguration editorConfiguration) {
+                           PropertyEditorConfiguration editorConfiguration) {
         this(type, editorConfiguration, PropertyDirection.INOUT);
     }
 
@@ -44,7 +39,7 @@ public abstract class PropertyBase implements Property {
      * @param propertyDirection whether this property is an input or output or both property.
      */
     protected PropertyBase(Class type,
-                           EditorConfiguration editorConfiguration,
+                           PropertyEditorConfiguration editorConfiguration,
                            PropertyDirection propertyDirection) {
         this(type, editorConfiguration, propertyDirection, null);
     }
@@ -55,7 +50,7 @@ public abstract class PropertyBase implements Property {
      * @param bean the bean that this property belongs to, or null if not yet known.
      */
     protected PropertyBase(Class type,
-                           EditorConfiguration editorConfiguration,
+                           PropertyEditorConfiguration editorConfiguration,
                            PropertyDirection propertyDirection,
                            Bean bean) {
         this(type, editorConfiguration, propertyDirection, bean, null);
@@ -69,7 +64,7 @@ public abstract class PropertyBase implements Property {
      * @param source the property to use as source for this property, or null to not use any source.
      */
     protected PropertyBase(Class type,
-                           EditorConfiguration editorConfiguration,
+                           PropertyEditorConfiguration editorConfiguration,
                            PropertyDirection propertyDirection,
                            Bean bean,
                            Property source) {
@@ -78,6 +73,7 @@ public abstract class PropertyBase implements Property {
         this.type = type;
         this.bean = bean;
         this.editorConfiguration = editorConfiguration;
+        this.valueEquality = ValueEqualities.getDefault(type);
 
         setPropertyDirection(propertyDirection);
         if (source != null) setSource(source);
@@ -88,22 +84,20 @@ public abstract class PropertyBase implements Property {
     }
 
     public final boolean usesSourceProperty(Property property) {
-        // Check if we already visited this property
-        if (loopCheckFlag) return false;
-
-        final Property source = getSource();
-
-        // Check if our source directly is the property
-        if (source == property) return true;
-
-        // Recursively look through sources
-        if (source != null) {
-            // Use loop check flag to not get caught in infinite loops if a source property has a loop.
-            loopCheckFlag = true;
-            boolean usedBySource = source.usesSourceProperty(property);
-            loopCheckFlag = false;
-
-            return usedBySource;
+        // Walk the chain of sources without recursion.
+        // The fast pointer moves two steps for each step of the slow one, if they meet the sources contain a loop.
+        Property slow = getSource();
+        Property fast = slow;
+        while (fast != null) {
+            if (fast == property) return true;
+
+            fast = fast.getSource();
+            if (fast == null) return false;
+            if (fast == property) return true;
+
+            fast = fast.getSource();
+            slow = slow.getSource();
+            if (fast == slow) return false;
         }
 
         return false;
@@ -112,9 +106,7 @@ public abstract class PropertyBase implements Property {
     public final void addListener(PropertyListener listener) {
         if (listener == null) throw new IllegalArgumentException("The listener should not be null");
 
-        if (!listeners.contains(listener)) {
-            listeners.add(listener);
-        }
+        listeners.add(listener);
     }
 
     public final void removeListener(PropertyListener listener) {
@@ -122,9 +114,13 @@ public abstract class PropertyBase implements Property {
     }
 
     @Override public boolean canUseSource(Property sourceProperty) {
+        return isCompatibleSource(sourceProperty) &&
+               !sourceProperty.usesSourceProperty(this); // Our source should not use us as a source
+    }
+
+    @Override public boolean isCompatibleSource(Property sourceProperty) {
         return sourceProperty != null &&
                sourceProperty != this &&
-               !sourceProperty.usesSourceProperty(this) && // Our source should not use us as a source
                getType() != null &&
                sourceProperty.getType() != null &&
                getType().isAssignableFrom(sourceProperty.getType()); // Type compatibility
@@ -135,7 +131,7 @@ public abstract class PropertyBase implements Property {
         return propertyDirection;
     }
 
-    @Override public EditorConfiguration getEditorConfiguration() {
+    @Override public PropertyEditorConfiguration getEditorConfiguration() {
         return editorConfiguration;
     }
 
@@ -172,7 +168,7 @@ public abstract class PropertyBase implements Property {
     }
 
 
-    @Override public void setEditorConfiguration(EditorConfiguration editorConfiguration) {
+    @Override public void setEditorConfiguration(PropertyEditorConfiguration editorConfiguration) {
         this.editorConfiguration = editorConfiguration;
         notifyValueEditorChanged();
     }
@@ -188,14 +184,49 @@ public abstract class PropertyBase implements Property {
     }
 
 
+    /**
+     * @return the equality used to decide whether a new value differs from the current one.
+     */
+    public final ValueEquality getValueEquality() {
+        return valueEquality;
+    }
+
+    /**
+     * @param valueEquality the equality used to decide whether a new value differs from the current one.
+     *                      Setting a value equal to the current one changes nothing and notifies no listeners.
+     *                      Defaults to ValueEqualities.getDefault for the type of this property.
+     */
+    public final void setValueEquality(ValueEquality valueEquality) {
+        Check.notNull(valueEquality, "valueEquality");
+        this.valueEquality = valueEquality;
+    }
+
+    /**
+     * @return number of value changes that were skipped by all properties because the new value was equal to the old one,
+     *         and so did not notify any listeners.
+     */
+    public static long getSuppressedNotificationCount() {
+        return suppressedNotificationCount;
+    }
+
+    /**
+     * Resets the suppressed notification counter to zero.
+     */
+    public static void resetSuppressedNotificationCount() {
+        suppressedNotificationCount = 0;
+    }
+
     @Override public final void setValue(Object value) {
         Object oldValue = getValue();
-        if (oldValue != value) {
+        if (!isUnchanged(oldValue, value)) {
             doSetValue(value);
 
+            // The stored value may differ from the given one, e.g. when a number is converted to the type of the property
+            final Object newValue = getValue();
+
             // Only notify about value change if the value returned by get() would change
-            if (source == null) {
-                notifyValueChanged(oldValue, value);
+            if (source == null && oldValue != newValue && !valueEquality.isEqual(oldValue, newValue)) {
+                notifyValueChanged(oldValue, newValue);
             }
         }
     }
@@ -230,6 +261,30 @@ public abstract class PropertyBase implements Property {
      */
     protected abstract void doSetValue(Object value);
 
+    /**
+     * @return true if the new value is equal to the old one according to the value equality of this property.
+     *         Counts the change as a suppressed notification if so.
+     */
+    protected final boolean isUnchanged(Object oldValue, Object newValue) {
+        if (oldValue == newValue || valueEquality.isEqual(oldValue, newValue)) {
+            suppressedNotificationCount++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return true if the new number value is equal to the old one according to the value equality of this property.
+     *         Counts the change as a suppressed notification if so.
+     */
+    protected final boolean isUnchanged(double oldValue, double newValue) {
+        if (valueEquality.isEqual(oldValue, newValue)) {
+            suppressedNotificationCount++;
+            return true;
+        }
+        return false;
+    }
+
     public final void setBean(Bean bean) {
         // Null values not allowed
         if (bean == null) throw new IllegalArgumentException("The bean can not be null");
@@ -266,13 +321,13 @@ public abstract class PropertyBase implements Property {
      * Notifies all listeners that something other than the value of this property has changed.
      */
     protected final void notifyPropertyChanged() {
-        for (PropertyListener listener : listeners) {
+        for (PropertyListener listener : listeners.dispatch()) {
             listener.onPropertyChanged(bean, this);
         }
     }
 
     protected final void notifyValueEditorChanged() {
-        for (PropertyListener listener : listeners) {
+        for (PropertyListener listener : listeners.dispatch()) {
             listener.onValueEditorChanged(bean, this);
         }
     }
@@ -281,18 +336,54 @@ public abstract class PropertyBase implements Property {
      * Notifies all listeners that the value of this property has changed.
      */
     protected final void notifyValueChanged(Object oldValue, Object newValue) {
-        for (PropertyListener listener : listeners) {
+        for (PropertyListener listener : listeners.dispatch()) {
             listener.onValueChanged(bean, this, oldValue, newValue);
         }
     }
 
+    /**
+     * Notifies all listeners that the number value of this property has changed.
+     * Listeners implementing NumberPropertyListener get the primitive values,
+     * other listeners get the values boxed as the type of this property.
+     */
+    protected final void notifyNumberValueChanged(double oldValue, double newValue) {
+        Number oldBoxedValue = null;
+        Number newBoxedValue = null;
+        for (PropertyListener listener : listeners.dispatch()) {
+            if (listener instanceof NumberPropertyListener) {
+                ((NumberPropertyListener) listener).onNumberValueChanged(bean, this, oldValue, newValue);
+            }
+            else {
+                // Only box if someone needs it
+                if (newBoxedValue == null) {
+                    oldBoxedValue = Numbers.box(type, oldValue);
+                    newBoxedValue = Numbers.box(type, newValue);
+                }
+                listener.onValueChanged(bean, this, oldBoxedValue, newBoxedValue);
+            }
+        }
+    }
+
     /**
      * Notifies all listeners that the source of this property has changed.
      */
     protected final void notifySourceChanged(Property oldSource, Property newSource) {
-        for (PropertyListener listener : listeners) {
+        for (PropertyListener listener : listeners.dispatch()) {
             listener.onSourceChanged(bean, this, oldSource, newSource);
         }
     }
 
+    /**
+     * Forwards value changes of the source property to the listeners of this property.
+     */
+    private final class SourceListener extends BeanListenerAdapter implements NumberPropertyListener {
+        @Override public void onValueChanged(Bean bean, Property property, Object oldValue, Object newValue) {
+            notifyValueChanged(oldValue, newValue);
+        }
+
+        @Override public void onNumberValueChanged(Bean bean, Property property, double oldValue, double newValue) {
+            notifyNumberValueChanged(oldValue, newValue);
+        }
+    }
+
 }
@@ -0,0 +1,10 @@
+package org.uiflow.propertyeditor.model.bean;
+
+/**
+ * Information about how the value of a Property should be edited, e.g. allowed ranges for numbers.
+ *
+ * The model only stores the configuration, it is interpreted by the user interface.
+ * A property without a configuration is edited with the default editor for its type.
+ */
+public interface PropertyEditorConfiguration {
+}
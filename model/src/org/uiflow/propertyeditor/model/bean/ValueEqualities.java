@@ -0,0 +1,103 @@
+package org.uiflow.propertyeditor.model.bean;
+
+import org.uiflow.utils.Check;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Standard ValueEquality implementations, and the default equality to use for each value type.
+ */
+public final class ValueEqualities {
+
+    /**
+     * Values are only equal if they are the same object.  Used for mutable values such as beans.
+     */
+    public static final ValueEquality IDENTITY = new ValueEquality() {
+        @Override public boolean isEqual(Object a, Object b) {
+            return a == b;
+        }
+
+        @Override public boolean isEqual(double a, double b) {
+            return a == b;
+        }
+    };
+
+    /**
+     * Values are equal if their equals method says so.  Used for immutable values such as strings.
+     */
+    public static final ValueEquality EQUALS = new ValueEquality() {
+        @Override public boolean isEqual(Object a, Object b) {
+            return a == b || (a != null && a.equals(b));
+        }
+
+        @Override public boolean isEqual(double a, double b) {
+            return a == b;
+        }
+    };
+
+    /**
+     * Numbers are equal if their primitive values are equal, regardless of boxing.  NaN is considered equal to NaN.
+     */
+    public static final ValueEquality NUMBER = epsilon(0);
+
+    private static final Map<Class, ValueEquality> defaultEqualities = new HashMap<Class, ValueEquality>();
+    static {
+        setDefault(Double.class, NUMBER);
+        setDefault(Float.class, NUMBER);
+        setDefault(Integer.class, EQUALS);
+        setDefault(Long.class, EQUALS);
+        setDefault(Short.class, EQUALS);
+        setDefault(Byte.class, EQUALS);
+        setDefault(Boolean.class, EQUALS);
+        setDefault(Character.class, EQUALS);
+        setDefault(String.class, EQUALS);
+    }
+
+    /**
+     * @param epsilon largest difference between two numbers that are still considered equal.
+     * @return an equality that considers numbers equal if they differ by at most epsilon.
+     *         Values that are not numbers are compared with equals.
+     */
+    public static ValueEquality epsilon(final double epsilon) {
+        Check.positiveOrZero(epsilon, "epsilon");
+
+        return new ValueEquality() {
+            @Override public boolean isEqual(Object a, Object b) {
+                if (a == b) return true;
+                if (a instanceof Number && b instanceof Number) {
+                    return isEqual(((Number) a).doubleValue(), ((Number) b).doubleValue());
+                }
+                return a != null && a.equals(b);
+            }
+
+            @Override public boolean isEqual(double a, double b) {
+                if (a == b) return true;
+                if (a != a) return b != b; // NaN
+                return Math.abs(a - b) <= epsilon;
+            }
+        };
+    }
+
+    /**
+     * @return the equality used by properties of the specified type, unless they are configured otherwise.
+     *         IDENTITY if no default has been set for the exact type.
+     */
+    public static ValueEquality getDefault(Class type) {
+        final ValueEquality equality = defaultEqualities.get(type);
+        return equality != null ? equality : IDENTITY;
+    }
+
+    /**
+     * Sets the equality to use for properties of the specified type.  Affects properties created after the call.
+     */
+    public static void setDefault(Class type, ValueEquality equality) {
+        Check.notNull(type, "type");
+        Check.notNull(equality, "equality");
+
+        defaultEqualities.put(type, equality);
+    }
+
+    private ValueEqualities() {
+    }
+}
@@ -0,0 +1,18 @@
+package org.uiflow.propertyeditor.model.bean;
+
+/**
+ * Decides whether a new value for a property is equal to the old one, in which case no change is made or notified.
+ * See ValueEqualities for the standard implementations and the defaults used for each value type.
+ */
+public interface ValueEquality {
+
+    /**
+     * @return true if the two values should be considered equal.  Either value may be null.
+     */
+    boolean isEqual(Object a, Object b);
+
+    /**
+     * @return true if the two number values should be considered equal.
+     */
+    boolean isEqual(double a, double b);
+}
@@ -0,0 +1,37 @@
+package org.uiflow.propertyeditor.model.bean.dynamic;
+
+import org.uiflow.propertyeditor.model.bean.PropertyDirection;
+import org.uiflow.propertyeditor.model.bean.PropertyEditorConfiguration;
+
+/**
+ * Dynamic property that stores a double value without boxing it.
+ */
+public class DoubleProperty extends DynamicNumberProperty {
+
+    private double value;
+
+    /**
+     * @param name user readable name of this property.
+     * @param editorConfiguration the type of editor to use to edit the value of this property, and the configuration for it.
+     * @param value initial value of this property.
+     * @param propertyDirection whether this property is an input or output or both property.
+     */
+    public DoubleProperty(String name,
+                          PropertyEditorConfiguration editorConfiguration,
+                          double value,
+                          PropertyDirection propertyDirection) {
+        super(name, Double.class, editorConfiguration, value, propertyDirection);
+    }
+
+    @Override public <T> T getValue() {
+        return (T) (Double) value;
+    }
+
+    @Override protected double getOwnValue() {
+        return value;
+    }
+
+    @Override protected void setOwnValue(double value) {
+        this.value = value;
+    }
+}
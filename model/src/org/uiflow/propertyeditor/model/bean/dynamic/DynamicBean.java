@@ -0,0 +1,362 @@
+package org.uiflow.propertyeditor.model.bean.dynamic;
+
+import org.uiflow.propertyeditor.model.bean.*;
+
+import java.util.*;
+
+/**
+ * Simple implementation of Bean that allows properties to be added and removed on the fly.
+ * Properties added with the typed add methods use the default editor for their type.
+ */
+public class DynamicBean extends BeanBase implements MutableBean {
+
+    private String name;
+    private final List<Property> properties = new ArrayList<Property>();
+
+    private transient List<Property> readOnlyProperties;
+
+    public DynamicBean() {
+        this(null);
+    }
+
+    /**
+     * @param name user readable name for the bean.
+     * @param initialProperties zero or more initial properties of the bean.
+     */
+    public DynamicBean(String name, Property ... initialProperties) {
+        this(name, initialProperties.length == 0 ? null : Arrays.asList(initialProperties));
+    }
+
+    /**
+     * @param name user readable name for the bean.
+     * @param initialProperties initial properties of the bean.
+     */
+    public DynamicBean(String name, Collection<Property> initialProperties) {
+        setName(name);
+
+        if (initialProperties != null) {
+            for (Property initialProperty : initialProperties) {
+                addProperty(initialProperty);
+            }
+        }
+    }
+
+    @Override public String getName() {
+        return name;
+    }
+
+    /**
+     * Set the user readable name of this bean.
+     */
+    public void setName(String name) {
+        if (this.name != name) {
+            this.name = name;
+            notifyBeanNameChanged();
+        }
+    }
+
+    @Override public List<Property> getProperties() {
+        if (readOnlyProperties == null) {
+            readOnlyProperties = Collections.unmodifiableList(properties);
+        }
+
+        return readOnlyProperties;
+    }
+
+    /**
+     * Adds a new bean type property to this bean.
+     *
+     * @param name name of the property
+     * @return the added property
+     */
+    public Property addBean(String name) {
+        return addBean(name, null);
+    }
+
+    /**
+     * Adds a new bean type property to this bean.
+     *
+     * @param name name of the property
+     * @param value initial value for the property
+     * @return the added property
+     */
+    public Property addBean(String name, Bean value) {
+        return addBean(name, value, PropertyDirection.INOUT);
+    }
+
+    /**
+     * Adds a new bean type property to this bean.
+     *
+     * @param name name of the property
+     * @param value initial value for the property
+     * @param direction whether this is an input or output property.
+     * @return the added property
+     */
+    public Property addBean(String name, Bean value, final PropertyDirection direction) {
+        return addProperty(name, Bean.class, value, null, direction);
+    }
+
+    /**
+     * Adds a new string type property to this bean.
+     *
+     * @param name name of the property
+     * @return the added property
+     */
+    public Property addString(String name) {
+        return addString(name, "");
+    }
+
+    /**
+     * Adds a new string type property to this bean.
+     *
+     * @param name name of the property
+     * @param value initial value for the property
+     * @return the added property
+     */
+    public Property addString(String name, String value) {
+        return addString(name, value, PropertyDirection.INOUT);
+    }
+
+    /**
+     * Adds a new string type property to this bean.
+     *
+     * @param name name of the property
+     * @param value initial value for the property
+     * @param direction whether this is an input or output property.
+     * @return the added property
+     */
+    public Property addString(String name, String value, final PropertyDirection direction) {
+        return addProperty(name, String.class, value, null, direction);
+    }
+
+    /**
+     * Adds a new double type property to this bean.
+     *
+     * @param name name of the property
+     * @return the added property
+     */
+    public Property addDouble(String name) {
+        return addDouble(name, 0, PropertyDirection.INOUT);
+    }
+
+    /**
+     * Adds a new double type property to this bean.
+     *
+     * @param name name of the property
+     * @param value initial value for the property
+     * @return the added property
+     */
+    public Property addDouble(String name, double value) {
+        return addDouble(name, value, PropertyDirection.INOUT);
+    }
+
+    /**
+     * Adds a new double type property to this bean.
+     *
+     * @param name name of the property
+     * @param value initial value for the property
+     * @param direction whether this is an input or output property.
+     * @return the added property
+     */
+    public Property addDouble(String name, double value, final PropertyDirection direction) {
+        return addProperty(name, Double.class, value, null, direction);
+    }
+
+    /**
+     * Adds a new float type property to this bean.
+     *
+     * @param name name of the property
+     * @return the added property
+     */
+    public Property addFloat(String name) {
+        return addFloat(name, 0);
+    }
+
+    /**
+     * Adds a new float type property to this bean.
+     *
+     * @param name name of the property
+     * @param value initial value for the property
+     * @return the added property
+     */
+    public Property addFloat(String name, float value) {
+        return addFloat(name, value, PropertyDirection.INOUT);
+    }
+
+    /**
+     * Adds a new float type property to this bean.
+     *
+     * @param name name of the property
+     * @param value initial value for the property
+     * @param direction whether this is an input or output property.
+     * @return the added property
+     */
+    public Property addFloat(String name, float value, final PropertyDirection direction) {
+        return addProperty(name, Float.class, value, null, direction);
+    }
+
+
+    /**
+     * Adds a new integer type property to this bean.
+     *
+     * @param name name of the property
+     * @return the added property
+     */
+    public Property addInt(String name) {
+        return addInt(name, 0);
+    }
+
+    /**
+     * Adds a new integer type property to this bean.
+     *
+     * @param name name of the property
+     * @param value initial value for the property
+     * @return the added property
+     */
+    public Property addInt(String name, int value) {
+        return addInt(name, value, PropertyDirection.INOUT);
+    }
+
+    /**
+     * Adds a new integer type property to this bean.
+     *
+     * @param name name of the property
+     * @param value initial value for the property
+     * @param direction whether this is an input or output property.
+     * @return the added property
+     */
+    public Property addInt(String name, int value, final PropertyDirection direction) {
+        return addProperty(name, Integer.class, value, null, direction);
+    }
+
+    /**
+     * Adds a new property to this bean, with an initial value or null.
+     * @param name name of the property
+     * @param editorConfiguration editor configuration for the property, or null to use the default editor for its type.
+     * @param direction whether this is an input or output property.
+     * @return the added property
+     */
+    public Property addProperty(String name,
+                                Class type,
+                                PropertyEditorConfiguration editorConfiguration,
+                                final PropertyDirection direction) {
+        return addProperty(name, type, null, editorConfiguration, direction);
+    }
+
+    /**
+     * Adds a new property to this bean.
+     * @param name name of the property
+     * @param value initial value for the property
+     * @param editorConfiguration editor configuration for the property, or null to use the default editor for its type.
+     * @param direction whether this is an input or output property.
+     * @return the added property
+     */
+    public Property addProperty(String name,
+                                Class type,
+                                Object value,
+                                PropertyEditorConfiguration editorConfiguration,
+                                final PropertyDirection direction) {
+        final DynamicProperty property = createProperty(name, type, value, editorConfiguration, direction);
+        addProperty(property);
+        return property;
+    }
+
+    /**
+     * Creates a property of the specified type.  Double, float and integer properties store their values as primitives.
+     * @param name name of the property
+     * @param value initial value for the property
+     * @param editorConfiguration editor configuration for the property, or null to use the default editor for its type.
+     * @param direction whether this is an input or output property.
+     * @return the created property
+     */
+    protected DynamicProperty createProperty(String name,
+                                             Class type,
+                                             Object value,
+                                             PropertyEditorConfiguration editorConfiguration,
+                                             final PropertyDirection direction) {
+        if (type == Double.class) {
+            return new DoubleProperty(name, editorConfiguration, value == null ? 0 : ((Number) value).doubleValue(), direction);
+        }
+        else if (type == Float.class) {
+            return new FloatProperty(name, editorConfiguration, value == null ? 0 : ((Number) value).floatValue(), direction);
+        }
+        else if (type == Integer.class) {
+            return new IntProperty(name, editorConfiguration, value == null ? 0 : ((Number) value).intValue(), direction);
+        }
+        else {
+            return new DynamicProperty(name, type, editorConfiguration, value, direction);
+        }
+    }
+
+    /**
+     * Adds a new property to this bean.
+     */
+    public Property addProperty(Property property) {
+        if (property == null) throw new IllegalArgumentException("The property can not be null");
+        if (properties.contains(property)) throw new IllegalArgumentException("The properties already contain the property" + property);
+
+        property.setBean(this);
+
+        property.addListener(getPropertyListener());
+
+        properties.add(property);
+
+        notifyPropertyAdded(property);
+
+        return property;
+    }
+
+    /**
+     * Removes a property from this bean.
+     */
+    public void removeProperty(Property property) {
+        if (property == null) throw new IllegalArgumentException("The property can not be null");
+        if (!properties.contains(property)) throw new IllegalArgumentException("The properties do not contain the property" + property);
+
+        property.removeListener(getPropertyListener());
+
+        properties.remove(property);
+
+        notifyPropertyRemoved(property);
+    }
+
+    @Override public Property getProperty(String propertyName) {
+        if (propertyName == null) return null;
+
+        for (Property property : properties) {
+            if (propertyName.equals(property.getName())) {
+                return property;
+            }
+        }
+
+        return null;
+    }
+
+    @Override public String toString() {
+        return getName();
+    }
+
+    @Override
+    protected Bean createCopiedInstance() {
+        // Create empty copy
+        DynamicBean copy = createEmptyCopy();
+
+        // Copy properties
+        for (Property property : properties) {
+            copy.addProperty(property.getName(),
+                             property.getType(),
+                             property.get(),
+                             property.getEditorConfiguration(),
+                             property.getDirection());
+        }
+
+        return copy;
+    }
+
+    /**
+     * @return new bean of the same type as this bean, with the same name but without any properties.
+     */
+    protected DynamicBean createEmptyCopy() {
+        return new DynamicBean(getName());
+    }
+}
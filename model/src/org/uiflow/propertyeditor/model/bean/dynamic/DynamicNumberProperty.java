@@ -0,0 +1,71 @@
+package org.uiflow.propertyeditor.model.bean.dynamic;
+
+import org.uiflow.propertyeditor.model.bean.NumberProperty;
+import org.uiflow.propertyeditor.model.bean.Property;
+import org.uiflow.propertyeditor.model.bean.PropertyDirection;
+import org.uiflow.propertyeditor.model.bean.PropertyEditorConfiguration;
+
+/**
+ * Common functionality for dynamic properties that store their value as a primitive number.
+ * The value can be read and written without boxing with getDouble and setDouble,
+ * the generic accessors box the value to the type of the property.
+ */
+public abstract class DynamicNumberProperty extends DynamicProperty implements NumberProperty {
+
+    /**
+     * @param name user readable name of this property.
+     * @param type boxed number type of the property.
+     * @param editorConfiguration the type of editor to use to edit the value of this property, and the configuration for it.
+     * @param value initial value of this property.
+     * @param propertyDirection whether this property is an input or output or both property.
+     */
+    protected DynamicNumberProperty(String name,
+                                    Class<? extends Number> type,
+                                    PropertyEditorConfiguration editorConfiguration,
+                                    Number value,
+                                    PropertyDirection propertyDirection) {
+        super(name, type, editorConfiguration, value, propertyDirection);
+    }
+
+    @Override public final double getDouble() {
+        final Property source = getSource();
+        if (source == null) {
+            return getOwnValue();
+        }
+        else if (source instanceof NumberProperty) {
+            return ((NumberProperty) source).getDouble();
+        }
+        else {
+            final Number value = source.get();
+            return value == null ? 0 : value.doubleValue();
+        }
+    }
+
+    @Override public final void setDouble(double value) {
+        final double oldValue = getOwnValue();
+        if (!isUnchanged(oldValue, value)) {
+            setOwnValue(value);
+            final double newValue = getOwnValue();
+
+            // Only notify about value change if the value returned by getDouble() would change.
+            // A value that converts to the stored one is not counted as a suppressed notification.
+            if (getSource() == null && !getValueEquality().isEqual(oldValue, newValue)) {
+                notifyNumberValueChanged(oldValue, newValue);
+            }
+        }
+    }
+
+    @Override protected final void doSetValue(Object value) {
+        setOwnValue(value == null ? 0 : ((Number) value).doubleValue());
+    }
+
+    /**
+     * @return the value stored in this property, ignoring any source.
+     */
+    protected abstract double getOwnValue();
+
+    /**
+     * @param value new value to store in this property, converted to the type of the property.
+     */
+    protected abstract void setOwnValue(double value);
+}
@@ -4,7 +4,7 @@ import org.uiflow.propertyeditor.model.bean.Bean;
 import org.uiflow.propertyeditor.model.bean.Property;
 import org.uiflow.propertyeditor.model.bean.PropertyBase;
 import org.uiflow.propertyeditor.model.bean.PropertyDirection;
-import org.uiflow.propertyeditor.ui.editors.EditorConfiguration;
+import org.uiflow.propertyeditor.model.bean.PropertyEditorConfiguration;
 
 /**
  * Simple implementation of Property.
@@ -21,7 +21,7 @@ public class DynamicProperty extends PropertyBase {
      */
     public DynamicProperty(String name,
                            Class type,
-                           EditorConfiguration editorConfiguration) {
+                           PropertyEditorConfiguration editorConfiguration) {
         this(name, type, editorConfiguration, null, PropertyDirection.INOUT);
     }
 
@@ -32,7 +32,7 @@ public class DynamicProperty extends PropertyBase {
      */
     public DynamicProperty(String name,
                            Class type,
-                           EditorConfiguration editorConfiguration,
+                           PropertyEditorConfiguration editorConfiguration,
                            Object value) {
         this(name, type, editorConfiguration, value, PropertyDirection.INOUT);
     }
@@ -45,7 +45,7 @@ public class DynamicProperty extends PropertyBase {
      */
     public DynamicProperty(String name,
                            Class type,
-                           EditorConfiguration editorConfiguration,
+                           PropertyEditorConfiguration editorConfiguration,
                            Object value,
                            PropertyDirection propertyDirection) {
         this(name, type, editorConfiguration, value, propertyDirection, null);
@@ -60,7 +60,7 @@ public class DynamicProperty extends PropertyBase {
      */
     public DynamicProperty(String name,
                            Class type,
-                           EditorConfiguration editorConfiguration,
+                           PropertyEditorConfiguration editorConfiguration,
                            Object value,
                            PropertyDirection propertyDirection,
                            Bean bean) {
@@ -77,14 +77,16 @@ public class DynamicProperty extends PropertyBase {
      */
     public DynamicProperty(String name,
                            Class type,
-                           EditorConfiguration editorConfiguration,
+                           PropertyEditorConfiguration editorConfiguration,
                            Object value,
                            PropertyDirection propertyDirection,
                            Bean bean,
                            Property source) {
         super(type, editorConfiguration, propertyDirection, bean, source);
         setName(name);
-        setValue(value);
+
+        // Nothing listens yet, so store the initial value directly instead of counting an unchanged value as suppressed
+        doSetValue(value);
     }
 
     @Override public String getName() {
@@ -0,0 +1,51 @@
+package org.uiflow.propertyeditor.model.bean.dynamic;
+
+import org.uiflow.propertyeditor.model.bean.PropertyDirection;
+import org.uiflow.propertyeditor.model.bean.PropertyEditorConfiguration;
+
+/**
+ * Dynamic property that stores a float value without boxing it.
+ */
+public class FloatProperty extends DynamicNumberProperty {
+
+    private float value;
+
+    /**
+     * @param name user readable name of this property.
+     * @param editorConfiguration the type of editor to use to edit the value of this property, and the configuration for it.
+     * @param value initial value of this property.
+     * @param propertyDirection whether this property is an input or output or both property.
+     */
+    public FloatProperty(String name,
+                         PropertyEditorConfiguration editorConfiguration,
+                         float value,
+                         PropertyDirection propertyDirection) {
+        super(name, Float.class, editorConfiguration, value, propertyDirection);
+    }
+
+    /**
+     * @return current value of this property, or the value of the source property if it is set.
+     */
+    public float getFloat() {
+        return (float) getDouble();
+    }
+
+    /**
+     * @param value new value for this property.
+     */
+    public void setFloat(float value) {
+        setDouble(value);
+    }
+
+    @Override public <T> T getValue() {
+        return (T) (Float) value;
+    }
+
+    @Override protected double getOwnValue() {
+        return value;
+    }
+
+    @Override protected void setOwnValue(double value) {
+        this.value = (float) value;
+    }
+}
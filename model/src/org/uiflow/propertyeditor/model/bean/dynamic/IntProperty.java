@@ -0,0 +1,51 @@
+package org.uiflow.propertyeditor.model.bean.dynamic;
+
+import org.uiflow.propertyeditor.model.bean.PropertyDirection;
+import org.uiflow.propertyeditor.model.bean.PropertyEditorConfiguration;
+
+/**
+ * Dynamic property that stores an integer value without boxing it.
+ */
+public class IntProperty extends DynamicNumberProperty {
+
+    private int value;
+
+    /**
+     * @param name user readable name of this property.
+     * @param editorConfiguration the type of editor to use to edit the value of this property, and the configuration for it.
+     * @param value initial value of this property.
+     * @param propertyDirection whether this property is an input or output or both property.
+     */
+    public IntProperty(String name,
+                       PropertyEditorConfiguration editorConfiguration,
+                       int value,
+                       PropertyDirection propertyDirection) {
+        super(name, Integer.class, editorConfiguration, value, propertyDirection);
+    }
+
+    /**
+     * @return current value of this property, or the value of the source property if it is set.
+     */
+    public int getInt() {
+        return (int) getDouble();
+    }
+
+    /**
+     * @param value new value for this property.
+     */
+    public void setInt(int value) {
+        setDouble(value);
+    }
+
+    @Override public <T> T getValue() {
+        return (T) (Integer) value;
+    }
+
+    @Override protected double getOwnValue() {
+        return value;
+    }
+
+    @Override protected void setOwnValue(double value) {
+        this.value = (int) value;
+    }
+}
@@ -1,13 +1,16 @@
 package org.uiflow.propertyeditor.model.beangraph;
 
-import com.badlogic.gdx.math.Vector2;
+import org.uiflow.propertyeditor.model.Position;
+import org.uiflow.propertyeditor.model.Rectangle;
 import org.uiflow.propertyeditor.model.BeanContainer;
 import org.uiflow.propertyeditor.model.bean.Bean;
 import org.uiflow.propertyeditor.model.bean.BeanDelegate;
 import org.uiflow.propertyeditor.model.bean.MutableBean;
+import org.uiflow.propertyeditor.model.bean.Property;
 import org.uiflow.propertyeditor.model.bean.dynamic.DynamicBean;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -21,7 +24,7 @@ public interface BeanGraph extends Bean, BeanContainer<BeanGraphListener> {
      * @param position position in the graph to add the bean at.
      *                 A copy of this vector should be made, so the vector passed as a parameter can be modified later.
      */
-    Bean addBean(Bean bean, Vector2 position);
+    Bean addBean(Bean bean, Position position);
 
     /**
      * @param bean bean to add to the graph.
@@ -43,7 +46,7 @@ public interface BeanGraph extends Bean, BeanContainer<BeanGraphListener> {
     /**
      * @return read only map with beans in the graph and their positions.
      */
-    Map<Bean, Vector2> getBeansAndPositions();
+    Map<Bean, Position> getBeansAndPositions();
 
     /**
      * Changes the position of the specified bean.
@@ -51,7 +54,7 @@ public interface BeanGraph extends Bean, BeanContainer<BeanGraphListener> {
      * @param bean bean to move
      * @param position a copy of the vector should be made, so that the vector object passed as a parameter can be changed later.
      */
-    void setBeanPosition(Bean bean, Vector2 position);
+    void setBeanPosition(Bean bean, Position position);
 
     /**
      * Changes the position of the specified bean.
@@ -63,7 +66,7 @@ public interface BeanGraph extends Bean, BeanContainer<BeanGraphListener> {
      * @param bean bean to get the position of.
      * @return the bean position vector.
      */
-    Vector2 getBeanPosition(Bean bean);
+    Position getBeanPosition(Bean bean);
 
     /**
      * Returns the position of the specified bean
@@ -71,7 +74,33 @@ public interface BeanGraph extends Bean, BeanContainer<BeanGraphListener> {
      * @param positionOut output vector to write bean position to, if not null.
      * @return the positionOut parameter with the bean position if it was not null, the bean position vector otherwise.
      */
-    Vector2 getBeanPosition(Bean bean, Vector2 positionOut);
+    Position getBeanPosition(Bean bean, Position positionOut);
+
+    /**
+     * @param area area to get the beans in.
+     * @return new list with the beans whose positions are within the area, including its edges.
+     */
+    List<Bean> getBeansIn(Rectangle area);
+
+    /**
+     * Uses a spatial index, so only the beans near the area are checked.
+     *
+     * @param area area to get the beans in.
+     * @param beansOut collection to add the beans whose positions are within the area, including its edges, to.
+     * @return beansOut.
+     */
+    Collection<Bean> getBeansIn(Rectangle area, Collection<Bean> beansOut);
+
+    /**
+     * @return the bean closest to the specified position, or null if the graph has no beans.
+     */
+    Bean getNearestBean(float x, float y);
+
+    /**
+     * @param maxDistance maximum distance from the specified position to the bean.
+     * @return the bean closest to the specified position, or null if there is no bean within maxDistance of it.
+     */
+    Bean getNearestBean(float x, float y, float maxDistance);
 
     /**
      * @return true if the specified bean is contained in this graph.
@@ -104,4 +133,29 @@ public interface BeanGraph extends Bean, BeanContainer<BeanGraphListener> {
      */
     BeanDelegate getInternalOutputBean();
 
+    /**
+     * @return topologically sorted evaluation plan for the properties of the beans in this graph.
+     *         The plan is compiled when needed, and cached until beans are added or removed or the source of a property changes.
+     */
+    EvaluationPlan getEvaluationPlan();
+
+    /**
+     * Faster version of property.canUseSource(sourceProperty) for properties in this graph,
+     * uses an index of the source connections in the graph to check for loops.
+     *
+     * @return true if the property can use the source property as its source.
+     */
+    boolean canUseSource(Property property, Property sourceProperty);
+
+    /**
+     * @return read only list of the properties in this graph that use the specified property directly as their source.
+     */
+    List<Property> getDependents(Property property);
+
+    /**
+     * @return new list with the properties in this graph that use the specified property as their source,
+     *         directly or through other properties, closest dependents first.
+     */
+    List<Property> getTransitiveDependents(Property property);
+
 }
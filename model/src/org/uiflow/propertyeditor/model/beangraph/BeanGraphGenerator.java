@@ -0,0 +1,263 @@
+package org.uiflow.propertyeditor.model.beangraph;
+
+import org.uiflow.propertyeditor.model.bean.Property;
+import org.uiflow.propertyeditor.model.bean.PropertyDirection;
+import org.uiflow.propertyeditor.model.bean.dynamic.DynamicBean;
+import org.uiflow.utils.Check;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates synthetic bean graphs of configurable size and shape, for stress testing and benchmarking.
+ *
+ * The beans are divided into layers, and the inputs of a bean are connected to outputs of the same type
+ * in the previous layer.  The outputs of a bean are in turn connected to inputs of the same type in the same bean,
+ * so values propagate through all layers, and the number of layers controls the length of the source chains.
+ * Graphs generated with the same seed and settings are identical.
+ */
+public final class BeanGraphGenerator {
+
+    // Double, integer, string and bean
+    private static final int TYPE_COUNT = 4;
+
+    private final long seed;
+    private int nodeCount = 100;
+    private int inputsPerBean = 2;
+    private int outputsPerBean = 2;
+    private double connectionProbability = 0.8;
+    private int depth = 10;
+    private final double[] typeWeights = {1, 1, 1, 1};
+    private float layoutSpread = 1;
+
+    /**
+     * @param seed seed for the random number generator, graphs generated with the same seed and settings are identical.
+     */
+    public BeanGraphGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * @param seed seed for the random number generator.
+     * @param nodeCount number of beans to generate.
+     * @param depth number of layers to divide the beans into.
+     */
+    public BeanGraphGenerator(long seed, int nodeCount, int depth) {
+        this(seed);
+        setNodeCount(nodeCount);
+        setDepth(depth);
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * @param nodeCount number of beans to generate.
+     */
+    public void setNodeCount(int nodeCount) {
+        Check.positiveOrZero(nodeCount, "nodeCount");
+        this.nodeCount = nodeCount;
+    }
+
+    public int getInputsPerBean() {
+        return inputsPerBean;
+    }
+
+    /**
+     * @param inputsPerBean number of input properties of each bean, the maximum fan-in of a bean.
+     */
+    public void setInputsPerBean(int inputsPerBean) {
+        Check.positiveOrZero(inputsPerBean, "inputsPerBean");
+        this.inputsPerBean = inputsPerBean;
+    }
+
+    public int getOutputsPerBean() {
+        return outputsPerBean;
+    }
+
+    /**
+     * @param outputsPerBean number of output properties of each bean.
+     *                       On average each output is used as a source by
+     *                       inputsPerBean * connectionProbability / outputsPerBean inputs in the next layer.
+     */
+    public void setOutputsPerBean(int outputsPerBean) {
+        Check.positiveOrZero(outputsPerBean, "outputsPerBean");
+        this.outputsPerBean = outputsPerBean;
+    }
+
+    public double getConnectionProbability() {
+        return connectionProbability;
+    }
+
+    /**
+     * @param connectionProbability probability that an input is connected to an output in the previous layer,
+     *                              and that an output is connected to an input of the same bean,
+     *                              if there is a property of the same type to connect to.
+     */
+    public void setConnectionProbability(double connectionProbability) {
+        Check.inRangeZeroToOne(connectionProbability, "connectionProbability");
+        this.connectionProbability = connectionProbability;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * @param depth number of layers the beans are divided into.
+     *              A chain of sources passes at most once through each layer.
+     */
+    public void setDepth(int depth) {
+        Check.positive(depth, "depth");
+        this.depth = depth;
+    }
+
+    /**
+     * Sets the relative weights of the property types.
+     * The weights do not need to add up to one, but at least one needs to be positive.
+     */
+    public void setTypeMix(double doubleWeight, double intWeight, double stringWeight, double beanWeight) {
+        Check.positiveOrZero(doubleWeight, "doubleWeight");
+        Check.positiveOrZero(intWeight, "intWeight");
+        Check.positiveOrZero(stringWeight, "stringWeight");
+        Check.positiveOrZero(beanWeight, "beanWeight");
+        Check.positive(doubleWeight + intWeight + stringWeight + beanWeight, "sum of type weights");
+
+        typeWeights[0] = doubleWeight;
+        typeWeights[1] = intWeight;
+        typeWeights[2] = stringWeight;
+        typeWeights[3] = beanWeight;
+    }
+
+    public float getLayoutSpread() {
+        return layoutSpread;
+    }
+
+    /**
+     * @param layoutSpread average distance between neighbouring beans, in graph coordinates.
+     *                     The beans are placed in a square with sides of layoutSpread * sqrt(nodeCount),
+     *                     with the layers from left to right.
+     */
+    public void setLayoutSpread(float layoutSpread) {
+        Check.positiveOrZero(layoutSpread, "layoutSpread");
+        this.layoutSpread = layoutSpread;
+    }
+
+    /**
+     * @return a new bean graph generated with the current settings.
+     */
+    public DefaultBeanGraph generate() {
+        final Random random = new Random(seed);
+        final DefaultBeanGraph beanGraph = new DefaultBeanGraph("Generated graph " + seed);
+
+        final float size = layoutSpread * (float) Math.sqrt(nodeCount);
+        final float layerWidth = size / depth;
+
+        // Outputs of the previous and current layer, by type
+        List<List<Property>> sourceOutputs = createOutputLists();
+        List<List<Property>> layerOutputs = createOutputLists();
+
+        // Inputs of the current bean, and their types
+        final List<Property> inputs = new ArrayList<Property>(inputsPerBean);
+        final List<Integer> inputTypes = new ArrayList<Integer>(inputsPerBean);
+
+        int layer = 0;
+        for (int i = 0; i < nodeCount; i++) {
+            // Move to the next layer when its share of the beans has been reached
+            final int beanLayer = (int) ((long) i * depth / nodeCount);
+            if (beanLayer != layer) {
+                layer = beanLayer;
+                final List<List<Property>> previousOutputs = sourceOutputs;
+                sourceOutputs = layerOutputs;
+                layerOutputs = previousOutputs;
+                for (List<Property> outputs : layerOutputs) {
+                    outputs.clear();
+                }
+            }
+
+            final DynamicBean bean = new DynamicBean("Bean " + i);
+
+            inputs.clear();
+            inputTypes.clear();
+            for (int input = 1; input <= inputsPerBean; input++) {
+                final int typeIndex = randomTypeIndex(random);
+                final Property property = addProperty(bean, "In " + input, typeIndex, PropertyDirection.IN, random);
+                inputs.add(property);
+                inputTypes.add(typeIndex);
+
+                final List<Property> sources = sourceOutputs.get(typeIndex);
+                if (!sources.isEmpty() && random.nextDouble() < connectionProbability) {
+                    property.setSource(sources.get(random.nextInt(sources.size())));
+                }
+            }
+
+            for (int output = 1; output <= outputsPerBean; output++) {
+                final int typeIndex = randomTypeIndex(random);
+                final Property property = addProperty(bean, "Out " + output, typeIndex, PropertyDirection.OUT, random);
+                layerOutputs.get(typeIndex).add(property);
+
+                final Property input = randomInputOfType(typeIndex, inputs, inputTypes, random);
+                if (input != null && random.nextDouble() < connectionProbability) {
+                    property.setSource(input);
+                }
+            }
+
+            final float x = (layer + random.nextFloat()) * layerWidth - 0.5f * size;
+            final float y = (random.nextFloat() - 0.5f) * size;
+            beanGraph.addBean(bean, x, y);
+        }
+
+        return beanGraph;
+    }
+
+    private Property addProperty(DynamicBean bean, String name, int typeIndex, PropertyDirection direction, Random random) {
+        switch (typeIndex) {
+            case 0: return bean.addDouble(name, random.nextDouble() * 100, direction);
+            case 1: return bean.addInt(name, random.nextInt(100), direction);
+            case 2: return bean.addString(name, "Text " + random.nextInt(1000), direction);
+            default: return bean.addBean(name, null, direction);
+        }
+    }
+
+    private Property randomInputOfType(int typeIndex, List<Property> inputs, List<Integer> inputTypes, Random random) {
+        int count = 0;
+        for (int i = 0; i < inputTypes.size(); i++) {
+            if (inputTypes.get(i) == typeIndex) count++;
+        }
+        if (count == 0) return null;
+
+        int selected = random.nextInt(count);
+        for (int i = 0; i < inputTypes.size(); i++) {
+            if (inputTypes.get(i) == typeIndex && selected-- == 0) return inputs.get(i);
+        }
+        return null;
+    }
+
+    private int randomTypeIndex(Random random) {
+        double sum = 0;
+        for (double weight : typeWeights) {
+            sum += weight;
+        }
+
+        double r = random.nextDouble() * sum;
+        for (int i = 0; i < TYPE_COUNT - 1; i++) {
+            if (r < typeWeights[i]) return i;
+            r -= typeWeights[i];
+        }
+        return TYPE_COUNT - 1;
+    }
+
+    private static List<List<Property>> createOutputLists() {
+        final List<List<Property>> outputLists = new ArrayList<List<Property>>(TYPE_COUNT);
+        for (int i = 0; i < TYPE_COUNT; i++) {
+            outputLists.add(new ArrayList<Property>());
+        }
+        return outputLists;
+    }
+}
@@ -0,0 +1,266 @@
+package org.uiflow.propertyeditor.model.beangraph;
+
+import org.uiflow.propertyeditor.model.Position;
+import org.uiflow.propertyeditor.model.bean.Bean;
+import org.uiflow.utils.Check;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Spatial index of bean positions, used to find the beans within an area or the bean closest to a point
+ * without going through all beans.
+ *
+ * The beans are placed in a uniform grid of square cells, and only non-empty cells are stored.
+ * Queries visit only the cells overlapping the queried area, or all non-empty cells if there are fewer of them.
+ * The index keeps references to the position objects of the beans, update needs to be called when a position changes.
+ * Not thread safe.
+ */
+public final class BeanPositionIndex {
+
+    /**
+     * Default cell size, about the distance between neighbouring beans in a typical graph.
+     */
+    public static final float DEFAULT_CELL_SIZE = 1f;
+
+    private final float cellSize;
+    private final float inverseCellSize;
+
+    private final Map<Bean, Entry> entries = new HashMap<Bean, Entry>();
+    private final Map<Long, Cell> cells = new HashMap<Long, Cell>();
+
+    // State of the nearest bean search
+    private Entry nearest;
+    private float nearestDistanceSquared;
+
+    public BeanPositionIndex() {
+        this(DEFAULT_CELL_SIZE);
+    }
+
+    /**
+     * @param cellSize size of the grid cells, in the same units as the bean positions.
+     *                 Queries are fastest when a cell contains a few beans on average.
+     */
+    public BeanPositionIndex(float cellSize) {
+        Check.positive(cellSize, "cellSize");
+        this.cellSize = cellSize;
+        this.inverseCellSize = 1f / cellSize;
+    }
+
+    public float getCellSize() {
+        return cellSize;
+    }
+
+    /**
+     * @return number of beans in the index.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Adds a bean to the index.
+     * @param position position of the bean.  A reference to it is kept, call update after changing it.
+     */
+    public void add(Bean bean, Position position) {
+        Check.notNull(bean, "bean");
+        Check.notNull(position, "position");
+        Check.notContained(bean, entries, "beans");
+
+        final Entry entry = new Entry(bean, position);
+        entries.put(bean, entry);
+        addToCell(entry, cellKey(cellCoordinate(position.x), cellCoordinate(position.y)));
+    }
+
+    /**
+     * Moves the bean to the correct cell after its position has changed.
+     */
+    public void update(Bean bean) {
+        final Entry entry = entries.get(bean);
+        if (entry == null) throw new IllegalArgumentException("The bean '" + bean + "' is not in the index");
+
+        final long key = cellKey(cellCoordinate(entry.position.x), cellCoordinate(entry.position.y));
+        if (key != entry.cellKey) {
+            removeFromCell(entry);
+            addToCell(entry, key);
+        }
+    }
+
+    /**
+     * Removes a bean from the index.  Does nothing if it is not in the index.
+     */
+    public void remove(Bean bean) {
+        final Entry entry = entries.remove(bean);
+        if (entry != null) {
+            removeFromCell(entry);
+        }
+    }
+
+    /**
+     * Removes all beans from the index.
+     */
+    public void clear() {
+        entries.clear();
+        cells.clear();
+    }
+
+    /**
+     * Finds the beans whose positions are within the specified area, including its edges.
+     * @param beansOut collection to add the found beans to.
+     * @return beansOut.
+     */
+    public Collection<Bean> getBeansIn(float minX, float minY, float maxX, float maxY, Collection<Bean> beansOut) {
+        Check.notNull(beansOut, "beansOut");
+
+        final int minCellX = cellCoordinate(minX);
+        final int minCellY = cellCoordinate(minY);
+        final int maxCellX = cellCoordinate(maxX);
+        final int maxCellY = cellCoordinate(maxY);
+
+        final long cellCount = ((long) maxCellX - minCellX + 1) * ((long) maxCellY - minCellY + 1);
+        if (cellCount > cells.size()) {
+            // The area covers more cells than there are non-empty cells, check each non-empty cell instead
+            for (Cell cell : cells.values()) {
+                addEntriesIn(cell, minX, minY, maxX, maxY, beansOut);
+            }
+        }
+        else {
+            for (int cellY = minCellY; cellY <= maxCellY; cellY++) {
+                for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+                    final Cell cell = cells.get(cellKey(cellX, cellY));
+                    if (cell != null) {
+                        addEntriesIn(cell, minX, minY, maxX, maxY, beansOut);
+                    }
+                }
+            }
+        }
+
+        return beansOut;
+    }
+
+    /**
+     * @param maxDistance maximum distance to the bean, or Float.POSITIVE_INFINITY for no limit.
+     * @return the bean closest to the specified point, or null if there are no beans within maxDistance of it.
+     */
+    public Bean getNearest(float x, float y, float maxDistance) {
+        Check.greaterOrEqual(maxDistance, "maxDistance", 0, null);
+
+        final int centerCellX = cellCoordinate(x);
+        final int centerCellY = cellCoordinate(y);
+
+        nearest = null;
+        nearestDistanceSquared = maxDistance * maxDistance;
+
+        // Search rings of cells around the point, until the remaining cells are further away than the nearest bean found
+        for (int ring = 0; !cells.isEmpty(); ring++) {
+            final float ringDistance = (ring - 1) * cellSize;
+            if (ringDistance > 0 && ringDistance * ringDistance > nearestDistanceSquared) break;
+
+            final long ringCellCount = ring == 0 ? 1 : 8L * ring;
+            if (ringCellCount > cells.size()) {
+                // Fewer non-empty cells than cells in the ring, check each non-empty cell instead
+                for (Cell cell : cells.values()) {
+                    findNearestIn(cell, x, y);
+                }
+                break;
+            }
+
+            for (int i = -ring; i <= ring; i++) {
+                // Top and bottom rows of the ring
+                findNearestIn(centerCellX + i, centerCellY - ring, x, y);
+                if (ring > 0) findNearestIn(centerCellX + i, centerCellY + ring, x, y);
+
+                // Left and right columns of the ring, without the corners
+                if (i > -ring && i < ring) {
+                    findNearestIn(centerCellX - ring, centerCellY + i, x, y);
+                    findNearestIn(centerCellX + ring, centerCellY + i, x, y);
+                }
+            }
+        }
+
+        final Bean nearestBean = nearest == null ? null : nearest.bean;
+        nearest = null;
+        return nearestBean;
+    }
+
+    private void findNearestIn(int cellX, int cellY, float x, float y) {
+        final Cell cell = cells.get(cellKey(cellX, cellY));
+        if (cell != null) {
+            findNearestIn(cell, x, y);
+        }
+    }
+
+    private void findNearestIn(Cell cell, float x, float y) {
+        for (Entry entry : cell.entries) {
+            final float distanceSquared = entry.position.distanceSquared(x, y);
+            if (distanceSquared <= nearestDistanceSquared) {
+                nearest = entry;
+                nearestDistanceSquared = distanceSquared;
+            }
+        }
+    }
+
+    private void addEntriesIn(Cell cell, float minX, float minY, float maxX, float maxY, Collection<Bean> beansOut) {
+        for (Entry entry : cell.entries) {
+            final Position position = entry.position;
+            if (position.x >= minX && position.x <= maxX &&
+                position.y >= minY && position.y <= maxY) {
+                beansOut.add(entry.bean);
+            }
+        }
+    }
+
+    private void addToCell(Entry entry, long key) {
+        Cell cell = cells.get(key);
+        if (cell == null) {
+            cell = new Cell();
+            cells.put(key, cell);
+        }
+
+        entry.cellKey = key;
+        entry.indexInCell = cell.entries.size();
+        cell.entries.add(entry);
+    }
+
+    private void removeFromCell(Entry entry) {
+        final Cell cell = cells.get(entry.cellKey);
+
+        // Move the last entry of the cell to the place of the removed one
+        final Entry last = cell.entries.remove(cell.entries.size() - 1);
+        if (last != entry) {
+            last.indexInCell = entry.indexInCell;
+            cell.entries.set(last.indexInCell, last);
+        }
+
+        if (cell.entries.isEmpty()) {
+            cells.remove(entry.cellKey);
+        }
+    }
+
+    private int cellCoordinate(float coordinate) {
+        return (int) Math.floor(coordinate * inverseCellSize);
+    }
+
+    private static long cellKey(int cellX, int cellY) {
+        return ((long) cellX << 32) | (cellY & 0xFFFFFFFFL);
+    }
+
+    private static final class Entry {
+        final Bean bean;
+        final Position position;
+        long cellKey;
+        int indexInCell;
+
+        Entry(Bean bean, Position position) {
+            this.bean = bean;
+            this.position = position;
+        }
+    }
+
+    private static final class Cell {
+        final List<Entry> entries = new ArrayList<Entry>(4);
+    }
+}
@@ -1,9 +1,11 @@
 package org.uiflow.propertyeditor.model.beangraph;
 
-import com.badlogic.gdx.math.Vector2;
+import org.uiflow.propertyeditor.model.Position;
+import org.uiflow.propertyeditor.model.Rectangle;
 import org.uiflow.propertyeditor.model.bean.*;
 import org.uiflow.propertyeditor.model.bean.dynamic.DynamicBean;
 import org.uiflow.utils.Check;
+import org.uiflow.utils.ListenerList;
 
 import java.util.*;
 import java.util.Map.Entry;
@@ -13,15 +15,37 @@ import java.util.Map.Entry;
  */
 public class DefaultBeanGraph implements BeanGraph {
 
-    private final Map<Bean, Vector2> beansAndPositions = new HashMap<Bean, Vector2>();
-    private final Map<Bean, Vector2> readOnlyBeansAndPositions = Collections.unmodifiableMap(beansAndPositions);
+    private final Map<Bean, Position> beansAndPositions = new HashMap<Bean, Position>();
+    private final Map<Bean, Position> readOnlyBeansAndPositions = Collections.unmodifiableMap(beansAndPositions);
+    private final BeanPositionIndex positionIndex = new BeanPositionIndex();
 
-    private final Set<BeanGraphListener> listeners = new HashSet<BeanGraphListener>();
+    private final ListenerList<BeanGraphListener> listeners = new ListenerList<BeanGraphListener>(BeanGraphListener.class);
 
     private final DynamicBean interfaceBean;
     private final BeanDelegate internalInputBean;
     private final BeanDelegate internalOutputBean;
 
+    private EvaluationPlan evaluationPlan;
+    private final SourceConnectionIndex sourceConnectionIndex = new SourceConnectionIndex();
+
+    private final BeanListener beanListener = new BeanListenerAdapter() {
+        @Override public void onSourceChanged(Bean bean, Property property, Property oldSource, Property newSource) {
+            sourceConnectionIndex.onSourceChanged(property, oldSource, newSource);
+            invalidateEvaluationPlan();
+            DefaultBeanGraph.this.onSourceChanged(property, oldSource, newSource);
+        }
+
+        @Override public void onPropertyAdded(Bean bean, Property property) {
+            sourceConnectionIndex.addProperty(property);
+            invalidateEvaluationPlan();
+        }
+
+        @Override public void onPropertyRemoved(Bean bean, Property property) {
+            sourceConnectionIndex.removeProperty(property);
+            invalidateEvaluationPlan();
+        }
+    };
+
     public DefaultBeanGraph() {
         this(null);
     }
@@ -41,7 +65,7 @@ public class DefaultBeanGraph implements BeanGraph {
         return addBean(bean, 0, 0);
     }
 
-    @Override public final Bean addBean(Bean bean, Vector2 position) {
+    @Override public final Bean addBean(Bean bean, Position position) {
         Check.notNull(position, "position");
 
         addBean(bean, position.x, position.y);
@@ -54,8 +78,16 @@ public class DefaultBeanGraph implements BeanGraph {
         Check.notContained(bean, beansAndPositions.keySet(), "beans");
 
         // Add bean and position
-        final Vector2 position = new Vector2(x, y);
+        final Position position = new Position(x, y);
         beansAndPositions.put(bean, position);
+        positionIndex.add(bean, position);
+
+        // Listen to source changes in the bean
+        bean.addListener(beanListener);
+        for (Property property : bean.getProperties()) {
+            sourceConnectionIndex.addProperty(property);
+        }
+        invalidateEvaluationPlan();
 
         // Notify derived classes and listeners
         onBeanAdded(bean, position);
@@ -67,10 +99,18 @@ public class DefaultBeanGraph implements BeanGraph {
     @Override public final void removeBean(Bean bean) {
         if (bean != null && beansAndPositions.containsKey(bean)) {
             // Get position
-            final Vector2 position = beansAndPositions.get(bean);
+            final Position position = beansAndPositions.get(bean);
 
             // Remove bean
             beansAndPositions.remove(bean);
+            positionIndex.remove(bean);
+
+            // Stop listening to the bean
+            bean.removeListener(beanListener);
+            for (Property property : bean.getProperties()) {
+                sourceConnectionIndex.removeProperty(property);
+            }
+            invalidateEvaluationPlan();
 
             // Notify derived classes and listeners
             onBeanRemoved(bean, position);
@@ -82,16 +122,16 @@ public class DefaultBeanGraph implements BeanGraph {
         return readOnlyBeansAndPositions.keySet();
     }
 
-    @Override public final Map<Bean, Vector2> getBeansAndPositions() {
+    @Override public final Map<Bean, Position> getBeansAndPositions() {
         return readOnlyBeansAndPositions;
     }
 
-    @Override public final Vector2 getBeanPosition(Bean bean) {
+    @Override public final Position getBeanPosition(Bean bean) {
         return getBeanPosition(bean, null);
     }
 
-    @Override public final Vector2 getBeanPosition(Bean bean, Vector2 positionOut) {
-        final Vector2 position = beansAndPositions.get(bean);
+    @Override public final Position getBeanPosition(Bean bean, Position positionOut) {
+        final Position position = beansAndPositions.get(bean);
         if (position == null) throw new IllegalArgumentException("The specified bean '"+bean+"' is not a member of this bean graph");
 
         if (positionOut != null) {
@@ -104,7 +144,7 @@ public class DefaultBeanGraph implements BeanGraph {
     }
 
 
-    @Override public final void setBeanPosition(Bean bean, Vector2 position) {
+    @Override public final void setBeanPosition(Bean bean, Position position) {
         Check.notNull(position, "position");
 
         setBeanPosition(bean, position.x, position.y);
@@ -115,14 +155,35 @@ public class DefaultBeanGraph implements BeanGraph {
         Check.contained(bean, beansAndPositions, "beans");
 
         // Update pos
-        final Vector2 position = beansAndPositions.get(bean);
+        final Position position = beansAndPositions.get(bean);
         position.set(x, y);
+        positionIndex.update(bean);
 
         // Notify derived classes and listeners
         onBeanMoved(bean, position);
         notifyBeanMoved(bean, position);
     }
 
+    @Override public final List<Bean> getBeansIn(Rectangle area) {
+        final List<Bean> beans = new ArrayList<Bean>();
+        getBeansIn(area, beans);
+        return beans;
+    }
+
+    @Override public final Collection<Bean> getBeansIn(Rectangle area, Collection<Bean> beansOut) {
+        Check.notNull(area, "area");
+
+        return positionIndex.getBeansIn(area.x, area.y, area.x + area.width, area.y + area.height, beansOut);
+    }
+
+    @Override public final Bean getNearestBean(float x, float y) {
+        return positionIndex.getNearest(x, y, Float.POSITIVE_INFINITY);
+    }
+
+    @Override public final Bean getNearestBean(float x, float y, float maxDistance) {
+        return positionIndex.getNearest(x, y, maxDistance);
+    }
+
     @Override public final boolean containsBean(Bean bean) {
         return beansAndPositions.containsKey(bean);
     }
@@ -148,6 +209,28 @@ public class DefaultBeanGraph implements BeanGraph {
         return internalOutputBean;
     }
 
+    @Override public final EvaluationPlan getEvaluationPlan() {
+        if (evaluationPlan == null) {
+            evaluationPlan = EvaluationPlan.compile(beansAndPositions.keySet());
+        }
+
+        return evaluationPlan;
+    }
+
+    @Override public final boolean canUseSource(Property property, Property sourceProperty) {
+        return property != null &&
+               property.isCompatibleSource(sourceProperty) &&
+               !sourceConnectionIndex.wouldCreateLoop(sourceProperty, property);
+    }
+
+    @Override public final List<Property> getDependents(Property property) {
+        return sourceConnectionIndex.getDependents(property);
+    }
+
+    @Override public final List<Property> getTransitiveDependents(Property property) {
+        return sourceConnectionIndex.getTransitiveDependents(property);
+    }
+
     @Override public final String getName() {
         return interfaceBean.getName();
     }
@@ -179,26 +262,39 @@ public class DefaultBeanGraph implements BeanGraph {
     /**
      * Called whenever a bean is added.
      */
-    protected void onBeanAdded(Bean bean, Vector2 position) {
+    protected void onBeanAdded(Bean bean, Position position) {
     }
 
     /**
      * Called whenever a bean is removed.
      */
-    protected void onBeanRemoved(Bean bean, Vector2 position) {
+    protected void onBeanRemoved(Bean bean, Position position) {
     }
 
     /**
      * Called when a bean moves.  Can be used to do anything necessary on a move.
      */
-    protected void onBeanMoved(Bean bean, Vector2 position) {
+    protected void onBeanMoved(Bean bean, Position position) {
+    }
+
+    /**
+     * Called when the source of a property in a bean in this graph changes.
+     */
+    protected void onSourceChanged(Property property, Property oldSource, Property newSource) {
+    }
+
+    /**
+     * Discards the compiled evaluation plan, it is compiled again the next time it is needed.
+     */
+    protected final void invalidateEvaluationPlan() {
+        evaluationPlan = null;
     }
 
     /**
      * Notifies listeners that the specified bean was added.
      */
-    protected final void notifyBeanAdded(Bean bean, Vector2 position) {
-        for (BeanGraphListener listener : listeners) {
+    protected final void notifyBeanAdded(Bean bean, Position position) {
+        for (BeanGraphListener listener : listeners.dispatch()) {
             listener.onBeanAdded(this, bean, position);
         }
     }
@@ -206,8 +302,8 @@ public class DefaultBeanGraph implements BeanGraph {
     /**
      * Notifies listeners that the specified bean was moved.
      */
-    protected final void notifyBeanMoved(Bean bean, Vector2 position) {
-        for (BeanGraphListener listener : listeners) {
+    protected final void notifyBeanMoved(Bean bean, Position position) {
+        for (BeanGraphListener listener : listeners.dispatch()) {
             listener.onBeanMoved(this, bean, position);
         }
     }
@@ -215,8 +311,8 @@ public class DefaultBeanGraph implements BeanGraph {
     /**
      * Notifies listeners that the specified bean was removed.
      */
-    protected final void notifyBeanRemoved(Bean bean, Vector2 position) {
-        for (BeanGraphListener listener : listeners) {
+    protected final void notifyBeanRemoved(Bean bean, Position position) {
+        for (BeanGraphListener listener : listeners.dispatch()) {
             listener.onBeanRemoved(this, bean, position);
         }
     }
@@ -244,9 +340,9 @@ public class DefaultBeanGraph implements BeanGraph {
         sourceToCopy.put(interfaceBean, copy.interfaceBean);
 
         // Copy nodes
-        for (Entry<Bean, Vector2> entry : beansAndPositions.entrySet()) {
+        for (Entry<Bean, Position> entry : beansAndPositions.entrySet()) {
             final Bean bean = entry.getKey();
-            final Vector2 pos = entry.getValue();
+            final Position pos = entry.getValue();
 
             final Bean beanCopy = bean.createCopy();
             copy.addBean(beanCopy, pos);
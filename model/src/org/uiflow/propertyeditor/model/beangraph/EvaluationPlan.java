@@ -0,0 +1,194 @@
+package org.uiflow.propertyeditor.model.beangraph;
+
+import org.uiflow.propertyeditor.model.bean.Bean;
+import org.uiflow.propertyeditor.model.bean.Property;
+import org.uiflow.utils.Check;
+
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Flat, topologically sorted list of the properties of a set of beans, compiled from the source connections between them.
+ *
+ * Evaluating the plan visits every property exactly once, sources before the properties that use them,
+ * so the value of a property is read from the already evaluated value of its source instead of recursing
+ * through the whole source chain the way Property.get() does.
+ *
+ * The plan itself is immutable, it needs to be compiled again if beans are added or removed, or if the source of a property changes.
+ */
+public final class EvaluationPlan {
+
+    /**
+     * Source index used for properties that have no source.
+     */
+    public static final int NO_SOURCE = -1;
+
+    /**
+     * Source index used for properties whose source is not one of the properties in the plan.
+     */
+    public static final int EXTERNAL_SOURCE = -2;
+
+    private final Property[] properties;
+    private final int[] sourceIndexes;
+    private final Map<Property, Integer> propertyIndexes;
+
+    /**
+     * Compiles an evaluation plan for the properties of the specified beans.
+     * Properties shared by several beans (e.g. through bean delegates) are only included once.
+     *
+     * @param beans the beans whose properties should be included in the plan.
+     * @return the compiled plan.
+     * @throws IllegalStateException if the source connections between the properties contain a loop.
+     */
+    public static EvaluationPlan compile(Collection<Bean> beans) {
+        Check.notNull(beans, "beans");
+
+        // Collect properties, assigning each an index in the order they were encountered
+        final Map<Property, Integer> indexes = new IdentityHashMap<Property, Integer>();
+        int count = 0;
+        for (Bean bean : beans) {
+            for (Property property : bean.getProperties()) {
+                if (!indexes.containsKey(property)) {
+                    indexes.put(property, count++);
+                }
+            }
+        }
+
+        final Property[] collected = new Property[count];
+        for (Map.Entry<Property, Integer> entry : indexes.entrySet()) {
+            collected[entry.getValue()] = entry.getKey();
+        }
+
+        // Build linked lists of the properties using each property as source.
+        // A property has at most one source, so the source connections form a forest.
+        final int[] collectedSources = new int[count];
+        final int[] firstUser = new int[count];
+        final int[] nextUser = new int[count];
+        for (int i = 0; i < count; i++) {
+            firstUser[i] = NO_SOURCE;
+            nextUser[i] = NO_SOURCE;
+        }
+        for (int i = 0; i < count; i++) {
+            final Property source = collected[i].getSource();
+            if (source == null) {
+                collectedSources[i] = NO_SOURCE;
+            }
+            else {
+                final Integer sourceIndex = indexes.get(source);
+                if (sourceIndex == null) {
+                    collectedSources[i] = EXTERNAL_SOURCE;
+                }
+                else {
+                    collectedSources[i] = sourceIndex;
+                    nextUser[i] = firstUser[sourceIndex];
+                    firstUser[sourceIndex] = i;
+                }
+            }
+        }
+
+        // Order the properties breadth first starting from the ones without a source in the plan, using the ordered array as the queue.
+        final int[] order = new int[count];
+        int orderedCount = 0;
+        for (int i = 0; i < count; i++) {
+            if (collectedSources[i] < 0) order[orderedCount++] = i;
+        }
+        for (int head = 0; head < orderedCount; head++) {
+            for (int user = firstUser[order[head]]; user != NO_SOURCE; user = nextUser[user]) {
+                order[orderedCount++] = user;
+            }
+        }
+
+        // Any properties not reached are part of a source loop
+        if (orderedCount != count) {
+            throw new IllegalStateException("The source connections between the properties contain a loop, " +
+                                            (count - orderedCount) + " properties could not be ordered");
+        }
+
+        // Store the properties in evaluation order, and remap source indexes to that order
+        final int[] positions = new int[count];
+        for (int i = 0; i < count; i++) {
+            positions[order[i]] = i;
+        }
+
+        final Property[] properties = new Property[count];
+        final int[] sourceIndexes = new int[count];
+        for (int i = 0; i < count; i++) {
+            final int collectedIndex = order[i];
+            final int collectedSource = collectedSources[collectedIndex];
+            properties[i] = collected[collectedIndex];
+            sourceIndexes[i] = collectedSource >= 0 ? positions[collectedSource] : collectedSource;
+            indexes.put(properties[i], i);
+        }
+
+        return new EvaluationPlan(properties, sourceIndexes, indexes);
+    }
+
+    private EvaluationPlan(Property[] properties, int[] sourceIndexes, Map<Property, Integer> propertyIndexes) {
+        this.properties = properties;
+        this.sourceIndexes = sourceIndexes;
+        this.propertyIndexes = propertyIndexes;
+    }
+
+    /**
+     * @return number of properties in the plan.
+     */
+    public int getPropertyCount() {
+        return properties.length;
+    }
+
+    /**
+     * @return the property at the specified position in evaluation order.
+     */
+    public Property getProperty(int index) {
+        return properties[index];
+    }
+
+    /**
+     * @return the index of the source of the property at the specified position,
+     *         or NO_SOURCE if it has no source, or EXTERNAL_SOURCE if the source is not included in this plan.
+     *         Sources always come before the properties using them.
+     */
+    public int getSourceIndex(int index) {
+        return sourceIndexes[index];
+    }
+
+    /**
+     * @return the position of the specified property in evaluation order, or -1 if it is not included in this plan.
+     */
+    public int indexOf(Property property) {
+        final Integer index = propertyIndexes.get(property);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Evaluates the values of all properties in the plan in one pass.
+     * Properties with a source in the plan take the already evaluated value of the source,
+     * properties without a source use their own value, and properties with an external source ask it for its value.
+     *
+     * @param valuesOut array to store the values in, in evaluation order.
+     *                  If null or too small, a new array is allocated.
+     * @return the array with the evaluated values.
+     */
+    public Object[] evaluate(Object[] valuesOut) {
+        final int count = properties.length;
+        if (valuesOut == null || valuesOut.length < count) {
+            valuesOut = new Object[count];
+        }
+
+        for (int i = 0; i < count; i++) {
+            final int sourceIndex = sourceIndexes[i];
+            if (sourceIndex >= 0) {
+                valuesOut[i] = valuesOut[sourceIndex];
+            }
+            else if (sourceIndex == EXTERNAL_SOURCE) {
+                valuesOut[i] = properties[i].getSource().get();
+            }
+            else {
+                valuesOut[i] = properties[i].getValue();
+            }
+        }
+
+        return valuesOut;
+    }
+}
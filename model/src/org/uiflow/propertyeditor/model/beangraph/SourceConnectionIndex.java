@@ -0,0 +1,289 @@
+package org.uiflow.propertyeditor.model.beangraph;
+
+import org.uiflow.propertyeditor.model.bean.Property;
+import org.uiflow.utils.Check;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index of the source connections between the properties of a bean graph, kept in a topological order that is updated
+ * incrementally as connections are added (the dynamic topological sort algorithm by Pearce and Kelly).
+ *
+ * Every property is assigned an order number so that a source always has a lower number than the properties using it.
+ * Whether a new connection would create a loop can then usually be answered by comparing two numbers,
+ * and otherwise by searching only the properties between the two in the order.
+ *
+ * Only connections where the property using the source is a member of the index are tracked.
+ * Not thread safe, but unlike Property.usesSourceProperty it does not store any state in the properties.
+ */
+public final class SourceConnectionIndex {
+
+    private static final Comparator<Node> ORDER_COMPARATOR = new Comparator<Node>() {
+        @Override public int compare(Node o1, Node o2) {
+            return o1.order < o2.order ? -1 : (o1.order == o2.order ? 0 : 1);
+        }
+    };
+
+    private final Map<Property, Node> nodes = new IdentityHashMap<Property, Node>();
+    private int nextOrder = 0;
+    private int visitMark = 0;
+
+    // Reused work lists for searches and reordering
+    private final List<Node> stack = new ArrayList<Node>();
+    private final List<Node> forwardNodes = new ArrayList<Node>();
+    private final List<Node> backwardNodes = new ArrayList<Node>();
+    private final List<Integer> freedOrders = new ArrayList<Integer>();
+
+    /**
+     * Adds a property to the index, along with the connection to its source, if any.
+     */
+    public void addProperty(Property property) {
+        Check.notNull(property, "property");
+
+        final Node node = getOrCreateNode(property);
+        if (!node.member) {
+            node.member = true;
+
+            final Property source = property.getSource();
+            if (source != null) {
+                addConnection(getOrCreateNode(source), node);
+            }
+        }
+    }
+
+    /**
+     * Removes a property from the index, along with the connection to its source, if any.
+     * Connections from the property to other properties in the index are kept until they are removed.
+     */
+    public void removeProperty(Property property) {
+        final Node node = nodes.get(property);
+        if (node != null && node.member) {
+            node.member = false;
+
+            if (node.source != null) {
+                removeConnection(node.source, node);
+            }
+
+            removeIfUnused(node);
+        }
+    }
+
+    /**
+     * @return true if the property has been added to the index.
+     */
+    public boolean containsProperty(Property property) {
+        final Node node = nodes.get(property);
+        return node != null && node.member;
+    }
+
+    /**
+     * Updates the index after the source of a property changed.  Ignored if the property is not in the index.
+     */
+    public void onSourceChanged(Property property, Property oldSource, Property newSource) {
+        final Node node = nodes.get(property);
+        if (node != null && node.member) {
+            if (node.source != null) {
+                removeConnection(node.source, node);
+            }
+
+            if (newSource != null) {
+                addConnection(getOrCreateNode(newSource), node);
+            }
+        }
+    }
+
+    /**
+     * @return true if using source as the source of target would create a loop of sources.
+     *         If either property is not known to the index, falls back to walking the sources of the source property.
+     */
+    public boolean wouldCreateLoop(Property source, Property target) {
+        if (source == null || target == null) return false;
+        if (source == target) return true;
+
+        final Node sourceNode = nodes.get(source);
+        final Node targetNode = nodes.get(target);
+        if (sourceNode == null || targetNode == null || !sourceNode.member) {
+            return source.usesSourceProperty(target);
+        }
+
+        // Sources come before the properties using them, so if the target comes after the source it can not be a source of it
+        if (targetNode.order > sourceNode.order) return false;
+
+        // Search for the source among the properties using the target, limited to the part of the order between them
+        final boolean found = searchForward(targetNode, sourceNode, sourceNode.order, null);
+        stack.clear();
+        return found;
+    }
+
+    /**
+     * @return read only list of the properties in the index that use the specified property directly as their source.
+     */
+    public List<Property> getDependents(Property property) {
+        final Node node = nodes.get(property);
+        if (node == null) return Collections.emptyList();
+        else return node.readOnlyDependentProperties;
+    }
+
+    /**
+     * @return new list with the properties in the index that use the specified property as their source,
+     *         directly or through other properties.  Properties are listed breadth first, closest dependents first.
+     */
+    public List<Property> getTransitiveDependents(Property property) {
+        final List<Property> result = new ArrayList<Property>();
+        final Node node = nodes.get(property);
+        if (node != null) {
+            final List<Node> queue = new ArrayList<Node>();
+            queue.add(node);
+            for (int head = 0; head < queue.size(); head++) {
+                for (Node dependent : queue.get(head).dependents) {
+                    queue.add(dependent);
+                    result.add(dependent.property);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return the position of the property in the topological order of the index, or -1 if it is not in the index.
+     *         Sources have lower positions than the properties using them, but the positions need not be consecutive.
+     */
+    public int getOrder(Property property) {
+        final Node node = nodes.get(property);
+        return node != null ? node.order : -1;
+    }
+
+    private void addConnection(Node source, Node target) {
+        target.source = source;
+        source.dependents.add(target);
+        source.dependentProperties.add(target.property);
+
+        if (source.order > target.order) {
+            reorder(source, target);
+        }
+    }
+
+    private void removeConnection(Node source, Node target) {
+        target.source = null;
+        source.dependents.remove(target);
+        source.dependentProperties.remove(target.property);
+
+        removeIfUnused(source);
+    }
+
+    /**
+     * Restores the topological order after a connection from source to target was added,
+     * where the source was ordered after the target.
+     * Only the properties ordered between the two, and reachable from them, are moved.
+     */
+    private void reorder(Node source, Node target) {
+        final int lowerBound = target.order;
+        final int upperBound = source.order;
+
+        // Properties using the target, up to the source in the order
+        if (searchForward(target, source, upperBound, forwardNodes)) {
+            clearWorkLists();
+            throw new IllegalStateException("The source connection from " + source.property + " to " + target.property + " creates a loop");
+        }
+
+        // Sources of the source, down to the target in the order.  Each property has only one source, so this is a chain.
+        for (Node node = source; node != null && node.order >= lowerBound; node = node.source) {
+            backwardNodes.add(node);
+        }
+
+        // Reuse the order numbers of the affected properties, moving the sources before the properties using the target.
+        Collections.sort(forwardNodes, ORDER_COMPARATOR);
+        Collections.sort(backwardNodes, ORDER_COMPARATOR);
+        for (Node node : backwardNodes) {
+            freedOrders.add(node.order);
+        }
+        for (Node node : forwardNodes) {
+            freedOrders.add(node.order);
+        }
+        Collections.sort(freedOrders);
+
+        int index = 0;
+        for (Node node : backwardNodes) {
+            node.order = freedOrders.get(index++);
+        }
+        for (Node node : forwardNodes) {
+            node.order = freedOrders.get(index++);
+        }
+
+        clearWorkLists();
+    }
+
+    /**
+     * Depth first search without recursion from the start node through the properties using it,
+     * skipping properties ordered after the upper bound.
+     *
+     * @param visitedOut if not null, visited nodes are added to it.
+     * @return true if the node to find was reached.
+     */
+    private boolean searchForward(Node start, Node nodeToFind, int upperBound, List<Node> visitedOut) {
+        final int mark = ++visitMark;
+
+        stack.add(start);
+        start.visitMark = mark;
+
+        while (!stack.isEmpty()) {
+            final Node node = stack.remove(stack.size() - 1);
+            if (node == nodeToFind) return true;
+            if (visitedOut != null) visitedOut.add(node);
+
+            final List<Node> dependents = node.dependents;
+            for (int i = 0; i < dependents.size(); i++) {
+                final Node dependent = dependents.get(i);
+                if (dependent.visitMark != mark && dependent.order <= upperBound) {
+                    dependent.visitMark = mark;
+                    stack.add(dependent);
+                }
+            }
+        }
+
+        return false;
+    }
+
+    private Node getOrCreateNode(Property property) {
+        Node node = nodes.get(property);
+        if (node == null) {
+            node = new Node(property, nextOrder++);
+            nodes.put(property, node);
+        }
+        return node;
+    }
+
+    private void removeIfUnused(Node node) {
+        if (!node.member && node.source == null && node.dependents.isEmpty()) {
+            nodes.remove(node.property);
+        }
+    }
+
+    private void clearWorkLists() {
+        stack.clear();
+        forwardNodes.clear();
+        backwardNodes.clear();
+        freedOrders.clear();
+    }
+
+    private static final class Node {
+        final Property property;
+        final List<Node> dependents = new ArrayList<Node>(2);
+        final List<Property> dependentProperties = new ArrayList<Property>(2);
+        final List<Property> readOnlyDependentProperties = Collections.unmodifiableList(dependentProperties);
+        Node source;
+        int order;
+        int visitMark;
+        boolean member;
+
+        Node(Property property, int order) {
+            this.property = property;
+            this.order = order;
+        }
+    }
+}
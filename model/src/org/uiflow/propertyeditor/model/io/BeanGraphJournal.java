@@ -0,0 +1,674 @@
+package org.uiflow.propertyeditor.model.io;
+
+import org.uiflow.propertyeditor.model.Position;
+import org.uiflow.propertyeditor.model.bean.Bean;
+import org.uiflow.propertyeditor.model.bean.BeanListenerAdapter;
+import org.uiflow.propertyeditor.model.bean.NumberPropertyListener;
+import org.uiflow.propertyeditor.model.bean.Property;
+import org.uiflow.propertyeditor.model.beangraph.BeanGraph;
+import org.uiflow.propertyeditor.model.beangraph.BeanGraphListener;
+import org.uiflow.utils.Check;
+
+import java.io.*;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import static org.uiflow.propertyeditor.model.io.BinaryModelFormat.*;
+
+/**
+ * Saves a bean graph incrementally to a directory, as a snapshot in the binary model format and an append-only
+ * journal of the changes made after it, so that the cost of saving depends on the number of changes and not on the
+ * size of the graph.
+ *
+ * Changes are recorded from listener events as they happen: beans added to, removed from or moved in the graph or
+ * the graphs in it, and property values and sources set.  The recorded entries are kept in memory until flush is called,
+ * which appends them to the journal file as one batch and syncs it to the disk.  flush should be called periodically,
+ * for example every few seconds, and before exiting.  When the journal grows larger than the snapshot multiplied by
+ * the compaction ratio, a new snapshot is written instead and the journal is started over.
+ * Changes that the journal can not express, such as added or removed properties, renamed beans, or values of unsupported
+ * types, also cause a new snapshot to be written on the next flush.
+ *
+ * On startup open reads the latest snapshot and replays the batches in its journal.  A batch torn by a crash is
+ * detected from its length and checksum, and dropped.  Changes inside beans that are only referenced as property values,
+ * and not contained in the graph, are not tracked until the next snapshot.  Neither are values set on properties while
+ * they use a source, as the properties do not notify about them, but they are recorded when the source is removed.
+ *
+ * Files, where n is the generation, which is increased for each snapshot:
+ * <pre>
+ * snapshot-n.uifb  = the bean graph written with BinaryModelWriter
+ * journal-n.uifj   = "UIFJ" version:byte (payloadLength:int32 payloadCrc32:int32 payload)*, big endian
+ * </pre>
+ * The batch payload format is described in BinaryModelFormat.
+ *
+ * Not thread safe, the bean graph should be edited and the journal flushed from the same thread.
+ */
+public final class BeanGraphJournal implements Closeable {
+
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".uifb";
+    private static final String JOURNAL_PREFIX = "journal-";
+    private static final String JOURNAL_SUFFIX = ".uifj";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private static final byte[] JOURNAL_MAGIC = {'U', 'I', 'F', 'J'};
+    private static final int JOURNAL_VERSION = 1;
+    private static final int JOURNAL_HEADER_SIZE = 5;
+    private static final int BATCH_HEADER_SIZE = 8;
+
+    /**
+     * The journal is not compacted before it is at least this large, so that small graphs are not rewritten too often.
+     */
+    private static final long MIN_COMPACTION_JOURNAL_SIZE = 64 * 1024;
+    private static final float DEFAULT_COMPACTION_RATIO = 1f;
+
+    private final File directory;
+    private final BeanGraph beanGraph;
+    private long generation;
+
+    private final BinaryModelWriter writer;
+    private final ByteArrayOutputStream batchBytes = new ByteArrayOutputStream();
+    private final CRC32 crc = new CRC32();
+    private RandomAccessFile journalFile;
+
+    private int pendingEntryCount;
+    private boolean snapshotNeeded;
+    private long snapshotSize;
+    private long journalSize;
+    private float compactionRatio = DEFAULT_COMPACTION_RATIO;
+    private boolean closed;
+
+    /**
+     * Number of graphs each tracked bean is in, as the same bean could be in several graphs.
+     */
+    private final Map<Bean, Integer> trackedBeans = new IdentityHashMap<Bean, Integer>();
+
+    private final BeanGraphListener beanGraphListener = new BeanGraphListener() {
+        @Override public void onBeanAdded(BeanGraph beanGraph, Bean bean, Position position) {
+            recordBeanAdded(beanGraph, bean, position);
+            track(bean);
+        }
+
+        @Override public void onBeanRemoved(BeanGraph beanGraph, Bean bean, Position position) {
+            recordBeanRemoved(beanGraph, bean);
+            untrack(bean);
+        }
+
+        @Override public void onBeanMoved(BeanGraph beanGraph, Bean bean, Position newPosition) {
+            recordBeanMoved(beanGraph, bean, newPosition);
+        }
+    };
+
+    private final BeanListenerAdapter beanListener = new JournalBeanListener();
+
+    /**
+     * @return true if the directory contains a snapshot that can be opened.
+     */
+    public static boolean exists(File directory) {
+        Check.notNull(directory, "directory");
+        return getLatestGeneration(directory) >= 0;
+    }
+
+    /**
+     * Starts journaling the bean graph to the directory, by writing a snapshot of it.
+     * Any previous snapshot and journal in the directory are replaced.
+     *
+     * @param directory directory for the snapshot and journal files, created if it does not exist.
+     * @param beanGraph the bean graph to save.
+     */
+    public static BeanGraphJournal create(File directory, BeanGraph beanGraph) throws IOException {
+        Check.notNull(directory, "directory");
+        Check.notNull(beanGraph, "beanGraph");
+        if (!directory.isDirectory() && !directory.mkdirs()) throw new IOException("Could not create the directory " + directory);
+
+        final BeanGraphJournal journal = new BeanGraphJournal(directory, beanGraph, getLatestGeneration(directory));
+        journal.compact();
+        journal.track(beanGraph);
+        return journal;
+    }
+
+    /**
+     * Loads the bean graph saved in the directory by replaying its journal on its latest snapshot,
+     * and continues journaling it.
+     *
+     * @param directory directory with the snapshot and journal files.
+     * @throws FileNotFoundException if there is no snapshot in the directory.
+     */
+    public static BeanGraphJournal open(File directory) throws IOException {
+        Check.notNull(directory, "directory");
+
+        final long generation = getLatestGeneration(directory);
+        if (generation < 0) throw new FileNotFoundException("No bean graph snapshot in " + directory);
+
+        final File snapshotFile = getFile(directory, SNAPSHOT_PREFIX, generation, SNAPSHOT_SUFFIX);
+        final InputStream snapshotStream = new FileInputStream(snapshotFile);
+        final BinaryModelReader reader;
+        final Bean bean;
+        try {
+            reader = new BinaryModelReader(snapshotStream);
+            bean = reader.readSnapshot();
+        } finally {
+            snapshotStream.close();
+        }
+        if (!(bean instanceof BeanGraph)) throw new IOException("The snapshot " + snapshotFile + " does not contain a bean graph");
+
+        final BeanGraphJournal journal = new BeanGraphJournal(directory, (BeanGraph) bean, generation);
+        journal.snapshotSize = snapshotFile.length();
+        journal.replay(reader);
+        journal.track(journal.beanGraph);
+        return journal;
+    }
+
+    private BeanGraphJournal(File directory, BeanGraph beanGraph, long generation) {
+        this.directory = directory;
+        this.beanGraph = beanGraph;
+        this.generation = generation;
+        writer = new BinaryModelWriter(batchBytes);
+    }
+
+    /**
+     * @return the journaled bean graph.
+     */
+    public BeanGraph getBeanGraph() {
+        return beanGraph;
+    }
+
+    /**
+     * Appends the changes recorded since the previous flush to the journal, or writes a new snapshot if needed.
+     * Does nothing if there are no changes.
+     */
+    public void flush() throws IOException {
+        checkOpen();
+
+        if (snapshotNeeded) {
+            compact();
+        }
+        else if (pendingEntryCount > 0) {
+            writer.writeVarInt(ENTRY_END);
+            writer.flushBuffer();
+
+            final int payloadSize = batchBytes.size();
+            if (journalSize + BATCH_HEADER_SIZE + payloadSize > getCompactionThreshold()) {
+                // The snapshot includes the changes
+                compact();
+            }
+            else {
+                final byte[] payload = batchBytes.toByteArray();
+                crc.reset();
+                crc.update(payload, 0, payloadSize);
+
+                journalFile.writeInt(payloadSize);
+                journalFile.writeInt((int) crc.getValue());
+                journalFile.write(payload);
+                journalFile.getFD().sync();
+                journalSize += BATCH_HEADER_SIZE + payloadSize;
+
+                resetBatch();
+            }
+        }
+    }
+
+    /**
+     * Writes a new snapshot of the bean graph, and starts a new empty journal.
+     * The previous snapshot and journal are deleted once the new ones have been written.
+     *
+     * @throws IllegalArgumentException if the bean graph contains beans or values that can not be written.
+     */
+    public void compact() throws IOException {
+        checkOpen();
+
+        // Retried on the next flush if this fails
+        snapshotNeeded = true;
+
+        final long newGeneration = generation + 1;
+
+        // Write the snapshot to a temporary file, so that a complete snapshot always exists
+        final File tempFile = getFile(directory, SNAPSHOT_PREFIX, newGeneration, TEMP_SUFFIX);
+        final FileOutputStream snapshotStream = new FileOutputStream(tempFile);
+        try {
+            writer.setOutputStream(snapshotStream);
+            writer.writeSnapshot(beanGraph);
+            snapshotStream.getFD().sync();
+        } finally {
+            writer.setOutputStream(batchBytes);
+            snapshotStream.close();
+        }
+        final File snapshotFile = getFile(directory, SNAPSHOT_PREFIX, newGeneration, SNAPSHOT_SUFFIX);
+        if (!tempFile.renameTo(snapshotFile)) throw new IOException("Could not rename " + tempFile + " to " + snapshotFile);
+
+        // The journal of the previous snapshot is not used with the new one, even if deleting it fails
+        final RandomAccessFile newJournalFile = createJournalFile(newGeneration);
+        closeJournalFile();
+        journalFile = newJournalFile;
+        journalSize = JOURNAL_HEADER_SIZE;
+        snapshotSize = snapshotFile.length();
+        generation = newGeneration;
+
+        deleteOldFiles();
+        resetBatch();
+        snapshotNeeded = false;
+    }
+
+    /**
+     * Flushes the recorded changes, stops listening to the bean graph, and closes the journal file.
+     */
+    @Override public void close() throws IOException {
+        if (closed) return;
+
+        try {
+            flush();
+        } finally {
+            closed = true;
+            for (Bean bean : trackedBeans.keySet()) {
+                bean.removeListener(beanListener);
+                if (bean instanceof BeanGraph) ((BeanGraph) bean).removeListener(beanGraphListener);
+            }
+            trackedBeans.clear();
+            closeJournalFile();
+        }
+    }
+
+    /**
+     * @return number of changes recorded since the previous flush.
+     */
+    public int getPendingEntryCount() {
+        return pendingEntryCount;
+    }
+
+    /**
+     * @return size of the current snapshot file in bytes.
+     */
+    public long getSnapshotSize() {
+        return snapshotSize;
+    }
+
+    /**
+     * @return size of the current journal file in bytes.
+     */
+    public long getJournalSize() {
+        return journalSize;
+    }
+
+    public float getCompactionRatio() {
+        return compactionRatio;
+    }
+
+    /**
+     * @param compactionRatio a new snapshot is written when the journal would grow larger than the snapshot multiplied by this.
+     */
+    public void setCompactionRatio(float compactionRatio) {
+        Check.positive(compactionRatio, "compactionRatio");
+        this.compactionRatio = compactionRatio;
+    }
+
+    private long getCompactionThreshold() {
+        return Math.max(MIN_COMPACTION_JOURNAL_SIZE, (long) (snapshotSize * compactionRatio));
+    }
+
+    private void checkOpen() {
+        if (closed) throw new IllegalStateException("The journal has been closed");
+    }
+
+    private void resetBatch() {
+        batchBytes.reset();
+        writer.startBatch();
+        pendingEntryCount = 0;
+    }
+
+    private void track(Bean bean) {
+        final Integer graphCount = trackedBeans.get(bean);
+        if (graphCount != null) {
+            trackedBeans.put(bean, graphCount + 1);
+            return;
+        }
+
+        trackedBeans.put(bean, 1);
+        bean.addListener(beanListener);
+        if (bean instanceof BeanGraph) {
+            final BeanGraph containedGraph = (BeanGraph) bean;
+            containedGraph.addListener(beanGraphListener);
+            for (Bean containedBean : containedGraph.getBeans()) {
+                if (!isInternalBean(containedGraph, containedBean)) track(containedBean);
+            }
+        }
+    }
+
+    private void untrack(Bean bean) {
+        final Integer graphCount = trackedBeans.get(bean);
+        if (graphCount == null) return;
+        if (graphCount > 1) {
+            trackedBeans.put(bean, graphCount - 1);
+            return;
+        }
+
+        trackedBeans.remove(bean);
+        bean.removeListener(beanListener);
+        if (bean instanceof BeanGraph) {
+            final BeanGraph containedGraph = (BeanGraph) bean;
+            containedGraph.removeListener(beanGraphListener);
+            for (Bean containedBean : containedGraph.getBeans()) {
+                if (!isInternalBean(containedGraph, containedBean)) untrack(containedBean);
+            }
+        }
+    }
+
+    private void recordBeanAdded(BeanGraph graph, Bean bean, Position position) {
+        if (snapshotNeeded) return;
+
+        if (writer.getBeanIndex(bean) >= 0) {
+            // The bean was removed or only used as a value, so changes to it may not have been recorded
+            snapshotNeeded = true;
+            return;
+        }
+
+        try {
+            startEntry(ENTRY_BEAN_ADDED);
+            writer.writeVarInt(getBeanIndex(graph));
+            writer.writeBeanContent(bean);
+            writer.writeFloat(position.x);
+            writer.writeFloat(position.y);
+            writer.writeLinks();
+        } catch (IOException e) {
+            snapshotNeeded = true;
+        } catch (IllegalArgumentException e) {
+            snapshotNeeded = true;
+        }
+    }
+
+    private void recordBeanRemoved(BeanGraph graph, Bean bean) {
+        if (snapshotNeeded) return;
+
+        try {
+            startEntry(ENTRY_BEAN_REMOVED);
+            writer.writeVarInt(getBeanIndex(graph));
+            writer.writeVarInt(getBeanIndex(bean));
+        } catch (IOException e) {
+            snapshotNeeded = true;
+        } catch (IllegalArgumentException e) {
+            snapshotNeeded = true;
+        }
+    }
+
+    private void recordBeanMoved(BeanGraph graph, Bean bean, Position position) {
+        if (snapshotNeeded) return;
+
+        try {
+            startEntry(ENTRY_BEAN_MOVED);
+            writer.writeVarInt(getBeanIndex(graph));
+            if (bean == graph.getInternalInputBean()) writer.writeVarInt(INTERNAL_INPUT_BEAN_CODE);
+            else if (bean == graph.getInternalOutputBean()) writer.writeVarInt(INTERNAL_OUTPUT_BEAN_CODE);
+            else writer.writeVarInt(getBeanIndex(bean) + BEAN_CODE_OFFSET);
+            writer.writeFloat(position.x);
+            writer.writeFloat(position.y);
+        } catch (IOException e) {
+            snapshotNeeded = true;
+        } catch (IllegalArgumentException e) {
+            snapshotNeeded = true;
+        }
+    }
+
+    private void recordValue(Property property) {
+        if (snapshotNeeded) return;
+
+        try {
+            startEntry(ENTRY_VALUE);
+            writer.writeVarInt(getPropertyIndex(property));
+            writer.writeValue(property.getValue());
+            writer.writeLinks();
+        } catch (IOException e) {
+            snapshotNeeded = true;
+        } catch (IllegalArgumentException e) {
+            snapshotNeeded = true;
+        }
+    }
+
+    private void recordSource(Property property, Property source) {
+        if (snapshotNeeded) return;
+
+        try {
+            startEntry(ENTRY_SOURCE);
+            writer.writeVarInt(getPropertyIndex(property));
+            writer.writeVarInt(source == null ? 0 : getPropertyIndex(source) + 1);
+        } catch (IOException e) {
+            snapshotNeeded = true;
+        } catch (IllegalArgumentException e) {
+            snapshotNeeded = true;
+        }
+    }
+
+    private void startEntry(int entryTag) throws IOException {
+        writer.writeVarInt(entryTag);
+        pendingEntryCount++;
+    }
+
+    private int getBeanIndex(Bean bean) {
+        final int index = writer.getBeanIndex(bean);
+        if (index < 0) throw new IllegalArgumentException("The bean " + bean + " is not in the snapshot or journal");
+        return index;
+    }
+
+    private int getPropertyIndex(Property property) {
+        final int index = writer.getPropertyIndex(property);
+        if (index < 0) throw new IllegalArgumentException("The property " + property + " is not in the snapshot or journal");
+        return index;
+    }
+
+    /**
+     * Applies the batches in the journal of the current generation to the bean graph read from its snapshot,
+     * and opens the journal for appending.
+     */
+    private void replay(BinaryModelReader reader) throws IOException {
+        final File file = getFile(directory, JOURNAL_PREFIX, generation, JOURNAL_SUFFIX);
+        if (!file.exists()) {
+            // The previous compaction stopped before creating the journal
+            journalFile = createJournalFile(generation);
+            journalSize = JOURNAL_HEADER_SIZE;
+        }
+        else {
+            journalFile = new RandomAccessFile(file, "rw");
+            final long fileSize = journalFile.length();
+            if (fileSize < JOURNAL_HEADER_SIZE) {
+                // The header was torn by a crash
+                writeJournalHeader(journalFile);
+                journalSize = JOURNAL_HEADER_SIZE;
+            }
+            else {
+                for (byte b : JOURNAL_MAGIC) {
+                    if (journalFile.readByte() != b) throw new IOException("Not a bean graph journal: " + file);
+                }
+                final int version = journalFile.readUnsignedByte();
+                if (version != JOURNAL_VERSION) throw new IOException("Unsupported journal version " + version + " in " + file);
+
+                long validSize = JOURNAL_HEADER_SIZE;
+                while (validSize + BATCH_HEADER_SIZE <= fileSize) {
+                    journalFile.seek(validSize);
+                    final int payloadSize = journalFile.readInt();
+                    final int payloadCrc = journalFile.readInt();
+                    if (payloadSize < 0 || validSize + BATCH_HEADER_SIZE + payloadSize > fileSize) break;
+
+                    final byte[] payload = new byte[payloadSize];
+                    journalFile.readFully(payload);
+                    crc.reset();
+                    crc.update(payload, 0, payloadSize);
+                    if ((int) crc.getValue() != payloadCrc) break;
+
+                    applyBatch(reader, payload);
+                    validSize += BATCH_HEADER_SIZE + payloadSize;
+                }
+
+                // Drop a batch torn by a crash, so that new batches are appended after the valid ones
+                if (validSize < fileSize) journalFile.setLength(validSize);
+                journalFile.seek(validSize);
+                journalSize = validSize;
+            }
+        }
+
+        writer.addIndexes(reader.getBeans(), reader.getProperties());
+    }
+
+    private void applyBatch(BinaryModelReader reader, byte[] payload) throws IOException {
+        reader.startBatch(new ByteArrayInputStream(payload));
+        try {
+            int entryTag;
+            while ((entryTag = reader.readVarInt()) != ENTRY_END) {
+                switch (entryTag) {
+                    case ENTRY_BEAN_ADDED: {
+                        final BeanGraph graph = getGraph(reader);
+                        final Bean bean = reader.readBeanContent();
+                        final float x = reader.readFloat();
+                        final float y = reader.readFloat();
+                        reader.readLinks();
+                        graph.addBean(bean, x, y);
+                        break;
+                    }
+                    case ENTRY_BEAN_REMOVED: {
+                        final BeanGraph graph = getGraph(reader);
+                        graph.removeBean(reader.getBean(reader.readVarInt()));
+                        break;
+                    }
+                    case ENTRY_BEAN_MOVED: {
+                        final BeanGraph graph = getGraph(reader);
+                        final int beanCode = reader.readVarInt();
+                        final Bean bean;
+                        if (beanCode == INTERNAL_INPUT_BEAN_CODE) bean = graph.getInternalInputBean();
+                        else if (beanCode == INTERNAL_OUTPUT_BEAN_CODE) bean = graph.getInternalOutputBean();
+                        else bean = reader.getBean(beanCode - BEAN_CODE_OFFSET);
+                        graph.setBeanPosition(bean, reader.readFloat(), reader.readFloat());
+                        break;
+                    }
+                    case ENTRY_VALUE: {
+                        final Property property = reader.getProperty(reader.readVarInt());
+                        final Object value = reader.readValue();
+                        reader.readLinks();
+                        property.setValue(value);
+                        break;
+                    }
+                    case ENTRY_SOURCE: {
+                        final Property property = reader.getProperty(reader.readVarInt());
+                        final int sourceCode = reader.readVarInt();
+                        property.setSource(sourceCode == 0 ? null : reader.getProperty(sourceCode - 1));
+                        break;
+                    }
+                    default:
+                        throw new IOException("Unexpected journal entry tag " + entryTag);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Could not apply a journal entry to the bean graph", e);
+        }
+    }
+
+    private static BeanGraph getGraph(BinaryModelReader reader) throws IOException {
+        final Bean bean = reader.getBean(reader.readVarInt());
+        if (!(bean instanceof BeanGraph)) throw new IOException("The bean " + bean + " is not a bean graph");
+        return (BeanGraph) bean;
+    }
+
+    private RandomAccessFile createJournalFile(long journalGeneration) throws IOException {
+        final RandomAccessFile file = new RandomAccessFile(getFile(directory, JOURNAL_PREFIX, journalGeneration, JOURNAL_SUFFIX), "rw");
+        writeJournalHeader(file);
+        return file;
+    }
+
+    private static void writeJournalHeader(RandomAccessFile file) throws IOException {
+        file.setLength(0);
+        file.write(JOURNAL_MAGIC);
+        file.writeByte(JOURNAL_VERSION);
+        file.getFD().sync();
+    }
+
+    private void closeJournalFile() throws IOException {
+        if (journalFile != null) {
+            journalFile.close();
+            journalFile = null;
+        }
+    }
+
+    /**
+     * Deletes the snapshots and journals of earlier generations, and temporary files left by failed compactions.
+     */
+    private void deleteOldFiles() {
+        final String[] fileNames = directory.list();
+        if (fileNames == null) return;
+
+        for (String fileName : fileNames) {
+            final long fileGeneration = Math.max(parseGeneration(fileName, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX),
+                                                 parseGeneration(fileName, JOURNAL_PREFIX, JOURNAL_SUFFIX));
+            if ((fileGeneration >= 0 && fileGeneration < generation) ||
+                parseGeneration(fileName, SNAPSHOT_PREFIX, TEMP_SUFFIX) >= 0) {
+                new File(directory, fileName).delete();
+            }
+        }
+    }
+
+    private static boolean isInternalBean(BeanGraph graph, Bean bean) {
+        return bean == graph.getInternalInputBean() || bean == graph.getInternalOutputBean();
+    }
+
+    /**
+     * @return generation of the latest snapshot in the directory, or -1 if there is none.
+     */
+    private static long getLatestGeneration(File directory) {
+        long latestGeneration = -1;
+        final String[] fileNames = directory.list();
+        if (fileNames != null) {
+            for (String fileName : fileNames) {
+                latestGeneration = Math.max(latestGeneration, parseGeneration(fileName, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX));
+            }
+        }
+        return latestGeneration;
+    }
+
+    /**
+     * @return the generation in the file name, or -1 if it does not have the prefix and suffix and a generation between them.
+     */
+    private static long parseGeneration(String fileName, String prefix, String suffix) {
+        if (!fileName.startsWith(prefix) || !fileName.endsWith(suffix)) return -1;
+
+        try {
+            return Long.parseLong(fileName.substring(prefix.length(), fileName.length() - suffix.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        } catch (IndexOutOfBoundsException e) {
+            return -1;
+        }
+    }
+
+    private static File getFile(File directory, String prefix, long fileGeneration, String suffix) {
+        return new File(directory, prefix + fileGeneration + suffix);
+    }
+
+    private final class JournalBeanListener extends BeanListenerAdapter implements NumberPropertyListener {
+        @Override public void onValueChanged(Bean bean, Property property, Object oldValue, Object newValue) {
+            // Changes of the source value are forwarded by properties with a source, their own value did not change
+            if (property.getSource() == null) recordValue(property);
+        }
+
+        @Override public void onNumberValueChanged(Bean bean, Property property, double oldValue, double newValue) {
+            if (property.getSource() == null) recordValue(property);
+        }
+
+        @Override public void onSourceChanged(Bean bean, Property property, Property oldSource, Property newSource) {
+            recordSource(property, newSource);
+
+            // Values set while a source is used are not notified, so record the own value when it is used again
+            if (newSource == null) recordValue(property);
+        }
+
+        @Override public void onPropertyAdded(Bean bean, Property property) {
+            snapshotNeeded = true;
+        }
+
+        @Override public void onPropertyRemoved(Bean bean, Property property) {
+            snapshotNeeded = true;
+        }
+
+        @Override public void onBeanNameChanged(Bean bean) {
+            snapshotNeeded = true;
+        }
+
+        @Override public void onPropertyChanged(Bean bean, Property property) {
+            snapshotNeeded = true;
+        }
+    }
+}
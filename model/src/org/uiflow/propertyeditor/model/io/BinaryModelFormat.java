@@ -0,0 +1,100 @@
+package org.uiflow.propertyeditor.model.io;
+
+/**
+ * Constants of the binary model format written by BinaryModelWriter and read by BinaryModelReader.
+ *
+ * A document starts with the magic bytes "UIFB" and the format version, followed by the root object,
+ * and ends with the source links.  Counts, lengths, indexes and integer values are varints, 7 bits per byte with the
+ * high bit set on all but the last byte.  Signed values are zigzag encoded first, so that small negative values are short.
+ * Floating point values with a small integral value are written as varints, others as their raw little endian bits.
+ *
+ * Names, class names, icon ids and enum constants are written through a string table that is built while writing: 0 is null,
+ * 1 is followed by a new string that gets the next index in the table, and n > 1 refers to the string at index n - 2.
+ * Other strings are written inline, as their UTF-8 length plus one, or 0 for null, followed by the UTF-8 bytes.
+ *
+ * Each written property gets the next property index, and each written bean the next bean index.
+ * A bean that has already been written is written as a reference to its bean index.
+ * The sources of properties are written after the root object as pairs of property indexes, so that a property can
+ * refer to a source written after it.
+ *
+ * Layout:
+ * <pre>
+ * document       = "UIFB" version root linkCount (propertyIndex sourcePropertyIndex)*
+ * root           = TAG_PROJECT project | TAG_CATEGORY category | bean
+ * project        = TAG_NULL | TAG_CATEGORY category
+ * category       = name:table iconId:table description:inline beanCount bean* subcategoryCount category*
+ * bean           = TAG_NULL | TAG_BEAN_REFERENCE beanIndex | TAG_DYNAMIC_BEAN dynamicBean | TAG_BEAN_GRAPH beanGraph
+ * dynamicBean    = name:table propertyCount property*
+ * beanGraph      = name:table interfacePropertyCount property* inputBeanPosition outputBeanPosition beanCount (bean position)*
+ * position       = x:float32 y:float32
+ * property       = name:table typeClassName:table direction value
+ * value          = VALUE_* tag, followed by the value for tags that have one, enums as type:table constantName:table
+ * </pre>
+ *
+ * Journal batches continue the property and bean indexes of the snapshot document and the preceding batches,
+ * but start a new string table.  A batch is a sequence of entries ending with ENTRY_END:
+ * <pre>
+ * beanAdded      = ENTRY_BEAN_ADDED graphBeanIndex bean position links
+ * beanRemoved    = ENTRY_BEAN_REMOVED graphBeanIndex beanIndex
+ * beanMoved      = ENTRY_BEAN_MOVED graphBeanIndex (0 for the internal input bean | 1 for the internal output bean | beanIndex + 2) position
+ * valueSet       = ENTRY_VALUE propertyIndex value links
+ * sourceChanged  = ENTRY_SOURCE propertyIndex (0 for no source | sourcePropertyIndex + 1)
+ * links          = linkCount (propertyIndex sourcePropertyIndex)*
+ * </pre>
+ */
+final class BinaryModelFormat {
+
+    static final byte[] MAGIC = {'U', 'I', 'F', 'B'};
+    static final int VERSION = 1;
+
+    // Root and bean tags
+    static final int TAG_NULL = 0;
+    static final int TAG_PROJECT = 1;
+    static final int TAG_CATEGORY = 2;
+    static final int TAG_DYNAMIC_BEAN = 3;
+    static final int TAG_BEAN_GRAPH = 4;
+    static final int TAG_BEAN_REFERENCE = 5;
+
+    // Value tags
+    static final int VALUE_NULL = 0;
+    static final int VALUE_FALSE = 1;
+    static final int VALUE_TRUE = 2;
+    static final int VALUE_INT = 3;
+    static final int VALUE_LONG = 4;
+    static final int VALUE_FLOAT = 5;
+    static final int VALUE_INTEGRAL_FLOAT = 6;
+    static final int VALUE_DOUBLE = 7;
+    static final int VALUE_INTEGRAL_DOUBLE = 8;
+    static final int VALUE_STRING = 9;
+    static final int VALUE_ENUM = 10;
+    static final int VALUE_BEAN = 11;
+
+    // Journal entry tags
+    static final int ENTRY_END = 0;
+    static final int ENTRY_BEAN_ADDED = 1;
+    static final int ENTRY_BEAN_REMOVED = 2;
+    static final int ENTRY_BEAN_MOVED = 3;
+    static final int ENTRY_VALUE = 4;
+    static final int ENTRY_SOURCE = 5;
+
+    // Codes for the internal beans of a bean graph in bean moved entries
+    static final int INTERNAL_INPUT_BEAN_CODE = 0;
+    static final int INTERNAL_OUTPUT_BEAN_CODE = 1;
+    static final int BEAN_CODE_OFFSET = 2;
+
+    // Largest magnitudes of integral floating point values that are written as varints, larger ones are shorter raw
+    static final double MAX_INTEGRAL_DOUBLE = 1L << 48;
+    static final float MAX_INTEGRAL_FLOAT = 1 << 20;
+
+    // String table markers
+    static final int STRING_NULL = 0;
+    static final int STRING_NEW = 1;
+    static final int STRING_REFERENCE_OFFSET = 2;
+
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    static final String UTF8 = "UTF-8";
+
+    private BinaryModelFormat() {
+    }
+}
@@ -0,0 +1,424 @@
+package org.uiflow.propertyeditor.model.io;
+
+import org.uiflow.propertyeditor.model.bean.Bean;
+import org.uiflow.propertyeditor.model.bean.Property;
+import org.uiflow.propertyeditor.model.bean.PropertyDirection;
+import org.uiflow.propertyeditor.model.bean.dynamic.DynamicBean;
+import org.uiflow.propertyeditor.model.beangraph.DefaultBeanGraph;
+import org.uiflow.propertyeditor.model.category.Category;
+import org.uiflow.propertyeditor.model.category.DefaultCategory;
+import org.uiflow.propertyeditor.model.project.DefaultProject;
+import org.uiflow.propertyeditor.model.project.Project;
+import org.uiflow.utils.Check;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.uiflow.propertyeditor.model.io.BinaryModelFormat.*;
+
+/**
+ * Reads documents written by BinaryModelWriter, creating the model objects directly from the input stream,
+ * which is read through a fixed size buffer.
+ *
+ * DynamicBeans are read as DynamicBeans, BeanGraphs as DefaultBeanGraphs, categories as DefaultCategories,
+ * and projects as DefaultProjects.  Read properties use the default editor for their type.
+ *
+ * Each read call reads one complete document, so several documents written to the same stream can be read in order
+ * with the same reader.  IOExceptions are thrown for malformed documents.
+ */
+public final class BinaryModelReader {
+
+    private static final Charset UTF8_CHARSET = Charset.forName(UTF8);
+    private static final PropertyDirection[] DIRECTIONS = PropertyDirection.values();
+
+    private InputStream inputStream;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private int limit;
+
+    private final List<String> strings = new ArrayList<String>();
+    private final List<Property> properties = new ArrayList<Property>();
+    private final List<Bean> beans = new ArrayList<Bean>();
+    private final Map<String, Class> classes = new HashMap<String, Class>();
+
+    /**
+     * @param inputStream stream to read the documents from.
+     */
+    public BinaryModelReader(InputStream inputStream) {
+        Check.notNull(inputStream, "inputStream");
+        this.inputStream = inputStream;
+    }
+
+    /**
+     * Reads a document written with BinaryModelWriter.writeProject.
+     */
+    public Project readProject() throws IOException {
+        startDocument(TAG_PROJECT);
+
+        final DefaultProject project = new DefaultProject();
+        final int tag = readVarInt();
+        if (tag == TAG_CATEGORY) {
+            project.setRootCategory(readCategoryContent());
+        }
+        else if (tag != TAG_NULL) {
+            throw new IOException("Unexpected root category tag " + tag);
+        }
+
+        endDocument();
+        return project;
+    }
+
+    /**
+     * Reads a document written with BinaryModelWriter.writeCategory.
+     */
+    public Category readCategory() throws IOException {
+        startDocument(TAG_CATEGORY);
+        final Category category = readCategoryContent();
+        endDocument();
+        return category;
+    }
+
+    /**
+     * Reads a document written with BinaryModelWriter.writeBean.
+     */
+    public Bean readBean() throws IOException {
+        startDocument(-1);
+        final Bean bean = readBeanContent();
+        endDocument();
+        return bean;
+    }
+
+    /**
+     * Reads a document written with BinaryModelWriter.writeSnapshot, and keeps the property and bean indexes of the
+     * document for reading the journal entries that follow it.
+     */
+    Bean readSnapshot() throws IOException {
+        startDocument(-1);
+        final Bean bean = readBeanContent();
+        readLinks();
+        return bean;
+    }
+
+    /**
+     * Starts reading a batch of journal entries from the input stream.
+     */
+    void startBatch(InputStream inputStream) {
+        Check.notNull(inputStream, "inputStream");
+        this.inputStream = inputStream;
+        position = 0;
+        limit = 0;
+        strings.clear();
+    }
+
+    /**
+     * @return the beans read since the last document start, in index order.
+     */
+    List<Bean> getBeans() {
+        return beans;
+    }
+
+    /**
+     * @return the properties read since the last document start, in index order.
+     */
+    List<Property> getProperties() {
+        return properties;
+    }
+
+    /**
+     * Reads the header, and the root tag if it is not -1.
+     */
+    private void startDocument(int rootTag) throws IOException {
+        strings.clear();
+        properties.clear();
+        beans.clear();
+
+        for (byte b : MAGIC) {
+            if (readByte() != b) throw new IOException("Not a binary model document, the magic bytes do not match");
+        }
+
+        final int version = readVarInt();
+        if (version != VERSION) throw new IOException("Unsupported binary model format version " + version + ", expected " + VERSION);
+
+        if (rootTag >= 0) {
+            final int tag = readVarInt();
+            if (tag != rootTag) throw new IOException("Unexpected root tag " + tag + ", expected " + rootTag);
+        }
+    }
+
+    private void endDocument() throws IOException {
+        readLinks();
+
+        // Release the references to the model
+        properties.clear();
+        beans.clear();
+    }
+
+    /**
+     * Connects the sources of the properties read since the previous links, now that all the sources exist.
+     */
+    void readLinks() throws IOException {
+        final int linkCount = readCount();
+        for (int i = 0; i < linkCount; i++) {
+            final Property property = getProperty(readVarInt());
+            final Property source = getProperty(readVarInt());
+            try {
+                property.setSource(source);
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Could not use " + source + " as the source of " + property, e);
+            }
+        }
+    }
+
+    private Category readCategoryContent() throws IOException {
+        final String name = readTableString();
+        final String iconId = readTableString();
+        final String description = readInlineString();
+        final DefaultCategory category = new DefaultCategory(name, iconId, description);
+
+        final int beanCount = readCount();
+        for (int i = 0; i < beanCount; i++) {
+            final Bean bean = readBeanContent();
+            if (bean == null) throw new IOException("Null bean in the category " + name);
+            category.addBean(bean);
+        }
+
+        final int subcategoryCount = readCount();
+        for (int i = 0; i < subcategoryCount; i++) {
+            category.addSubcategory(readCategoryContent());
+        }
+
+        return category;
+    }
+
+    Bean readBeanContent() throws IOException {
+        final int tag = readVarInt();
+        switch (tag) {
+            case TAG_NULL:
+                return null;
+
+            case TAG_BEAN_REFERENCE:
+                return getBean(readVarInt());
+
+            case TAG_DYNAMIC_BEAN:
+                final DynamicBean bean = new DynamicBean(readTableString());
+                beans.add(bean);
+                readProperties(bean);
+                return bean;
+
+            case TAG_BEAN_GRAPH:
+                final DefaultBeanGraph beanGraph = new DefaultBeanGraph(readTableString());
+                beans.add(beanGraph);
+                readProperties(beanGraph.getInterfaceBean());
+                beanGraph.setBeanPosition(beanGraph.getInternalInputBean(), readFloat(), readFloat());
+                beanGraph.setBeanPosition(beanGraph.getInternalOutputBean(), readFloat(), readFloat());
+
+                final int beanCount = readCount();
+                for (int i = 0; i < beanCount; i++) {
+                    final Bean containedBean = readBeanContent();
+                    if (containedBean == null) throw new IOException("Null bean in the bean graph " + beanGraph.getName());
+                    beanGraph.addBean(containedBean, readFloat(), readFloat());
+                }
+                return beanGraph;
+
+            default:
+                throw new IOException("Unexpected bean tag " + tag);
+        }
+    }
+
+    private void readProperties(DynamicBean bean) throws IOException {
+        final int propertyCount = readCount();
+        for (int i = 0; i < propertyCount; i++) {
+            // Indexed before the value, which may contain more properties
+            final int propertyIndex = properties.size();
+            properties.add(null);
+
+            final String name = readTableString();
+            final String typeName = readTableString();
+            final Class type = typeName == null ? null : getClass(typeName);
+            final int direction = readVarInt();
+            if (direction < 0 || direction >= DIRECTIONS.length) throw new IOException("Invalid property direction " + direction);
+            final Object value = readValue();
+
+            properties.set(propertyIndex, bean.addProperty(name, type, value, null, DIRECTIONS[direction]));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    Object readValue() throws IOException {
+        final int tag = readVarInt();
+        switch (tag) {
+            case VALUE_NULL: return null;
+            case VALUE_FALSE: return Boolean.FALSE;
+            case VALUE_TRUE: return Boolean.TRUE;
+            case VALUE_INT: return unZigZag(readVarInt());
+            case VALUE_LONG: return unZigZag(readVarLong());
+            case VALUE_FLOAT: return Float.intBitsToFloat(readFixedInt());
+            case VALUE_INTEGRAL_FLOAT: return (float) unZigZag(readVarInt());
+            case VALUE_DOUBLE: return Double.longBitsToDouble(readFixedLong());
+            case VALUE_INTEGRAL_DOUBLE: return (double) unZigZag(readVarLong());
+            case VALUE_STRING: return readInlineString();
+            case VALUE_ENUM:
+                final Class enumType = getClass(readTableString());
+                final String constantName = readTableString();
+                if (!enumType.isEnum()) throw new IOException("The type " + enumType + " is not an enum");
+                try {
+                    return Enum.valueOf(enumType, constantName);
+                } catch (IllegalArgumentException e) {
+                    throw new IOException("Unknown enum constant " + constantName + " in " + enumType, e);
+                }
+            case VALUE_BEAN: return readBeanContent();
+            default:
+                throw new IOException("Unexpected value tag " + tag);
+        }
+    }
+
+    Property getProperty(int propertyIndex) throws IOException {
+        if (propertyIndex < 0 || propertyIndex >= properties.size()) throw new IOException("Invalid property index " + propertyIndex);
+        return properties.get(propertyIndex);
+    }
+
+    Bean getBean(int beanIndex) throws IOException {
+        if (beanIndex < 0 || beanIndex >= beans.size()) throw new IOException("Invalid bean index " + beanIndex);
+        return beans.get(beanIndex);
+    }
+
+    private Class getClass(String className) throws IOException {
+        if (className == null) throw new IOException("Missing class name");
+
+        Class type = classes.get(className);
+        if (type == null) {
+            try {
+                type = Class.forName(className);
+            } catch (ClassNotFoundException e) {
+                throw new IOException("Unknown class " + className, e);
+            }
+            classes.put(className, type);
+        }
+        return type;
+    }
+
+    private String readTableString() throws IOException {
+        final int code = readVarInt();
+        if (code == STRING_NULL) {
+            return null;
+        }
+        else if (code == STRING_NEW) {
+            final String s = readInlineString();
+            if (s == null) throw new IOException("Null string in the string table");
+            strings.add(s);
+            return s;
+        }
+        else {
+            final int index = code - STRING_REFERENCE_OFFSET;
+            if (index < 0 || index >= strings.size()) throw new IOException("Invalid string table index " + index);
+            return strings.get(index);
+        }
+    }
+
+    private String readInlineString() throws IOException {
+        final int lengthCode = readVarInt();
+        if (lengthCode == 0) return null;
+
+        final int length = lengthCode - 1;
+        if (length < 0) throw new IOException("Invalid string length " + length);
+
+        if (length <= buffer.length) {
+            // Decode directly from the buffer
+            ensureAvailable(length);
+            final String s = new String(buffer, position, length, UTF8_CHARSET);
+            position += length;
+            return s;
+        }
+        else {
+            final byte[] bytes = new byte[length];
+            for (int i = 0; i < length; i++) {
+                bytes[i] = (byte) readByte();
+            }
+            return new String(bytes, UTF8_CHARSET);
+        }
+    }
+
+    private int readCount() throws IOException {
+        final int count = readVarInt();
+        if (count < 0) throw new IOException("Invalid count " + count);
+        return count;
+    }
+
+    int readVarInt() throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            final int b = readByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    private long readVarLong() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            final int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Malformed varlong");
+    }
+
+    float readFloat() throws IOException {
+        return Float.intBitsToFloat(readFixedInt());
+    }
+
+    private int readFixedInt() throws IOException {
+        ensureAvailable(4);
+        final int value = (buffer[position] & 0xFF) |
+                          (buffer[position + 1] & 0xFF) << 8 |
+                          (buffer[position + 2] & 0xFF) << 16 |
+                          (buffer[position + 3] & 0xFF) << 24;
+        position += 4;
+        return value;
+    }
+
+    private long readFixedLong() throws IOException {
+        final long low = readFixedInt() & 0xFFFFFFFFL;
+        final long high = readFixedInt();
+        return low | high << 32;
+    }
+
+    private int readByte() throws IOException {
+        if (position == limit) ensureAvailable(1);
+        return buffer[position++] & 0xFF;
+    }
+
+    /**
+     * Makes sure there are at least the specified number of unread bytes in the buffer, which must not be larger than the buffer.
+     */
+    private void ensureAvailable(int count) throws IOException {
+        if (limit - position >= count) return;
+
+        // Move the unread bytes to the start of the buffer, and fill the rest
+        final int remaining = limit - position;
+        System.arraycopy(buffer, position, buffer, 0, remaining);
+        position = 0;
+        limit = remaining;
+
+        while (limit < count) {
+            final int read = inputStream.read(buffer, limit, buffer.length - limit);
+            if (read < 0) throw new EOFException("Unexpected end of the binary model document");
+            limit += read;
+        }
+    }
+
+    private static int unZigZag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,458 @@
+package org.uiflow.propertyeditor.model.io;
+
+import org.uiflow.propertyeditor.model.Position;
+import org.uiflow.propertyeditor.model.bean.Bean;
+import org.uiflow.propertyeditor.model.bean.Property;
+import org.uiflow.propertyeditor.model.bean.dynamic.DynamicBean;
+import org.uiflow.propertyeditor.model.beangraph.BeanGraph;
+import org.uiflow.propertyeditor.model.category.Category;
+import org.uiflow.propertyeditor.model.project.Project;
+import org.uiflow.utils.Check;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.*;
+
+import static org.uiflow.propertyeditor.model.io.BinaryModelFormat.*;
+
+/**
+ * Writes projects, categories and beans in the binary model format described in BinaryModelFormat,
+ * directly from the model objects to the output stream, through a fixed size buffer.
+ *
+ * Supported beans are DynamicBeans and BeanGraphs.  Supported property values are null, booleans, numbers of the
+ * boxed primitive types int, long, float and double, strings, enums, and supported beans.
+ * The sources of the written properties must be written in the same document.
+ * Editor configurations are not written, read properties use the default editor for their type.
+ *
+ * Each write call writes one complete document.  The stream is flushed but not closed after each document.
+ */
+public final class BinaryModelWriter {
+
+    private static final Charset UTF8_CHARSET = Charset.forName(UTF8);
+
+    private OutputStream outputStream;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+
+    private final Map<String, Integer> stringIndexes = new HashMap<String, Integer>();
+    private final Map<Property, Integer> propertyIndexes = new IdentityHashMap<Property, Integer>();
+    private final Map<Bean, Integer> beanIndexes = new IdentityHashMap<Bean, Integer>();
+    private final List<Property> linkedProperties = new ArrayList<Property>();
+
+    /**
+     * @param outputStream stream to write the documents to.
+     */
+    public BinaryModelWriter(OutputStream outputStream) {
+        Check.notNull(outputStream, "outputStream");
+        this.outputStream = outputStream;
+    }
+
+    /**
+     * Writes the project and everything in it as a document.
+     */
+    public void writeProject(Project project) throws IOException {
+        Check.notNull(project, "project");
+
+        startDocument();
+        writeVarInt(TAG_PROJECT);
+        final Category rootCategory = project.getRootCategory();
+        if (rootCategory == null) {
+            writeVarInt(TAG_NULL);
+        }
+        else {
+            writeVarInt(TAG_CATEGORY);
+            writeCategoryContent(rootCategory);
+        }
+        endDocument();
+    }
+
+    /**
+     * Writes the category and its beans and subcategories as a document.
+     */
+    public void writeCategory(Category category) throws IOException {
+        Check.notNull(category, "category");
+
+        startDocument();
+        writeVarInt(TAG_CATEGORY);
+        writeCategoryContent(category);
+        endDocument();
+    }
+
+    /**
+     * Writes the DynamicBean or BeanGraph as a document.
+     */
+    public void writeBean(Bean bean) throws IOException {
+        Check.notNull(bean, "bean");
+
+        startDocument();
+        writeBeanContent(bean);
+        endDocument();
+    }
+
+    /**
+     * Writes the bean as a document, and keeps the property and bean indexes of the document for writing journal
+     * entries with the write methods that follow startBatch.
+     */
+    void writeSnapshot(Bean bean) throws IOException {
+        Check.notNull(bean, "bean");
+
+        startDocument();
+        writeBeanContent(bean);
+        writeLinks();
+        flushBuffer();
+        outputStream.flush();
+    }
+
+    /**
+     * Starts a batch of journal entries, which has its own string table but continues the indexes of the previous snapshot and batches.
+     */
+    void startBatch() {
+        position = 0;
+        stringIndexes.clear();
+        linkedProperties.clear();
+    }
+
+    /**
+     * Continues the indexes of a document read with BinaryModelReader, so that journal entries can be written for it.
+     */
+    void addIndexes(List<Bean> beans, List<Property> properties) {
+        for (Bean bean : beans) {
+            beanIndexes.put(bean, beanIndexes.size());
+        }
+        for (Property property : properties) {
+            propertyIndexes.put(property, propertyIndexes.size());
+        }
+    }
+
+    /**
+     * @return index of the bean, or -1 if it has not been written.
+     */
+    int getBeanIndex(Bean bean) {
+        final Integer index = beanIndexes.get(bean);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * @return index of the property, or -1 if it has not been written.
+     */
+    int getPropertyIndex(Property property) {
+        final Integer index = propertyIndexes.get(property);
+        return index == null ? -1 : index;
+    }
+
+    void setOutputStream(OutputStream outputStream) {
+        Check.notNull(outputStream, "outputStream");
+        this.outputStream = outputStream;
+    }
+
+    private void startDocument() throws IOException {
+        // Discard any unflushed part of a document that failed to write
+        position = 0;
+
+        stringIndexes.clear();
+        propertyIndexes.clear();
+        beanIndexes.clear();
+        linkedProperties.clear();
+
+        for (byte b : MAGIC) {
+            writeByte(b);
+        }
+        writeVarInt(VERSION);
+    }
+
+    private void endDocument() throws IOException {
+        writeLinks();
+
+        // Release the references to the model
+        propertyIndexes.clear();
+        beanIndexes.clear();
+
+        flushBuffer();
+        outputStream.flush();
+    }
+
+    /**
+     * Writes the sources of the properties written since the previous links, as all their sources should now have an index.
+     */
+    void writeLinks() throws IOException {
+        writeVarInt(linkedProperties.size());
+        for (Property property : linkedProperties) {
+            final Property source = property.getSource();
+            final Integer sourceIndex = propertyIndexes.get(source);
+            if (sourceIndex == null) throw new IllegalArgumentException("The source " + source + " of the property " + property + " is not included in the written document");
+
+            writeVarInt(propertyIndexes.get(property));
+            writeVarInt(sourceIndex);
+        }
+        linkedProperties.clear();
+    }
+
+    private void writeCategoryContent(Category category) throws IOException {
+        writeTableString(category.getName());
+        writeTableString(category.getIconId());
+        writeInlineString(category.getDescription());
+
+        final Collection<Bean> beans = category.getBeans();
+        writeVarInt(beans.size());
+        for (Bean bean : beans) {
+            writeBeanContent(bean);
+        }
+
+        final List<Category> subcategories = category.getSubcategories();
+        writeVarInt(subcategories.size());
+        for (Category subcategory : subcategories) {
+            writeCategoryContent(subcategory);
+        }
+    }
+
+    void writeBeanContent(Bean bean) throws IOException {
+        if (bean == null) {
+            writeVarInt(TAG_NULL);
+            return;
+        }
+
+        final Integer beanIndex = beanIndexes.get(bean);
+        if (beanIndex != null) {
+            writeVarInt(TAG_BEAN_REFERENCE);
+            writeVarInt(beanIndex);
+        }
+        else if (bean instanceof DynamicBean) {
+            beanIndexes.put(bean, beanIndexes.size());
+
+            writeVarInt(TAG_DYNAMIC_BEAN);
+            writeTableString(bean.getName());
+            writeProperties(bean.getProperties());
+        }
+        else if (bean instanceof BeanGraph) {
+            beanIndexes.put(bean, beanIndexes.size());
+
+            final BeanGraph beanGraph = (BeanGraph) bean;
+            final Bean internalInputBean = beanGraph.getInternalInputBean();
+            final Bean internalOutputBean = beanGraph.getInternalOutputBean();
+
+            writeVarInt(TAG_BEAN_GRAPH);
+            writeTableString(beanGraph.getName());
+            writeProperties(beanGraph.getInterfaceBean().getProperties());
+            writePosition(beanGraph.getBeanPosition(internalInputBean));
+            writePosition(beanGraph.getBeanPosition(internalOutputBean));
+
+            // The internal beans are created by the graph itself
+            final Map<Bean, Position> beansAndPositions = beanGraph.getBeansAndPositions();
+            int beanCount = beansAndPositions.size();
+            if (beansAndPositions.containsKey(internalInputBean)) beanCount--;
+            if (beansAndPositions.containsKey(internalOutputBean)) beanCount--;
+            writeVarInt(beanCount);
+            for (Map.Entry<Bean, Position> entry : beansAndPositions.entrySet()) {
+                final Bean containedBean = entry.getKey();
+                if (containedBean != internalInputBean && containedBean != internalOutputBean) {
+                    writeBeanContent(containedBean);
+                    writePosition(entry.getValue());
+                }
+            }
+        }
+        else {
+            throw new IllegalArgumentException("Can not write the bean " + bean + " of type " + bean.getClass() + ", only DynamicBeans and BeanGraphs are supported");
+        }
+    }
+
+    private void writeProperties(List<Property> properties) throws IOException {
+        writeVarInt(properties.size());
+        for (Property property : properties) {
+            writeProperty(property);
+        }
+    }
+
+    private void writeProperty(Property property) throws IOException {
+        // Indexed before the value, which may contain more properties
+        propertyIndexes.put(property, propertyIndexes.size());
+        if (property.getSource() != null) linkedProperties.add(property);
+
+        final Class type = property.getType();
+        writeTableString(property.getName());
+        writeTableString(type == null ? null : type.getName());
+        writeVarInt(property.getDirection().ordinal());
+        writeValue(property.getValue());
+    }
+
+    void writeValue(Object value) throws IOException {
+        if (value == null) {
+            writeVarInt(VALUE_NULL);
+        }
+        else if (value instanceof Double) {
+            final double d = (Double) value;
+            if (isIntegral(d)) {
+                writeVarInt(VALUE_INTEGRAL_DOUBLE);
+                writeVarLong(zigZag((long) d));
+            }
+            else {
+                writeVarInt(VALUE_DOUBLE);
+                writeFixedLong(Double.doubleToRawLongBits(d));
+            }
+        }
+        else if (value instanceof Float) {
+            final float f = (Float) value;
+            if (isIntegral(f)) {
+                writeVarInt(VALUE_INTEGRAL_FLOAT);
+                writeVarInt(zigZag((int) f));
+            }
+            else {
+                writeVarInt(VALUE_FLOAT);
+                writeFixedInt(Float.floatToRawIntBits(f));
+            }
+        }
+        else if (value instanceof Integer) {
+            writeVarInt(VALUE_INT);
+            writeVarInt(zigZag((Integer) value));
+        }
+        else if (value instanceof Long) {
+            writeVarInt(VALUE_LONG);
+            writeVarLong(zigZag((Long) value));
+        }
+        else if (value instanceof String) {
+            writeVarInt(VALUE_STRING);
+            writeInlineString((String) value);
+        }
+        else if (value instanceof Boolean) {
+            writeVarInt((Boolean) value ? VALUE_TRUE : VALUE_FALSE);
+        }
+        else if (value instanceof Enum) {
+            final Enum enumValue = (Enum) value;
+            writeVarInt(VALUE_ENUM);
+            writeTableString(enumValue.getDeclaringClass().getName());
+            writeTableString(enumValue.name());
+        }
+        else if (value instanceof Bean) {
+            writeVarInt(VALUE_BEAN);
+            writeBeanContent((Bean) value);
+        }
+        else {
+            throw new IllegalArgumentException("Can not write the value " + value + " of type " + value.getClass());
+        }
+    }
+
+    private void writePosition(Position position) throws IOException {
+        writeFloat(position.x);
+        writeFloat(position.y);
+    }
+
+    void writeFloat(float value) throws IOException {
+        writeFixedInt(Float.floatToRawIntBits(value));
+    }
+
+    /**
+     * Writes the string through the string table, as a reference if it has already been written.
+     */
+    private void writeTableString(String s) throws IOException {
+        if (s == null) {
+            writeVarInt(STRING_NULL);
+            return;
+        }
+
+        final Integer index = stringIndexes.get(s);
+        if (index != null) {
+            writeVarInt(index + STRING_REFERENCE_OFFSET);
+        }
+        else {
+            stringIndexes.put(s, stringIndexes.size());
+            writeVarInt(STRING_NEW);
+            writeInlineString(s);
+        }
+    }
+
+    private void writeInlineString(String s) throws IOException {
+        if (s == null) {
+            writeVarInt(0);
+            return;
+        }
+
+        // Plain ASCII strings are copied directly, as their UTF-8 encoding is the same
+        final int length = s.length();
+        boolean ascii = true;
+        for (int i = 0; i < length && ascii; i++) {
+            if (s.charAt(i) >= 0x80) ascii = false;
+        }
+
+        if (ascii) {
+            writeVarInt(length + 1);
+            for (int i = 0; i < length; i++) {
+                writeByte(s.charAt(i));
+            }
+        }
+        else {
+            final byte[] bytes = s.getBytes(UTF8_CHARSET);
+            writeVarInt(bytes.length + 1);
+            for (byte b : bytes) {
+                writeByte(b);
+            }
+        }
+    }
+
+    void writeVarInt(int value) throws IOException {
+        if (position + 5 > buffer.length) flushBuffer();
+
+        while ((value & ~0x7F) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    private void writeVarLong(long value) throws IOException {
+        if (position + 10 > buffer.length) flushBuffer();
+
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    private void writeFixedInt(int value) throws IOException {
+        if (position + 4 > buffer.length) flushBuffer();
+
+        buffer[position++] = (byte) value;
+        buffer[position++] = (byte) (value >>> 8);
+        buffer[position++] = (byte) (value >>> 16);
+        buffer[position++] = (byte) (value >>> 24);
+    }
+
+    private void writeFixedLong(long value) throws IOException {
+        writeFixedInt((int) value);
+        writeFixedInt((int) (value >>> 32));
+    }
+
+    private void writeByte(int value) throws IOException {
+        if (position == buffer.length) flushBuffer();
+
+        buffer[position++] = (byte) value;
+    }
+
+    void flushBuffer() throws IOException {
+        outputStream.write(buffer, 0, position);
+        position = 0;
+    }
+
+    private static int zigZag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    /**
+     * @return true if the value is a whole number small enough to be shorter as a varint, and not negative zero.
+     */
+    private static boolean isIntegral(double value) {
+        return value == (long) value &&
+               Math.abs(value) < MAX_INTEGRAL_DOUBLE &&
+               !(value == 0 && Double.doubleToRawLongBits(value) != 0);
+    }
+
+    private static boolean isIntegral(float value) {
+        return value == (int) value &&
+               Math.abs(value) < MAX_INTEGRAL_FLOAT &&
+               !(value == 0 && Float.floatToRawIntBits(value) != 0);
+    }
+}
@@ -1,6 +1,5 @@
 package org.uiflow.propertyeditor.model.project;
 
-import org.uiflow.propertyeditor.commands.*;
 import org.uiflow.propertyeditor.model.category.Category;
 
 import java.util.Collection;
@@ -8,7 +7,7 @@ import java.util.Collection;
 /**
  *
  */
-public class DefaultProject extends CommandProviderBase implements Project {
+public class DefaultProject implements Project {
 
     private Category rootCategory;
 
@@ -1,6 +1,5 @@
 package org.uiflow.propertyeditor.model.project;
 
-import org.uiflow.propertyeditor.commands.CommandProvider;
 import org.uiflow.propertyeditor.model.bean.Bean;
 import org.uiflow.propertyeditor.model.category.Category;
 
@@ -33,7 +32,7 @@ import java.util.List;
  *
  *
  */
-public interface Project extends CommandProvider {
+public interface Project {
 
     Category getRootCategory();
 
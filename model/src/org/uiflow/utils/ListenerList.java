@@ -0,0 +1,150 @@
+package org.uiflow.utils;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+
+/**
+ * Copy-on-write list of listeners.
+ *
+ * Adding or removing a listener replaces the internal array, so the array returned by dispatch() is a snapshot that
+ * can be iterated without allocating an iterator, and listeners can be added or removed by the listeners being notified.
+ * Each listener is only added once.
+ *
+ * Usage:
+ * <pre>
+ *     for (FooListener listener : listeners.dispatch()) {
+ *         listener.onFoo(this);
+ *     }
+ * </pre>
+ *
+ * Not thread safe, listeners are expected to be added, removed and notified from the same thread.
+ */
+public final class ListenerList<L> {
+
+    private static long totalDispatchCount = 0;
+
+    private final L[] emptyListeners;
+    private L[] listeners;
+    private long dispatchCount = 0;
+
+    /**
+     * @param listenerType the type of the listeners, needed for creating the listener arrays.
+     */
+    public ListenerList(Class<L> listenerType) {
+        Check.notNull(listenerType, "listenerType");
+
+        emptyListeners = (L[]) Array.newInstance(listenerType, 0);
+        listeners = emptyListeners;
+    }
+
+    /**
+     * @param listener listener to add.  If it is already added, it is not added again.
+     * @return true if the listener was added, false if it was already present.
+     */
+    public boolean add(L listener) {
+        Check.notNull(listener, "listener");
+
+        if (indexOf(listener) >= 0) return false;
+
+        final L[] newListeners = Arrays.copyOf(listeners, listeners.length + 1);
+        newListeners[listeners.length] = listener;
+        listeners = newListeners;
+
+        return true;
+    }
+
+    /**
+     * @param listener listener to remove.
+     * @return true if the listener was removed, false if it was not present.
+     */
+    public boolean remove(L listener) {
+        final int index = indexOf(listener);
+        if (index < 0) return false;
+
+        if (listeners.length == 1) {
+            listeners = emptyListeners;
+        }
+        else {
+            final L[] newListeners = Arrays.copyOf(listeners, listeners.length - 1);
+            System.arraycopy(listeners, index + 1, newListeners, index, listeners.length - index - 1);
+            listeners = newListeners;
+        }
+
+        return true;
+    }
+
+    /**
+     * Removes all listeners.
+     */
+    public void clear() {
+        listeners = emptyListeners;
+    }
+
+    /**
+     * @return true if the listener has been added.
+     */
+    public boolean contains(L listener) {
+        return indexOf(listener) >= 0;
+    }
+
+    /**
+     * @return number of listeners.
+     */
+    public int size() {
+        return listeners.length;
+    }
+
+    /**
+     * @return true if there are no listeners.
+     */
+    public boolean isEmpty() {
+        return listeners.length == 0;
+    }
+
+    /**
+     * @return snapshot of the current listeners, for notifying them.  Counts as a dispatch.
+     *         The returned array must not be modified.
+     */
+    public L[] dispatch() {
+        dispatchCount++;
+        totalDispatchCount++;
+        return listeners;
+    }
+
+    /**
+     * @return snapshot of the current listeners, without counting it as a dispatch.
+     *         The returned array must not be modified.
+     */
+    public L[] getListeners() {
+        return listeners;
+    }
+
+    /**
+     * @return number of times listeners have been notified through this list.
+     */
+    public long getDispatchCount() {
+        return dispatchCount;
+    }
+
+    /**
+     * @return number of times listeners have been notified through any listener list.
+     */
+    public static long getTotalDispatchCount() {
+        return totalDispatchCount;
+    }
+
+    /**
+     * Resets the dispatch counter for all listener lists to zero.
+     */
+    public static void resetTotalDispatchCount() {
+        totalDispatchCount = 0;
+    }
+
+    private int indexOf(L listener) {
+        final L[] currentListeners = listeners;
+        for (int i = 0; i < currentListeners.length; i++) {
+            if (currentListeners[i] == listener) return i;
+        }
+        return -1;
+    }
+}